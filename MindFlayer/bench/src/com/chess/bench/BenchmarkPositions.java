@@ -0,0 +1,36 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.perft.PerftPosition;
+
+import static com.chess.engine.perft.PerftPosition.*;
+
+/**
+ * This class holds the middlegame and endgame positions the benchmarks run over.
+ */
+public class BenchmarkPositions {
+    public static final PerftPosition[] MIDDLEGAMES = { KIWIPETE, PROMOTIONS, MIDDLEGAME, SYMMETRICAL };
+    public static final PerftPosition[] ENDGAMES = { ROOK_ENDGAME, EN_PASSANT_CHECKED, PROMOTION_OUT_OF_CHECK,
+                                                     DISCOVERED_CHECK };
+
+    /**
+     * A constructor for a BenchmarkPositions object (not really).
+     */
+    private BenchmarkPositions() {
+        throw new RuntimeException("BenchmarkPositions cannot be instantiated!");
+    }
+
+    /**
+     * @param corpus "middlegame" or "endgame"
+     * @return a board for every position in the corpus
+     */
+    public static Board[] CreateBoards(final String corpus) {
+        final PerftPosition[] positions = corpus.equals("endgame") ? ENDGAMES : MIDDLEGAMES;
+        final Board[] boards = new Board[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            boards[i] = positions[i].createBoard();
+        }
+
+        return boards;
+    }
+}
@@ -0,0 +1,81 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.players.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmarks building boards and the player queries the GUI makes after every move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------- Benchmarks -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return the initial board
+     */
+    @Benchmark
+    public Board createStandardBoard() {
+        return Board.CreateStandardBoard();
+    }
+
+    /**
+     * Generates both players' legal moves (including castles) on every corpus board.
+     *
+     * @param corpus    the freshly built corpus boards
+     * @param blackhole where the moves are consumed
+     */
+    @Benchmark
+    public void legalMoves(final FreshCorpus corpus, final Blackhole blackhole) {
+        for (final Board board : corpus.boards) {
+            blackhole.consume(board.getWhitePlayer().getLegalMoves());
+            blackhole.consume(board.getBlackPlayer().getLegalMoves());
+        }
+    }
+
+    /**
+     * Checks both players for checkmate and stalemate on every corpus board.
+     *
+     * @param corpus    the freshly built corpus boards
+     * @param blackhole where the results are consumed
+     */
+    @Benchmark
+    public void checkmateAndStalemate(final FreshCorpus corpus, final Blackhole blackhole) {
+        for (final Board board : corpus.boards) {
+            for (final Player player : new Player[] { board.getWhitePlayer(), board.getBlackPlayer() }) {
+                blackhole.consume(player.isInCheckmate());
+                blackhole.consume(player.isInStalemate());
+            }
+        }
+    }
+//######################################################################################################################
+//#################################################### Fresh Corpus ####################################################
+//######################################################################################################################
+    /**
+     * This state rebuilds the corpus boards before every invocation, since boards cache their legal moves and check.
+     */
+    @State(Scope.Thread)
+    public static class FreshCorpus {
+        @Param({ "middlegame", "endgame" })
+        private String corpus;
+
+        private Board[] boards;
+
+        /**
+         * Builds the corpus boards.
+         */
+        @Setup(Level.Invocation)
+        public void setUp() {
+            this.boards = BenchmarkPositions.CreateBoards(this.corpus);
+        }
+    }
+}
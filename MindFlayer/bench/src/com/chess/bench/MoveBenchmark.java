@@ -0,0 +1,89 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.Move.MoveFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmarks making every legal move of the player to move on the corpus boards,
+ * and finding those moves again by their tiles the way the GUI does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveBenchmark {
+    @Param({ "middlegame", "endgame" })
+    private String corpus;
+
+    private Board[] boards;
+    private Move[][] moves;
+//----------------------------------------------------------------------------------------------------------------------
+//------------------------------------------------------- Setup --------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Builds the corpus boards and their legal moves once, so only the moves themselves are measured.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.boards = BenchmarkPositions.CreateBoards(this.corpus);
+        this.moves = new Move[this.boards.length][];
+        for (int i = 0; i < this.boards.length; i++) {
+            this.moves[i] = this.boards[i].getCurrentPlayer().getLegalMoves().toArray(new Move[0]);
+            // Warm up the opponent's moves too, since MoveFactory looks through both players' moves
+            this.boards[i].getCurrentPlayer().getOpponent().getLegalMoves();
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------- Benchmarks -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Executes every move into a new board without checking whether it leaves the King in check.
+     *
+     * @param blackhole where the boards are consumed
+     */
+    @Benchmark
+    public void execute(final Blackhole blackhole) {
+        for (final Move[] boardMoves : this.moves) {
+            for (final Move move : boardMoves) {
+                blackhole.consume(move.execute());
+            }
+        }
+    }
+
+    /**
+     * Makes every move through the player, which also checks whether it leaves the King in check.
+     *
+     * @param blackhole where the move transitions are consumed
+     */
+    @Benchmark
+    public void makeMove(final Blackhole blackhole) {
+        for (int i = 0; i < this.boards.length; i++) {
+            for (final Move move : this.moves[i]) {
+                blackhole.consume(this.boards[i].getCurrentPlayer().makeMove(move));
+            }
+        }
+    }
+
+    /**
+     * Looks up every move by its current and destination position.
+     *
+     * @param blackhole where the moves are consumed
+     */
+    @Benchmark
+    public void createMove(final Blackhole blackhole) {
+        for (int i = 0; i < this.boards.length; i++) {
+            for (final Move move : this.moves[i]) {
+                blackhole.consume(MoveFactory.CreateMove(this.boards[i],
+                                                         move.getCurrentPosition(),
+                                                         move.getDestinationPosition()));
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.chess.bench;
+
+import com.chess.engine.pgn.PgnImporter;
+import com.chess.engine.pgn.PgnReplayer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This imports a PGN file with a PgnImporter on 1 to N workers (N defaults to the number of cores)
+ * and prints, for every worker count, the throughput, the speed-up over one worker and the stage split.
+ * The stage times add up the time spent on every worker, so they grow with the worker count if scaling is not linear.
+ */
+public class PgnImportScalingRunner {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: PgnImportScalingRunner <file.pgn> [max workers]");
+            System.exit(1);
+        }
+        final Path path = Path.of(args[0]);
+        final int maxWorkers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        // Warm the JIT up on every worker before anything is timed
+        importFile(path, maxWorkers);
+        double oneWorkerGamesPerSecond = 0;
+        for (int workers = 1; workers <= maxWorkers; workers++) {
+            final PgnReplayer statistics = importFile(path, workers);
+            if (workers == 1) {
+                oneWorkerGamesPerSecond = statistics.getGamesPerSecond();
+            }
+            System.out.printf("Workers: %d, Speed-up: %.2fx%n%s%n%n",
+                              workers,
+                              statistics.getGamesPerSecond() / oneWorkerGamesPerSecond,
+                              statistics);
+        }
+    }
+
+    /**
+     * @param path    the PGN file
+     * @param workers how many workers replay the chunks
+     * @return the import's statistics
+     * @throws IOException if the file cannot be read
+     */
+    private static PgnReplayer importFile(final Path path, final int workers) throws IOException {
+        final ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            return new PgnImporter(pool, PgnImporter.DEFAULT_CHUNK_SIZE).importFile(path, importedGame -> { });
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.chess.bench;
+
+import com.chess.engine.pgn.PgnReader;
+import com.chess.engine.pgn.PgnReplayer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * This streams every game of a PGN file through the engine on one thread
+ * and prints the throughput in games/s and moves/s.
+ */
+public class PgnReplayRunner {
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: PgnReplayRunner <file.pgn>");
+            System.exit(1);
+        }
+        try (final PgnReader reader = PgnReader.Open(Path.of(args[0]))) {
+            System.out.println(new PgnReplayer().replayAll(reader));
+        }
+    }
+}
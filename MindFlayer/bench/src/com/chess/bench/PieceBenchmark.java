@@ -0,0 +1,67 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmarks Piece.calculateLegalMoves for one piece type at a time over the corpus boards.
+ * The pieces do not cache their moves, so the boards are only built once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceBenchmark {
+    @Param({ "middlegame", "endgame" })
+    private String corpus;
+
+    @Param({ "PAWN", "ROOK", "KNIGHT", "BISHOP", "QUEEN", "KING" })
+    private PieceType pieceType;
+
+    private Board[] boards;
+    private Piece[][] pieces;
+//----------------------------------------------------------------------------------------------------------------------
+//------------------------------------------------------- Setup --------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Builds the corpus boards and finds the pieces of the benchmarked type on each of them.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.boards = BenchmarkPositions.CreateBoards(this.corpus);
+        this.pieces = new Piece[this.boards.length][];
+        for (int i = 0; i < this.boards.length; i++) {
+            final List<Piece> boardPieces = new ArrayList<>();
+            for (int tilePosition = 0; tilePosition < 64; tilePosition++) {
+                final Piece piece = this.boards[i].getPiece(tilePosition);
+                if (piece != null && piece.getPieceType() == this.pieceType) {
+                    boardPieces.add(piece);
+                }
+            }
+            this.pieces[i] = boardPieces.toArray(new Piece[0]);
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------- Benchmarks -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param blackhole where the moves are consumed
+     */
+    @Benchmark
+    public void calculateLegalMoves(final Blackhole blackhole) {
+        for (int i = 0; i < this.boards.length; i++) {
+            for (final Piece piece : this.pieces[i]) {
+                blackhole.consume(piece.calculateLegalMoves(this.boards[i]));
+            }
+        }
+    }
+}
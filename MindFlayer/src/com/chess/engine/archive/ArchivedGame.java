@@ -0,0 +1,127 @@
+package com.chess.engine.archive;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.moves.Move;
+import com.chess.engine.players.Player;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents a game read from a GameArchive: its tag pairs, its result and its moves, which are only
+ * decoded (from their indices in the legal moves) when the game is replayed.
+ */
+public final class ArchivedGame {
+    private final int id;
+    private final Map<String, String> tags;
+    private final String result;
+    private final byte[] moveBytes;
+    private final int plyCount;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for an ArchivedGame object.
+     *
+     * @param id        where the game is in the archive
+     * @param tags      the tag pairs
+     * @param result    1-0, 0-1, 1/2-1/2 or *
+     * @param moveBytes the encoded moves
+     * @param plyCount  how many moves were encoded
+     */
+    ArchivedGame(final int id,
+                 final Map<String, String> tags,
+                 final String result,
+                 final byte[] moveBytes,
+                 final int plyCount) {
+        this.id = id;
+        this.tags = Collections.unmodifiableMap(tags);
+        this.result = result;
+        this.moveBytes = moveBytes;
+        this.plyCount = plyCount;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return where the game is in the archive
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * @return the tag pairs
+     */
+    public Map<String, String> getTags() {
+        return this.tags;
+    }
+
+    /**
+     * @param name the tag's name
+     * @return the tag's value (null if the game does not have the tag)
+     */
+    public String getTag(final String name) {
+        return this.tags.get(name);
+    }
+
+    /**
+     * @return 1-0, 0-1, 1/2-1/2 or *
+     */
+    public String getResult() {
+        return this.result;
+    }
+
+    /**
+     * @return how many moves (plies) the game has
+     */
+    public int getPlyCount() {
+        return this.plyCount;
+    }
+
+    /**
+     * @return the board the game starts from (the FEN tag's position if the game has one)
+     */
+    public Board createStartBoard() {
+        final String fen = getTag("FEN");
+        return fen == null ? Board.CreateStandardBoard() : Board.FromFen(fen);
+    }
+
+    /**
+     * Decodes and plays the game's moves one after another.
+     * The moves were legal when they were archived, so they are executed without checking them again.
+     *
+     * @param playedMoves where every move is added as it is played (null if they are not needed)
+     * @return the board after the game's last move
+     */
+    public Board replay(final List<Move> playedMoves) {
+        Board board = createStartBoard();
+        int offset = 0;
+        for (int ply = 0; ply < this.plyCount; ply++) {
+            final Player player = board.getCurrentPlayer();
+            int index = this.moveBytes[offset++] & 0xFF;
+            if (GameArchive.IsWideIndex(player.getLegalMoves().size())) {
+                index = (index << 8) | (this.moveBytes[offset++] & 0xFF);
+            }
+            final Move move = player.getLegalMove(index);
+            if (playedMoves != null) {
+                playedMoves.add(move);
+            }
+            board = move.execute();
+        }
+
+        return board;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------- Special Overridden Methods ---------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return a String version of the game
+     */
+    @Override
+    public String toString() {
+        return "#" + this.id + " " + getTag("White") + " - " + getTag("Black") + " " + this.result +
+               " (" + this.plyCount + " plies)";
+    }
+}
@@ -0,0 +1,136 @@
+package com.chess.engine.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.chess.engine.pgn.PgnGame.*;
+
+/**
+ * This class gives random access to the games of a binary game archive (see GameArchiveWriter) through memory-mapped
+ * segments of the file, so opening any game only reads that game's bytes and the offset table entry pointing to it.
+ * <p>
+ * The archive starts with a header (MAGIC and VERSION) followed by the games. Each game holds its tag count, its tag
+ * pairs (UTF-8 strings with an unsigned short length), its result, its ply count, the size of its moves and its moves,
+ * each move being its index in the legal moves (one byte, or two if the move maker has more than 256 legal moves).
+ * The offset table (one long per game) and a trailer (the table's offset, the game count and MAGIC) end the file.
+ */
+public final class GameArchive {
+    static final int MAGIC = 0x4D464741;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+    static final int TRAILER_SIZE = Long.BYTES + 2 * Integer.BYTES;
+    static final int MAX_GAME_SIZE = 1 << 20;
+    static final String[] RESULTS = {UNKNOWN_RESULT, WHITE_WINS, BLACK_WINS, DRAW};
+
+    private static final int NARROW_INDICES = 1 << 8;
+    // The segments overlap by the largest game, so every game is inside the segment it starts in
+    private static final long SEGMENT_SIZE = 1 << 30;
+
+    private final MappedByteBuffer[] segments;
+    private final long tableOffset;
+    private final int gameCount;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a GameArchive object (the mapped file stays readable after the file is closed).
+     *
+     * @param path the archive
+     * @throws IOException if the archive cannot be read
+     */
+    public GameArchive(final Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE + TRAILER_SIZE) {
+                throw new RuntimeException("Not a game archive: " + path);
+            }
+            this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < this.segments.length; i++) {
+                final long start = i * SEGMENT_SIZE;
+                this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                               start,
+                                               Math.min(size - start, SEGMENT_SIZE + MAX_GAME_SIZE));
+            }
+            final ByteBuffer header = segment(0);
+            final ByteBuffer trailer = segment(size - TRAILER_SIZE);
+            this.tableOffset = trailer.getLong();
+            this.gameCount = trailer.getInt();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || trailer.getInt() != MAGIC ||
+                this.tableOffset + (long) this.gameCount * Long.BYTES != size - TRAILER_SIZE) {
+                throw new RuntimeException("Not a game archive: " + path);
+            }
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return how many games the archive holds
+     */
+    public int getGameCount() {
+        return this.gameCount;
+    }
+
+    /**
+     * Reads a game's tags, result and encoded moves (the moves are decoded when the game is replayed).
+     *
+     * @param id where the game is in the archive (in the order the games were written)
+     * @return the game
+     */
+    public ArchivedGame getGame(final int id) {
+        if (id < 0 || id >= this.gameCount) {
+            throw new RuntimeException("Invalid game id: " + id);
+        }
+        final ByteBuffer game = segment(segment(this.tableOffset + (long) id * Long.BYTES).getLong());
+        final int tagCount = Short.toUnsignedInt(game.getShort());
+        final Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < tagCount; i++) {
+            final String name = ReadString(game);
+            tags.put(name, ReadString(game));
+        }
+        final String result = RESULTS[game.get()];
+        final int plyCount = Short.toUnsignedInt(game.getShort());
+        final int moveBytes = game.getInt();
+        final byte[] moves = new byte[moveBytes];
+        game.get(moves);
+
+        return new ArchivedGame(id, tags, result, moves, plyCount);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param legalMoveCount how many legal moves the move maker has
+     * @return whether a move's index takes two bytes
+     */
+    static boolean IsWideIndex(final int legalMoveCount) {
+        return legalMoveCount > NARROW_INDICES;
+    }
+
+    /**
+     * @param offset a position in the file
+     * @return a buffer positioned at the offset, inside the segment the offset is in
+     */
+    private ByteBuffer segment(final long offset) {
+        final ByteBuffer segment = this.segments[(int) (offset / SEGMENT_SIZE)].duplicate();
+        segment.position((int) (offset % SEGMENT_SIZE));
+        return segment;
+    }
+
+    /**
+     * @param buffer where the string is (after its unsigned short length)
+     * @return the UTF-8 string
+     */
+    private static String ReadString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,200 @@
+package com.chess.engine.archive;
+
+import com.chess.engine.pgn.GameSink;
+import com.chess.engine.pgn.ImportedGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+import static com.chess.engine.archive.GameArchive.*;
+
+/**
+ * This class writes games into a binary game archive (see GameArchive for the format). A game takes its tags plus
+ * one byte per move (two when the move maker has more than 256 legal moves), encoded from the legal move indices
+ * recorded while the game was replayed, so no Board is needed.
+ * It is a GameSink, so a PgnImporter can write a PGN database straight into an archive.
+ */
+public final class GameArchiveWriter implements GameSink, Closeable {
+    private static final int OUTPUT_BUFFER_SIZE = 2 * MAX_GAME_SIZE;
+    private static final int INITIAL_GAMES = 1 << 10;
+
+    private final FileChannel channel;
+    private final ByteBuffer output;
+    private long[] gameOffsets;
+    private int gameCount;
+    private long offset;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a GameArchiveWriter object (an existing file is overwritten).
+     *
+     * @param path where the archive is written
+     * @throws IOException if the file cannot be created
+     */
+    public GameArchiveWriter(final Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.TRUNCATE_EXISTING,
+                                        StandardOpenOption.WRITE);
+        this.output = ByteBuffer.allocate(OUTPUT_BUFFER_SIZE);
+        this.gameOffsets = new long[INITIAL_GAMES];
+        this.output.putInt(MAGIC).putInt(VERSION);
+        this.offset = HEADER_SIZE;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Writes a game a PgnImporter replayed, from the move indices recorded during the replay.
+     *
+     * @param importedGame the game
+     * @return the game's id in the archive
+     * @throws IOException if the archive cannot be written
+     */
+    public int write(final ImportedGame importedGame) throws IOException {
+        if (this.output.remaining() < MAX_GAME_SIZE) {
+            flush();
+        }
+        final int start = this.output.position();
+        try {
+            putGame(importedGame);
+        } catch (final RuntimeException e) {
+            // Drop what was written of the game
+            this.output.position(start);
+            throw e instanceof BufferOverflowException ? gameTooLarge() : e;
+        }
+        if (this.output.position() - start > MAX_GAME_SIZE) {
+            this.output.position(start);
+            throw gameTooLarge();
+        }
+        if (this.gameCount == this.gameOffsets.length) {
+            this.gameOffsets = Arrays.copyOf(this.gameOffsets, this.gameCount * 2);
+        }
+        this.gameOffsets[this.gameCount] = this.offset;
+        this.offset += this.output.position() - start;
+
+        return this.gameCount++;
+    }
+
+    /**
+     * Writes a game a PgnImporter replayed.
+     *
+     * @param importedGame the game
+     */
+    @Override
+    public void accept(final ImportedGame importedGame) {
+        try {
+            write(importedGame);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return how many games were written
+     */
+    public int getGameCount() {
+        return this.gameCount;
+    }
+
+    /**
+     * Writes the offset table and the trailer, then closes the file.
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            for (int i = 0; i < this.gameCount; i++) {
+                if (this.output.remaining() < Long.BYTES) {
+                    flush();
+                }
+                this.output.putLong(this.gameOffsets[i]);
+            }
+            if (this.output.remaining() < TRAILER_SIZE) {
+                flush();
+            }
+            this.output.putLong(this.offset).putInt(this.gameCount).putInt(MAGIC);
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Puts a game a PgnImporter replayed into the output buffer.
+     *
+     * @param importedGame the game
+     */
+    private void putGame(final ImportedGame importedGame) {
+        final int plyCount = importedGame.getPlyCount();
+        if (plyCount > Character.MAX_VALUE) {
+            throw gameTooLarge();
+        }
+        final Map<String, String> tags = importedGame.getTags();
+        this.output.putShort((short) tags.size());
+        for (final Map.Entry<String, String> tag : tags.entrySet()) {
+            PutString(this.output, tag.getKey());
+            PutString(this.output, tag.getValue());
+        }
+        this.output.put((byte) Arrays.asList(RESULTS).indexOf(importedGame.getResult()));
+        this.output.putShort((short) plyCount);
+        final int moveBytesPosition = this.output.position();
+        this.output.putInt(0);
+        for (int ply = 0; ply < plyCount; ply++) {
+            final int index = importedGame.getLegalMoveIndex(ply);
+            if (index >= importedGame.getLegalMoveCount(ply)) {
+                throw new RuntimeException("Invalid move " + ply + " in game " + this.gameCount + ": " + index);
+            }
+            if (IsWideIndex(importedGame.getLegalMoveCount(ply))) {
+                this.output.put((byte) (index >>> 8));
+            }
+            this.output.put((byte) index);
+        }
+        this.output.putInt(moveBytesPosition, this.output.position() - moveBytesPosition - Integer.BYTES);
+    }
+
+    /**
+     * @return the exception to throw for a game larger than MAX_GAME_SIZE
+     */
+    private RuntimeException gameTooLarge() {
+        return new RuntimeException("Game " + this.gameCount + " is too large to archive");
+    }
+
+    /**
+     * Writes the output buffer to the file.
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    private void flush() throws IOException {
+        this.output.flip();
+        while (this.output.hasRemaining()) {
+            this.channel.write(this.output);
+        }
+        this.output.clear();
+    }
+
+    /**
+     * @param buffer where the string is put
+     * @param string the string (put as UTF-8 after its unsigned short length)
+     */
+    private static void PutString(final ByteBuffer buffer, final String string) {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Character.MAX_VALUE) {
+            throw new RuntimeException("Tag is too long: " + string.substring(0, 32));
+        }
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+}
@@ -0,0 +1,169 @@
+package com.chess.engine.archive;
+
+import com.chess.engine.board.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class looks positions up in an on-disk index (see PositionIndexWriter) that maps the Zobrist key of every
+ * position reached in a game collection to the games reaching it. The file is memory-mapped and the table of distinct
+ * positions is sorted by key, so a look-up is a binary search touching a few pages, whatever the collection's size.
+ * <p>
+ * The index starts with a header (MAGIC, VERSION, the position, posting and game counts). Each table entry holds the
+ * key, the first posting, and the counts of games, White wins, draws and Black wins. The postings follow the table,
+ * each one packing a game id (see GameArchive) and a ply into a long.
+ */
+public final class PositionIndex {
+    static final int MAGIC = 0x4D465049;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 2 * Integer.BYTES + 3 * Long.BYTES;
+    static final int ENTRY_SIZE = 2 * Long.BYTES + 4 * Integer.BYTES;
+
+    // Table entries and postings never straddle two segments, since the segments are a multiple of their size
+    private static final long SEGMENT_SIZE = 1 << 30;
+    private static final long PLY_MASK = 0xFFFFFFFFL;
+
+    private final MappedByteBuffer[] segments;
+    private final long keyCount;
+    private final long postingCount;
+    private final long gameCount;
+    private final long postingsOffset;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a PositionIndex object (the mapped file stays readable after the file is closed).
+     *
+     * @param path the index
+     * @throws IOException if the index cannot be read
+     */
+    public PositionIndex(final Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new RuntimeException("Not a position index: " + path);
+            }
+            this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < this.segments.length; i++) {
+                final long start = i * SEGMENT_SIZE;
+                this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                               start,
+                                               Math.min(size - start, SEGMENT_SIZE));
+            }
+            final ByteBuffer header = segment(0);
+            final int magic = header.getInt();
+            final int version = header.getInt();
+            this.keyCount = header.getLong();
+            this.postingCount = header.getLong();
+            this.gameCount = header.getLong();
+            this.postingsOffset = HEADER_SIZE + this.keyCount * ENTRY_SIZE;
+            if (magic != MAGIC || version != VERSION || this.postingsOffset + this.postingCount * Long.BYTES != size) {
+                throw new RuntimeException("Not a position index: " + path);
+            }
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param board the position
+     * @return how many games reached the position and how they ended (UNSEEN if no game reached it)
+     */
+    public PositionStatistics getStatistics(final Board board) {
+        return getStatistics(board.getZobristKey());
+    }
+
+    /**
+     * Binary searches the table of distinct positions for a key.
+     *
+     * @param key the position's Zobrist key
+     * @return how many games reached the position and how they ended (UNSEEN if no game reached it)
+     */
+    public PositionStatistics getStatistics(final long key) {
+        long low = 0;
+        long high = this.keyCount - 1;
+        while (low <= high) {
+            final long middle = (low + high) >>> 1;
+            final ByteBuffer entry = segment(HEADER_SIZE + middle * ENTRY_SIZE);
+            final long entryKey = entry.getLong();
+            if (entryKey < key) {
+                low = middle + 1;
+            } else if (entryKey > key) {
+                high = middle - 1;
+            } else {
+                final long firstPosting = entry.getLong();
+                final long nextPosting = middle + 1 < this.keyCount ?
+                        segment(HEADER_SIZE + (middle + 1) * ENTRY_SIZE + Long.BYTES).getLong() : this.postingCount;
+                return new PositionStatistics(key,
+                                              firstPosting,
+                                              (int) (nextPosting - firstPosting),
+                                              entry.getInt(),
+                                              entry.getInt(),
+                                              entry.getInt(),
+                                              entry.getInt());
+            }
+        }
+
+        return PositionStatistics.UNSEEN;
+    }
+
+    /**
+     * @param statistics  a position's statistics from this index
+     * @param maxPostings how many postings are wanted at most
+     * @return the position's postings, ordered by game id and ply (see GameId and Ply)
+     */
+    public long[] getPostings(final PositionStatistics statistics, final int maxPostings) {
+        final long[] postings = new long[Math.min(statistics.getPostingCount(), maxPostings)];
+        for (int i = 0; i < postings.length; i++) {
+            postings[i] = segment(this.postingsOffset + (statistics.getFirstPosting() + i) * Long.BYTES).getLong();
+        }
+        return postings;
+    }
+
+    /**
+     * @return how many distinct positions the index holds
+     */
+    public long getPositionCount() {
+        return this.keyCount;
+    }
+
+    /**
+     * @return how many games were indexed
+     */
+    public long getGameCount() {
+        return this.gameCount;
+    }
+
+    /**
+     * @param posting a posting
+     * @return the id of the game that reached the position
+     */
+    public static int GameId(final long posting) {
+        return (int) (posting >>> 32);
+    }
+
+    /**
+     * @param posting a posting
+     * @return how many moves into the game the position was reached
+     */
+    public static int Ply(final long posting) {
+        return (int) (posting & PLY_MASK);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param offset a position in the file
+     * @return a buffer positioned at the offset, inside the segment the offset is in
+     */
+    private ByteBuffer segment(final long offset) {
+        final ByteBuffer segment = this.segments[(int) (offset / SEGMENT_SIZE)].duplicate();
+        segment.position((int) (offset % SEGMENT_SIZE));
+        return segment;
+    }
+}
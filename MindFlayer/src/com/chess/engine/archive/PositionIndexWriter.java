@@ -0,0 +1,417 @@
+package com.chess.engine.archive;
+
+import com.chess.engine.pgn.GameSink;
+import com.chess.engine.pgn.ImportedGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.chess.engine.archive.PositionIndex.*;
+
+/**
+ * This class builds a PositionIndex from imported games with an external sort, so collections larger than the memory
+ * can be indexed: the postings (position key, game id, ply and result) are gathered into runs of a fixed size, every
+ * full run is sorted and spilled into a temporary file, and closing the writer merges the runs into the index.
+ * The games get ids in the order they are written, which matches a GameArchiveWriter fed the same games.
+ */
+public final class PositionIndexWriter implements GameSink, Closeable {
+    public static final int DEFAULT_RUN_SIZE = 1 << 22;
+
+    private static final int RUN_RECORD_SIZE = 2 * Long.BYTES;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final int INSERTION_SORT_SIZE = 16;
+    private static final long RESULT_MASK = 0x3;
+    private static final long PLY_MASK = 0xFFFFFFFFL;
+    // The key, the first posting and the game counts for unknown results, White wins, draws and Black wins
+    private static final int ENTRY_FIELDS = 6;
+    // Where each result (in GameArchive.RESULTS order) is counted in a table entry
+    private static final int[] RESULT_SLOTS = {2, 3, 5, 4};
+
+    private final Path path;
+    private final long[] keys;
+    private final long[] values;
+    private final List<Path> runs;
+    private int postingCount;
+    private int gameCount;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a PositionIndexWriter object (an existing index is overwritten when the writer is closed).
+     *
+     * @param path    where the index is written (the runs are spilled next to it)
+     * @param runSize how many postings are sorted in memory at a time
+     */
+    public PositionIndexWriter(final Path path, final int runSize) {
+        if (runSize <= 0) {
+            throw new RuntimeException("Invalid run size: " + runSize);
+        }
+        this.path = path.toAbsolutePath();
+        this.keys = new long[runSize];
+        this.values = new long[runSize];
+        this.runs = new ArrayList<>();
+    }
+
+    /**
+     * Constructor for a PositionIndexWriter object with the default run size.
+     *
+     * @param path where the index is written
+     */
+    public PositionIndexWriter(final Path path) {
+        this(path, DEFAULT_RUN_SIZE);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Adds a posting for every position of a game.
+     *
+     * @param importedGame the game
+     * @return the game's id
+     * @throws IOException if a full run cannot be spilled
+     */
+    public int write(final ImportedGame importedGame) throws IOException {
+        final int gameId = this.gameCount++;
+        final int result = Arrays.asList(GameArchive.RESULTS).indexOf(importedGame.getResult());
+        for (int ply = 0; ply < importedGame.getPositionCount(); ply++) {
+            if (this.postingCount == this.keys.length) {
+                spillRun();
+            }
+            this.keys[this.postingCount] = importedGame.getPositionKey(ply);
+            this.values[this.postingCount++] = ((long) gameId << 32) | ((long) ply << 2) | result;
+        }
+
+        return gameId;
+    }
+
+    /**
+     * Adds a posting for every position of a game a PgnImporter replayed.
+     *
+     * @param importedGame the game
+     */
+    @Override
+    public void accept(final ImportedGame importedGame) {
+        try {
+            write(importedGame);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return how many games were written
+     */
+    public int getGameCount() {
+        return this.gameCount;
+    }
+
+    /**
+     * Spills the last run and merges every run into the index, which has a table of the distinct positions (with
+     * their game counts and results) followed by the postings of all positions in key order.
+     *
+     * @throws IOException if the runs cannot be merged or the index cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        final Path postings = Files.createTempFile(this.path.getParent(), "postings", ".tmp");
+        try {
+            if (this.postingCount > 0) {
+                spillRun();
+            }
+            long keyCount = 0;
+            long totalPostings = 0;
+            final PriorityQueue<RunReader> queue = new PriorityQueue<>();
+            try (final FileChannel indexChannel = FileChannel.open(this.path,
+                                                                   StandardOpenOption.CREATE,
+                                                                   StandardOpenOption.TRUNCATE_EXISTING,
+                                                                   StandardOpenOption.WRITE);
+                 final FileChannel postingChannel = FileChannel.open(postings, StandardOpenOption.WRITE)) {
+                final ByteBuffer entries = ByteBuffer.allocate(IO_BUFFER_SIZE);
+                final ByteBuffer postingOutput = ByteBuffer.allocate(IO_BUFFER_SIZE);
+                // Leave room for the header, which needs the counts
+                indexChannel.position(HEADER_SIZE);
+                for (final Path run : this.runs) {
+                    final RunReader reader = new RunReader(run);
+                    if (reader.next()) {
+                        queue.add(reader);
+                    } else {
+                        reader.close();
+                    }
+                }
+                // Merge the runs, writing a table entry every time the key changes
+                final long[] entry = new long[ENTRY_FIELDS];
+                long previousGameId = -1;
+                boolean hasEntry = false;
+                while (!queue.isEmpty()) {
+                    final RunReader reader = queue.poll();
+                    final long key = reader.key;
+                    final long value = reader.value;
+                    if (reader.next()) {
+                        queue.add(reader);
+                    } else {
+                        reader.close();
+                    }
+                    if (!hasEntry || key != entry[0]) {
+                        if (hasEntry) {
+                            PutEntry(indexChannel, entries, entry);
+                            keyCount++;
+                        }
+                        Arrays.fill(entry, 0);
+                        entry[0] = key;
+                        entry[1] = totalPostings;
+                        previousGameId = -1;
+                        hasEntry = true;
+                    }
+                    final long gameId = value >>> 32;
+                    // A position repeated within a game counts once for the game
+                    if (gameId != previousGameId) {
+                        entry[RESULT_SLOTS[(int) (value & RESULT_MASK)]]++;
+                        previousGameId = gameId;
+                    }
+                    if (postingOutput.remaining() < Long.BYTES) {
+                        Flush(postingChannel, postingOutput);
+                    }
+                    // The index keeps the game id and ply only
+                    postingOutput.putLong((value & ~PLY_MASK) | ((value & PLY_MASK) >>> 2));
+                    totalPostings++;
+                }
+                if (hasEntry) {
+                    PutEntry(indexChannel, entries, entry);
+                    keyCount++;
+                }
+                Flush(indexChannel, entries);
+                Flush(postingChannel, postingOutput);
+
+                // Append the postings after the table
+                try (final FileChannel postingInput = FileChannel.open(postings, StandardOpenOption.READ)) {
+                    long transferred = 0;
+                    while (transferred < totalPostings * Long.BYTES) {
+                        transferred += postingInput.transferTo(transferred,
+                                                               totalPostings * Long.BYTES - transferred,
+                                                               indexChannel);
+                    }
+                }
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putLong(keyCount).putLong(totalPostings).putLong(this.gameCount);
+                header.flip();
+                indexChannel.write(header, 0);
+            } finally {
+                queue.forEach(RunReader::close);
+            }
+        } finally {
+            Files.deleteIfExists(postings);
+            for (final Path run : this.runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Sorts the postings in memory and writes them into a new temporary run file.
+     *
+     * @throws IOException if the run cannot be written
+     */
+    private void spillRun() throws IOException {
+        SortPostings(this.keys, this.values, 0, this.postingCount - 1);
+        final Path run = Files.createTempFile(this.path.getParent(), "positions", ".run");
+        this.runs.add(run);
+        try (final FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            final ByteBuffer output = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            for (int i = 0; i < this.postingCount; i++) {
+                if (output.remaining() < RUN_RECORD_SIZE) {
+                    Flush(channel, output);
+                }
+                output.putLong(this.keys[i]).putLong(this.values[i]);
+            }
+            Flush(channel, output);
+        }
+        this.postingCount = 0;
+    }
+
+    /**
+     * Sorts postings by key, then by value (game id and ply), with a quicksort on the two arrays.
+     *
+     * @param keys   the postings' position keys
+     * @param values the postings' game ids, plies and results
+     * @param low    the first posting to sort
+     * @param high   the last posting to sort
+     */
+    private static void SortPostings(final long[] keys, final long[] values, int low, int high) {
+        while (high - low >= INSERTION_SORT_SIZE) {
+            final int middle = (low + high) >>> 1;
+            final long pivotKey = keys[middle];
+            final long pivotValue = values[middle];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (Compare(keys[i], values[i], pivotKey, pivotValue) < 0) {
+                    i++;
+                }
+                while (Compare(keys[j], values[j], pivotKey, pivotValue) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    Swap(keys, values, i++, j--);
+                }
+            }
+            // Recurse into the smaller part and loop over the larger one, so the stack stays shallow
+            if (j - low < high - i) {
+                SortPostings(keys, values, low, j);
+                low = i;
+            } else {
+                SortPostings(keys, values, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && Compare(keys[j - 1], values[j - 1], keys[j], values[j]) > 0; j--) {
+                Swap(keys, values, j - 1, j);
+            }
+        }
+    }
+
+    /**
+     * @param key        a posting's position key
+     * @param value      the posting's game id, ply and result
+     * @param otherKey   another posting's position key
+     * @param otherValue the other posting's game id, ply and result
+     * @return the order of the postings (by key, then by value)
+     */
+    private static int Compare(final long key, final long value, final long otherKey, final long otherValue) {
+        final int order = Long.compare(key, otherKey);
+        return order != 0 ? order : Long.compare(value, otherValue);
+    }
+
+    /**
+     * Swaps two postings.
+     *
+     * @param keys   the postings' position keys
+     * @param values the postings' game ids, plies and results
+     * @param i      a posting
+     * @param j      another posting
+     */
+    private static void Swap(final long[] keys, final long[] values, final int i, final int j) {
+        final long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        final long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    /**
+     * Puts a table entry into a buffer (flushing the buffer into the channel when it is full).
+     *
+     * @param channel where the table is written
+     * @param buffer  the table's output buffer
+     * @param entry   the key, first posting, game count, White wins, draws and Black wins
+     * @throws IOException if the table cannot be written
+     */
+    private static void PutEntry(final FileChannel channel, final ByteBuffer buffer, final long[] entry)
+            throws IOException {
+        if (buffer.remaining() < ENTRY_SIZE) {
+            Flush(channel, buffer);
+        }
+        buffer.putLong(entry[0]).putLong(entry[1]);
+        // Every game counts, whatever its result
+        buffer.putInt((int) (entry[2] + entry[3] + entry[4] + entry[5]));
+        buffer.putInt((int) entry[3]).putInt((int) entry[4]).putInt((int) entry[5]);
+    }
+
+    /**
+     * Writes a buffer into a channel and clears it.
+     *
+     * @param channel where the buffer is written
+     * @param buffer  the buffer
+     * @throws IOException if the channel cannot be written
+     */
+    private static void Flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+//######################################################################################################################
+//###################################################### RunReader #####################################################
+//######################################################################################################################
+    /**
+     * This class reads the postings of a sorted run one at a time.
+     */
+    private static final class RunReader implements Comparable<RunReader> {
+        private final FileChannel channel;
+        private final ByteBuffer input;
+        private long key;
+        private long value;
+        //--------------------------------------------------------------------------------------------------------------
+        //------------------------------------------------ Constructor -------------------------------------------------
+        //--------------------------------------------------------------------------------------------------------------
+        /**
+         * Constructor for a RunReader object.
+         *
+         * @param run the run's file
+         * @throws IOException if the run cannot be opened
+         */
+        private RunReader(final Path run) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.input = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            this.input.flip();
+        }
+        //--------------------------------------------------------------------------------------------------------------
+        //------------------------------------------------ Main Methods ------------------------------------------------
+        //--------------------------------------------------------------------------------------------------------------
+        /**
+         * Reads the next posting.
+         *
+         * @return whether the run had another posting
+         * @throws IOException if the run cannot be read
+         */
+        private boolean next() throws IOException {
+            if (this.input.remaining() < RUN_RECORD_SIZE) {
+                this.input.compact();
+                while (this.input.position() < RUN_RECORD_SIZE && this.channel.read(this.input) > 0) {
+                    // Read until a whole posting is buffered
+                }
+                this.input.flip();
+                if (this.input.remaining() < RUN_RECORD_SIZE) {
+                    return false;
+                }
+            }
+            this.key = this.input.getLong();
+            this.value = this.input.getLong();
+            return true;
+        }
+
+        /**
+         * Closes the run's file.
+         */
+        private void close() {
+            try {
+                this.channel.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * @param other another run
+         * @return the order of the runs' current postings
+         */
+        @Override
+        public int compareTo(final RunReader other) {
+            return Compare(this.key, this.value, other.key, other.value);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.chess.engine.archive;
+
+/**
+ * This class represents what a PositionIndex knows about a position: how many games reached it and how they ended.
+ */
+public final class PositionStatistics {
+    public static final PositionStatistics UNSEEN = new PositionStatistics(0, -1, 0, 0, 0, 0, 0);
+
+    private final long key;
+    private final long firstPosting;
+    private final int postingCount;
+    private final int games;
+    private final int whiteWins;
+    private final int draws;
+    private final int blackWins;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a PositionStatistics object.
+     *
+     * @param key          the position's Zobrist key
+     * @param firstPosting where the position's postings start in the index
+     * @param postingCount how many times the position was reached (a game can reach it more than once)
+     * @param games        how many games reached the position
+     * @param whiteWins    how many of the games White won
+     * @param draws        how many of the games were drawn
+     * @param blackWins    how many of the games Black won
+     */
+    PositionStatistics(final long key,
+                       final long firstPosting,
+                       final int postingCount,
+                       final int games,
+                       final int whiteWins,
+                       final int draws,
+                       final int blackWins) {
+        this.key = key;
+        this.firstPosting = firstPosting;
+        this.postingCount = postingCount;
+        this.games = games;
+        this.whiteWins = whiteWins;
+        this.draws = draws;
+        this.blackWins = blackWins;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return the position's Zobrist key
+     */
+    public long getKey() {
+        return this.key;
+    }
+
+    /**
+     * @return how many times the position was reached
+     */
+    public int getPostingCount() {
+        return this.postingCount;
+    }
+
+    /**
+     * @return how many games reached the position
+     */
+    public int getGames() {
+        return this.games;
+    }
+
+    /**
+     * @return how many of the games White won
+     */
+    public int getWhiteWins() {
+        return this.whiteWins;
+    }
+
+    /**
+     * @return how many of the games were drawn
+     */
+    public int getDraws() {
+        return this.draws;
+    }
+
+    /**
+     * @return how many of the games Black won
+     */
+    public int getBlackWins() {
+        return this.blackWins;
+    }
+
+    /**
+     * @return where the position's postings start in the index
+     */
+    long getFirstPosting() {
+        return this.firstPosting;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------- Special Overridden Methods ---------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return a String version of the statistics
+     */
+    @Override
+    public String toString() {
+        return "Seen in " + this.games + " games, results " + this.whiteWins + "/" + this.draws + "/" + this.blackWins;
+    }
+}
@@ -0,0 +1,292 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.function.LongUnaryOperator;
+
+import static com.chess.engine.pieces.Alliance.BLACK;
+import static com.chess.engine.pieces.Alliance.WHITE;
+import static com.chess.engine.pieces.Piece.PieceType.*;
+import static com.chess.engine.utils.Constants.BitBoardConstants.PIECE_TYPES;
+import static com.chess.engine.utils.Constants.BoardConstants.TILES_PER_RANK;
+import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
+
+/**
+ * This class provides useful methods for working with bitboards.
+ * A bitboard is a long where bit i is set when tile i (0 = a8, 63 = h1) is part of the set.
+ */
+public class BitBoardUtils {
+    public static final long FIRST_FILE = 0x0101010101010101L;
+    public static final long SECOND_FILE = FIRST_FILE << 1;
+    public static final long SEVENTH_FILE = FIRST_FILE << 6;
+    public static final long EIGHTH_FILE = FIRST_FILE << 7;
+    public static final long EIGHTH_RANK = 0xFFL;
+    public static final long SEVENTH_RANK = EIGHTH_RANK << 8;
+    public static final long SIXTH_RANK = EIGHTH_RANK << 16;
+    public static final long THIRD_RANK = EIGHTH_RANK << 40;
+    public static final long SECOND_RANK = EIGHTH_RANK << 48;
+    public static final long FIRST_RANK = EIGHTH_RANK << 56;
+
+    private static final long[][] TILES_BETWEEN = initTilesBetween();
+    private static final long[] KNIGHT_TARGETS = initTargets(BitBoardUtils::KnightAttacks);
+    private static final long[] KING_TARGETS = initTargets(BitBoardUtils::KingAttacks);
+    private static final long[][] PAWN_ATTACK_TARGETS = {
+            initTargets(pawn -> PawnAttacks(pawn, WHITE)),
+            initTargets(pawn -> PawnAttacks(pawn, BLACK)) };
+    private static final long[][] PAWN_PUSH_TARGETS = {
+            initTargets(pawn -> pawn >>> 8),
+            initTargets(pawn -> pawn << 8) };
+
+    /**
+     * A constructor for a BitBoardUtils object (not really).
+     */
+    private BitBoardUtils() {
+        throw new RuntimeException("BitBoardUtils cannot be instantiated!");
+    }
+
+    /**
+     * @param tilePosition where the tile is on the board
+     * @return a bitboard with only the given tile set
+     */
+    public static long TileMask(final int tilePosition) {
+        return 1L << tilePosition;
+    }
+
+    /**
+     * @param bitBoard     the bitboard to look at
+     * @param tilePosition where the tile is on the board
+     * @return whether the tile is set in the bitboard
+     */
+    public static boolean IsTileSet(final long bitBoard, final int tilePosition) {
+        return (bitBoard & TileMask(tilePosition)) != 0L;
+    }
+
+    /**
+     * Determines which bitboard holds a certain piece.
+     * White's bitboards come first, followed by Black's, each ordered by PieceType.
+     *
+     * @param alliance  White/Black
+     * @param pieceType what the piece is
+     * @return the index of the piece's bitboard
+     */
+    public static int BitBoardIndex(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * PIECE_TYPES + pieceType.ordinal();
+    }
+
+    /**
+     * @param bitBoard a non-empty bitboard
+     * @return the position of the lowest set tile
+     */
+    public static int FirstTile(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    /**
+     * @param bitBoard what the tiles will be counted in
+     * @return how many tiles are set in the bitboard
+     */
+    public static int TileCount(final long bitBoard) {
+        return Long.bitCount(bitBoard);
+    }
+
+    /**
+     * @param knights the tiles the Knights are on
+     * @return every tile attacked by the Knights
+     */
+    public static long KnightAttacks(final long knights) {
+        return ((knights >>> 17) & ~EIGHTH_FILE) |
+               ((knights >>> 15) & ~FIRST_FILE) |
+               ((knights >>> 10) & ~(SEVENTH_FILE | EIGHTH_FILE)) |
+               ((knights >>> 6) & ~(FIRST_FILE | SECOND_FILE)) |
+               ((knights << 6) & ~(SEVENTH_FILE | EIGHTH_FILE)) |
+               ((knights << 10) & ~(FIRST_FILE | SECOND_FILE)) |
+               ((knights << 15) & ~EIGHTH_FILE) |
+               ((knights << 17) & ~FIRST_FILE);
+    }
+
+    /**
+     * @param kings the tiles the Kings are on
+     * @return every tile attacked by the Kings
+     */
+    public static long KingAttacks(final long kings) {
+        final long sideways = ((kings << 1) & ~FIRST_FILE) | ((kings >>> 1) & ~EIGHTH_FILE);
+        final long row = kings | sideways;
+        return sideways | (row >>> 8) | (row << 8);
+    }
+
+    /**
+     * @param pawns    the tiles the Pawns are on
+     * @param alliance the Pawns' alliance
+     * @return every tile attacked by the Pawns
+     */
+    public static long PawnAttacks(final long pawns, final Alliance alliance) {
+        if (alliance.isWhite()) {
+            return ((pawns >>> 7) & ~FIRST_FILE) | ((pawns >>> 9) & ~EIGHTH_FILE);
+        }
+        return ((pawns << 9) & ~FIRST_FILE) | ((pawns << 7) & ~EIGHTH_FILE);
+    }
+
+    /**
+     * @param tilePosition where the Knight is
+     * @return every tile the Knight attacks (looked up, see KnightAttacks)
+     */
+    public static long KnightTargets(final int tilePosition) {
+        return KNIGHT_TARGETS[tilePosition];
+    }
+
+    /**
+     * @param tilePosition where the King is
+     * @return every tile the King attacks (looked up, see KingAttacks)
+     */
+    public static long KingTargets(final int tilePosition) {
+        return KING_TARGETS[tilePosition];
+    }
+
+    /**
+     * @param tilePosition where the Pawn is
+     * @param alliance     the Pawn's alliance
+     * @return every tile the Pawn attacks (looked up, see PawnAttacks)
+     */
+    public static long PawnAttackTargets(final int tilePosition, final Alliance alliance) {
+        return PAWN_ATTACK_TARGETS[alliance.ordinal()][tilePosition];
+    }
+
+    /**
+     * @param tilePosition where the Pawn is
+     * @param alliance     the Pawn's alliance
+     * @return the tile one step in front of the Pawn (empty on the last rank)
+     */
+    public static long PawnPushTargets(final int tilePosition, final Alliance alliance) {
+        return PAWN_PUSH_TARGETS[alliance.ordinal()][tilePosition];
+    }
+
+    /**
+     * Looks the attacks up in the magic bitboard tables (see MagicBitBoards).
+     *
+     * @param tilePosition where the Bishop (or Queen) is
+     * @param occupancy    every occupied tile on the board
+     * @return every tile the piece attacks diagonally, including the first blocker on each diagonal
+     */
+    public static long BishopAttacks(final int tilePosition, final long occupancy) {
+        return MagicBitBoards.BishopAttacks(tilePosition, occupancy);
+    }
+
+    /**
+     * Looks the attacks up in the magic bitboard tables (see MagicBitBoards).
+     *
+     * @param tilePosition where the Rook (or Queen) is
+     * @param occupancy    every occupied tile on the board
+     * @return every tile the piece attacks along ranks and files, including the first blocker on each line
+     */
+    public static long RookAttacks(final int tilePosition, final long occupancy) {
+        return MagicBitBoards.RookAttacks(tilePosition, occupancy);
+    }
+
+    /**
+     * @param tilePosition where the Queen is
+     * @param occupancy    every occupied tile on the board
+     * @return every tile the Queen attacks, including the first blocker on each line and diagonal
+     */
+    public static long QueenAttacks(final int tilePosition, final long occupancy) {
+        return BishopAttacks(tilePosition, occupancy) | RookAttacks(tilePosition, occupancy);
+    }
+
+    /**
+     * Finds every piece attacking a tile by looking outward from it (see IsTileAttacked).
+     *
+     * @param tilePosition   where the tile is on the board
+     * @param alliance       the attacking alliance
+     * @param pieceBitBoards the bitboard of every piece type and alliance (see BitBoardIndex)
+     * @param occupancy      every occupied tile on the board
+     * @return a bitboard with every piece of the alliance that attacks the tile
+     */
+    public static long AttackersOf(final int tilePosition,
+                                   final Alliance alliance,
+                                   final long[] pieceBitBoards,
+                                   final long occupancy) {
+        final long queens = pieceBitBoards[BitBoardIndex(alliance, QUEEN)];
+
+        return (PawnAttackTargets(tilePosition, alliance.isWhite() ? BLACK : WHITE) &
+                pieceBitBoards[BitBoardIndex(alliance, PAWN)]) |
+               (KnightTargets(tilePosition) & pieceBitBoards[BitBoardIndex(alliance, KNIGHT)]) |
+               (KingTargets(tilePosition) & pieceBitBoards[BitBoardIndex(alliance, KING)]) |
+               (BishopAttacks(tilePosition, occupancy) & (pieceBitBoards[BitBoardIndex(alliance, BISHOP)] | queens)) |
+               (RookAttacks(tilePosition, occupancy) & (pieceBitBoards[BitBoardIndex(alliance, ROOK)] | queens));
+    }
+
+    /**
+     * @param firstPosition  one end of the line
+     * @param secondPosition the other end of the line
+     * @return the tiles strictly between the two tiles if they share a rank, file or diagonal (empty otherwise)
+     */
+    public static long TilesBetween(final int firstPosition, final int secondPosition) {
+        return TILES_BETWEEN[firstPosition][secondPosition];
+    }
+
+    /**
+     * Determines whether a tile is attacked by looking outward from it:
+     * a Knight jump, Pawn capture, King step or open diagonal/line away from the tile
+     * that lands on a matching attacker means the tile is attacked.
+     *
+     * @param tilePosition   where the tile is on the board
+     * @param alliance       the attacking alliance
+     * @param pieceBitBoards the bitboard of every piece type and alliance (see BitBoardIndex)
+     * @param occupancy      every occupied tile on the board
+     * @return whether any piece of the alliance attacks the tile
+     */
+    public static boolean IsTileAttacked(final int tilePosition,
+                                         final Alliance alliance,
+                                         final long[] pieceBitBoards,
+                                         final long occupancy) {
+        final long queens = pieceBitBoards[BitBoardIndex(alliance, QUEEN)];
+
+        return (PawnAttackTargets(tilePosition, alliance.isWhite() ? BLACK : WHITE) &
+                pieceBitBoards[BitBoardIndex(alliance, PAWN)]) != 0L ||
+               (KnightTargets(tilePosition) & pieceBitBoards[BitBoardIndex(alliance, KNIGHT)]) != 0L ||
+               (KingTargets(tilePosition) & pieceBitBoards[BitBoardIndex(alliance, KING)]) != 0L ||
+               (BishopAttacks(tilePosition, occupancy) &
+                (pieceBitBoards[BitBoardIndex(alliance, BISHOP)] | queens)) != 0L ||
+               (RookAttacks(tilePosition, occupancy) &
+                (pieceBitBoards[BitBoardIndex(alliance, ROOK)] | queens)) != 0L;
+    }
+
+    /**
+     * @param attacks the set-wise attacks of a piece
+     * @return for every tile, the tiles a piece standing there attacks
+     */
+    private static long[] initTargets(final LongUnaryOperator attacks) {
+        final long[] targets = new long[TOTAL_TILES];
+        for (int i = 0; i < TOTAL_TILES; i++) {
+            targets[i] = attacks.applyAsLong(TileMask(i));
+        }
+
+        return targets;
+    }
+
+    /**
+     * @return for every pair of tiles, the tiles strictly between them along a rank, file or diagonal
+     */
+    private static long[][] initTilesBetween() {
+        final long[][] tilesBetween = new long[TOTAL_TILES][TOTAL_TILES];
+        final int[][] directions = { {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1} };
+
+        for (int i = 0; i < TOTAL_TILES; i++) {
+            for (final int[] direction : directions) {
+                long ray = 0L;
+                int rank = i / TILES_PER_RANK + direction[0];
+                int file = i % TILES_PER_RANK + direction[1];
+                // Walk away from the tile, remembering the tiles passed on the way
+                while (rank >= 0 && rank < TILES_PER_RANK && file >= 0 && file < TILES_PER_RANK) {
+                    final int destinationPosition = rank * TILES_PER_RANK + file;
+                    tilesBetween[i][destinationPosition] = ray;
+                    ray |= TileMask(destinationPosition);
+                    rank += direction[0];
+                    file += direction[1];
+                }
+            }
+        }
+
+        return tilesBetween;
+    }
+}
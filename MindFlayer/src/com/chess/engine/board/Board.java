@@ -2,6 +2,7 @@ package com.chess.engine.board;
 
 import com.chess.engine.moves.Move;
 import com.chess.engine.pieces.*;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.players.BlackPlayer;
 import com.chess.engine.players.Player;
 import com.chess.engine.players.WhitePlayer;
@@ -11,22 +12,34 @@ import com.google.common.collect.Iterables;
 
 import java.util.*;
 
+import static com.chess.engine.board.BitBoardUtils.*;
+import static com.chess.engine.board.GameState.*;
+import static com.chess.engine.board.Position.*;
 import static com.chess.engine.pieces.Alliance.*;
+import static com.chess.engine.pieces.Piece.CreatePiece;
 import static com.chess.engine.tiles.Tile.CreateTile;
+import static com.chess.engine.utils.Constants.BitBoardConstants.EMPTY_BITBOARD;
+import static com.chess.engine.utils.Constants.BitBoardConstants.TOTAL_BITBOARDS;
 import static com.chess.engine.utils.Constants.BoardConstants.TILES_PER_RANK;
 import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
 
 /**
  * This class represents the chess board (not part of the GUI).
+ * The position is stored as bitboards (one per piece type and alliance) plus occupancy masks,
+ * and the Tile view used by the GUI is derived from them on demand.
  * This class includes a Builder subclass that follows the Builder pattern.
  */
 public class Board {
-    private final List<Tile> gameBoard;
+    private final long[] pieceBitBoards;
+    private final long whiteOccupancy, blackOccupancy, allOccupancy;
+    private final Piece[] boardPieces;
+    private List<Tile> gameBoard;
     private final Collection<Piece> whitePieces, blackPieces;
     private final WhitePlayer whitePlayer;
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
-    private final Pawn enPassantPawn;
+    private final int gameState;
+    private final long zobristKey;
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
@@ -36,93 +49,215 @@ public class Board {
      * @param builder what will construct the board
      */
     private Board(final Builder builder) {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = CalculateActivePieces(this.gameBoard, WHITE);
-        this.blackPieces = CalculateActivePieces(this.gameBoard, BLACK);
-
-        this.enPassantPawn = builder.enPassantPawn;
+        this.pieceBitBoards = new long[TOTAL_BITBOARDS];
+        this.boardPieces = new Piece[TOTAL_TILES];
+        final List<Piece> activeWhitePieces = new ArrayList<>();
+        final List<Piece> activeBlackPieces = new ArrayList<>();
+        long whiteTiles = EMPTY_BITBOARD, blackTiles = EMPTY_BITBOARD;
+        // Place every piece from the builder into its bitboard
+        for (int i = 0; i < TOTAL_TILES; i++) {
+            final Piece piece = builder.boardConfig[i];
+            if (piece != null) {
+                this.boardPieces[i] = piece;
+                this.pieceBitBoards[BitBoardIndex(piece.getPieceAlliance(), piece.getPieceType())] |= TileMask(i);
+                if (piece.getPieceAlliance().isWhite()) {
+                    whiteTiles |= TileMask(i);
+                    activeWhitePieces.add(piece);
+                } else {
+                    blackTiles |= TileMask(i);
+                    activeBlackPieces.add(piece);
+                }
+            }
+        }
+        this.whiteOccupancy = whiteTiles;
+        this.blackOccupancy = blackTiles;
+        this.allOccupancy = whiteTiles | blackTiles;
+        this.whitePieces = ImmutableList.copyOf(activeWhitePieces);
+        this.blackPieces = ImmutableList.copyOf(activeBlackPieces);
 
-        final Collection<Move> whiteStandardLegalMoves = CalculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = CalculateLegalMoves(this.blackPieces);
+        // Moves hand over the game state they updated, anything else has it worked out from the pieces
+        final Pawn enPassantPawn = builder.enPassantPawn;
+        this.gameState = builder.gameStateSet ? builder.gameState : GameState.Encode(
+                CalculateCastlingRights(this.boardPieces),
+                enPassantPawn == null ? NO_EN_PASSANT_FILE : enPassantPawn.getPiecePosition() % TILES_PER_RANK,
+                0,
+                1);
 
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+        // Legal moves are only calculated when a player asks for them
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+        // Moves hand over an incrementally updated key, anything else is hashed from scratch
+        this.zobristKey = builder.zobristKeySet ? builder.zobristKey : Zobrist.CalculateKey(this);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
      * Retrieves the tile with the given position.
+     * The tiles are only built the first time they are asked for (usually by the GUI).
      *
      * @param tilePosition where the tile is on the board
      * @return the tile with the given position
      */
     public Tile getTile(final int tilePosition) {
-        return gameBoard.get(tilePosition);
+        if (this.gameBoard == null) {
+            this.gameBoard = createGameBoard(this.boardPieces);
+        }
+        return this.gameBoard.get(tilePosition);
     }
 
     /**
-     * @return the Pawn that made a two-tile advance in the prior move
+     * @param tilePosition where the tile is on the board
+     * @return whether there is a piece on the tile
      */
-    public Pawn getEnPassantPawn() {
-        return this.enPassantPawn;
+    public boolean isTileOccupied(final int tilePosition) {
+        return IsTileSet(this.allOccupancy, tilePosition);
+    }
+
+    /**
+     * @param tilePosition where the tile is on the board
+     * @return the piece on the tile (null if the tile is empty)
+     */
+    public Piece getPiece(final int tilePosition) {
+        return this.boardPieces[tilePosition];
     }
 
     /**
-     * Determines the active pieces for White or Black.
+     * Looks a legal move up by its tiles among the legal moves of the player owning the piece on the current tile,
+     * whether or not it is that player's turn (see Player.getMove).
      *
-     * @param gameBoard what the pieces are on
+     * @param currentPosition     where the moved piece is
+     * @param destinationPosition where the moved piece goes
+     * @param promotionType       what a promoting Pawn becomes (null for the first promotion, a Queen)
+     * @return the legal move (NULL_MOVE if there is none)
+     */
+    public Move getMove(final int currentPosition, final int destinationPosition, final PieceType promotionType) {
+        final Piece movedPiece = currentPosition >= 0 && currentPosition < TOTAL_TILES ?
+                this.boardPieces[currentPosition] : null;
+        if (movedPiece == null) {
+            return Move.NULL_MOVE;
+        }
+        final Player player = movedPiece.getPieceAlliance().isWhite() ? this.whitePlayer : this.blackPlayer;
+        return player.getMove(currentPosition, destinationPosition, promotionType);
+    }
+
+    /**
      * @param alliance  White/Black
-     * @return a Collection of all active pieces for White/Black
-     */
-    private static Collection<Piece> CalculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
-        final List<Piece> activePieces = new ArrayList<>();
-        // Iterate through each tile to find all the active pieces
-        for (final Tile currentTile : gameBoard) {
-            // Determine if the current tile is occupied
-            if (currentTile.isTileOccupied()) {
-                // Determine the piece on the occupied tile
-                final Piece pieceOnTile = currentTile.getPiece();
-                // Determine if the piece is the player's
-                if (alliance == pieceOnTile.getPieceAlliance()) {
-                    // Add the piece to the list if the alliances are the same
-                    activePieces.add(pieceOnTile);
-                }
-            }
+     * @param pieceType what the piece is
+     * @return a bitboard with every tile holding that kind of piece
+     */
+    public long getPieceBitBoard(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBitBoards[BitBoardIndex(alliance, pieceType)];
+    }
+
+    /**
+     * @param alliance White/Black
+     * @return a bitboard with every tile occupied by the alliance's pieces
+     */
+    public long getAllianceOccupancy(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    /**
+     * @return a bitboard with every occupied tile
+     */
+    public long getOccupancy() {
+        return this.allOccupancy;
+    }
+
+    /**
+     * Determines whether a tile is attacked without generating any moves.
+     *
+     * @param tilePosition where the tile is on the board
+     * @param alliance     the attacking alliance
+     * @return whether any piece of the alliance attacks the tile
+     */
+    public boolean isTileAttacked(final int tilePosition, final Alliance alliance) {
+        return IsTileAttacked(tilePosition, alliance, this.pieceBitBoards, this.allOccupancy);
+    }
+
+    /**
+     * @return the Pawn that made a two-tile advance in the prior move (null if there is none)
+     */
+    public Pawn getEnPassantPawn() {
+        final int enPassantFile = EnPassantFile(this.gameState);
+        if (enPassantFile == NO_EN_PASSANT_FILE) {
+            return null;
         }
+        // The Pawn belongs to the player who just moved, so it stands on the fourth rank from that player's side
+        final int pawnRank = this.currentPlayer.getAlliance().isWhite() ? 3 : 4;
+        return (Pawn) this.boardPieces[pawnRank * TILES_PER_RANK + enPassantFile];
+    }
+
+    /**
+     * @return the castling availability as WHITE_KING_SIDE/WHITE_QUEEN_SIDE/BLACK_KING_SIDE/BLACK_QUEEN_SIDE bits
+     */
+    public int getCastlingRights() {
+        return CastlingRights(this.gameState);
+    }
+
+    /**
+     * @return the castling availability, En Passant file, half-move clock and full-move number (see GameState)
+     */
+    public int getGameState() {
+        return this.gameState;
+    }
+
+    /**
+     * @return how many plies were played since the last capture or Pawn move
+     */
+    public int getHalfMoveClock() {
+        return HalfMoveClock(this.gameState);
+    }
 
-        return ImmutableList.copyOf(activePieces);
+    /**
+     * @return the number of the current full move (starting at 1)
+     */
+    public int getFullMoveNumber() {
+        return FullMoveNumber(this.gameState);
+    }
+
+    /**
+     * @return whether a draw can be claimed by the fifty-move rule
+     */
+    public boolean isFiftyMoveDraw() {
+        return IsFiftyMoveDraw(this.gameState);
+    }
+
+    /**
+     * @return the Zobrist key of the position (pieces, move maker, castling availability and En Passant file)
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
     }
 
     /**
-     * Determines which moves are currently legal.
+     * Appends every piece's legal moves for White or Black (without castles) to a single list,
+     * so the moves are collected once instead of being copied piece by piece.
      *
-     * @param activePieces the player's active pieces
-     * @return a Collection of legal moves for a player
+     * @param alliance   White/Black
+     * @param legalMoves where the player's standard legal moves are added
      */
-    private Collection<Move> CalculateLegalMoves(final Collection<Piece> activePieces) {
-        final List<Move> legalMoves = new ArrayList<>();
+    public void calculateStandardLegalMoves(final Alliance alliance, final List<Move> legalMoves) {
         // Iterate through all the active pieces
-        for (final Piece activePiece : activePieces) {
-            // Add that piece's legal moves to the list of every piece's legal moves
-            legalMoves.addAll(activePiece.calculateLegalMoves(this));
+        for (final Piece activePiece : getPlayerActivePieces(alliance)) {
+            // Let that piece add its legal moves to the list of every piece's legal moves
+            activePiece.calculateLegalMoves(this, legalMoves);
         }
-
-        return ImmutableList.copyOf(legalMoves);
     }
 
     /**
-     * @param builder what will create the tiles
+     * @param boardPieces the piece on each tile (null for an empty tile)
      * @return a list with all the tiles (empty and occupied)
      */
-    private static List<Tile> createGameBoard(final Builder builder) {
+    private static List<Tile> createGameBoard(final Piece[] boardPieces) {
         final Tile[] tiles = new Tile[TOTAL_TILES];
 
         // Populate all 64 tiles with either an EmptyTile or OccupiedTile
         for (int i = 0; i < TOTAL_TILES; i++) {
             // Map a piece with its associated tile ID
-            tiles[i] = CreateTile(i, builder.boardConfig.get(i));
+            tiles[i] = CreateTile(i, boardPieces[i]);
         }
 
         return ImmutableList.copyOf(tiles);
@@ -133,7 +268,7 @@ public class Board {
      *
      * @return a chess board with all the pieces in their initial positions
      */
-    public static Board createStandardBoard() {
+    public static Board CreateStandardBoard() {
         final Builder builder = new Builder();
         final int[] whitePiecesIndices = { 56, 57, 58, 59, 60, 61, 62, 63 };
         final int[] whitePawnIndices = { 48, 49, 50, 51, 52, 53, 54, 55 };
@@ -151,6 +286,21 @@ public class Board {
         return builder.build();
     }
 
+    /**
+     * @param fen the position in Forsyth-Edwards Notation (the move clocks may be left out)
+     * @return the board for the position (see FenUtils.ParseFen)
+     */
+    public static Board FromFen(final CharSequence fen) {
+        return FenUtils.ParseFen(fen);
+    }
+
+    /**
+     * @return the board in Forsyth-Edwards Notation
+     */
+    public String toFen() {
+        return FenUtils.CreateFen(this);
+    }
+
     /**
      * @param alliance White/Black
      * @return all the player's active pieces
@@ -167,6 +317,20 @@ public class Board {
         return alliance.isBlack() ? whitePlayer : blackPlayer;
     }
 
+    /**
+     * @return the player with the White pieces
+     */
+    public WhitePlayer getWhitePlayer() {
+        return this.whitePlayer;
+    }
+
+    /**
+     * @return the player with the Black pieces
+     */
+    public BlackPlayer getBlackPlayer() {
+        return this.blackPlayer;
+    }
+
     /**
      * @return whose turn it currently is
      */
@@ -197,14 +361,14 @@ public class Board {
             int[] piecesIndices,
             int[] pawnIndices,
             final Alliance alliance) {
-        builder.setPiece(new Rook(alliance, piecesIndices[0]));
-        builder.setPiece(new Knight(alliance, piecesIndices[1]));
-        builder.setPiece(new Bishop(alliance, piecesIndices[2]));
-        builder.setPiece(new Queen(alliance, piecesIndices[3]));
-        builder.setPiece(new King(alliance, piecesIndices[4]));
-        builder.setPiece(new Bishop(alliance, piecesIndices[5]));
-        builder.setPiece(new Knight(alliance, piecesIndices[6]));
-        builder.setPiece(new Rook(alliance, piecesIndices[7]));
+        builder.setPiece(CreatePiece(PieceType.ROOK, alliance, piecesIndices[0], true));
+        builder.setPiece(CreatePiece(PieceType.KNIGHT, alliance, piecesIndices[1], true));
+        builder.setPiece(CreatePiece(PieceType.BISHOP, alliance, piecesIndices[2], true));
+        builder.setPiece(CreatePiece(PieceType.QUEEN, alliance, piecesIndices[3], true));
+        builder.setPiece(CreatePiece(PieceType.KING, alliance, piecesIndices[4], true));
+        builder.setPiece(CreatePiece(PieceType.BISHOP, alliance, piecesIndices[5], true));
+        builder.setPiece(CreatePiece(PieceType.KNIGHT, alliance, piecesIndices[6], true));
+        builder.setPiece(CreatePiece(PieceType.ROOK, alliance, piecesIndices[7], true));
 
         setPawns(builder, pawnIndices, alliance);
     }
@@ -218,9 +382,42 @@ public class Board {
      */
     private static void setPawns(final Builder builder, final int[] pawnIndices, final Alliance alliance) {
         for (int pawnIndex : pawnIndices) {
-            builder.setPiece(new Pawn(alliance, pawnIndex));
+            builder.setPiece(CreatePiece(PieceType.PAWN, alliance, pawnIndex, true));
         }
     }
+
+    /**
+     * Determines the castling availability from the Kings' and Rooks' first move flags.
+     *
+     * @param boardPieces the piece on each tile (null for an empty tile)
+     * @return the castling availability bits
+     */
+    private static int CalculateCastlingRights(final Piece[] boardPieces) {
+        int castlingRights = 0;
+        if (IsUnmoved(boardPieces[60], WHITE, PieceType.KING)) {
+            castlingRights |= IsUnmoved(boardPieces[63], WHITE, PieceType.ROOK) ? WHITE_KING_SIDE : 0;
+            castlingRights |= IsUnmoved(boardPieces[56], WHITE, PieceType.ROOK) ? WHITE_QUEEN_SIDE : 0;
+        }
+        if (IsUnmoved(boardPieces[4], BLACK, PieceType.KING)) {
+            castlingRights |= IsUnmoved(boardPieces[7], BLACK, PieceType.ROOK) ? BLACK_KING_SIDE : 0;
+            castlingRights |= IsUnmoved(boardPieces[0], BLACK, PieceType.ROOK) ? BLACK_QUEEN_SIDE : 0;
+        }
+
+        return castlingRights;
+    }
+
+    /**
+     * @param piece     the piece on the tile (null for an empty tile)
+     * @param alliance  the piece's alliance
+     * @param pieceType what the piece should be
+     * @return whether the given piece is on the tile and has not moved yet
+     */
+    private static boolean IsUnmoved(final Piece piece, final Alliance alliance, final PieceType pieceType) {
+        return piece != null &&
+               piece.getPieceAlliance() == alliance &&
+               piece.getPieceType() == pieceType &&
+               piece.isFirstMove();
+    }
 //----------------------------------------------------------------------------------------------------------------------
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
@@ -229,27 +426,71 @@ public class Board {
      */
     @Override
     public String toString() {
-        final StringBuilder builder = new StringBuilder();
+        final StringBuilder builder = new StringBuilder(TOTAL_TILES * 3 + TILES_PER_RANK);
         for (int i = 0; i < TOTAL_TILES; i++) {
-            builder.append(String.format("%3s", this.gameBoard.get(i).toString()));
+            // Every tile is three characters wide (the same as the tiles' String versions right aligned)
+            final Piece piece = this.boardPieces[i];
+            final char symbol = piece == null ? '-' : piece.getPieceType().toString().charAt(0);
+            builder.append("  ").append(piece != null && piece.getPieceAlliance().isBlack() ?
+                                                Character.toLowerCase(symbol) : symbol);
             if ((i + 1) % TILES_PER_RANK == 0) {
-                builder.append("\n");
+                builder.append('\n');
             }
         }
 
         return builder.toString();
     }
+
+    /**
+     * Two boards are equal when they hold the same position: the same pieces on the same tiles,
+     * the same move maker, castling availability and En Passant Pawn (the move clocks do not matter).
+     *
+     * @param other the other possible board
+     * @return whether the two objects are the same
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof Board)) {
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+
+        return this.zobristKey == otherBoard.zobristKey &&
+               this.currentPlayer.getAlliance() == otherBoard.currentPlayer.getAlliance() &&
+               IsSamePosition(this.gameState, otherBoard.gameState) &&
+               Arrays.equals(this.pieceBitBoards, otherBoard.pieceBitBoards);
+    }
+
+    /**
+     * @return the Zobrist key folded into an int
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.zobristKey);
+    }
 //######################################################################################################################
 //#################################################### Board Builder ###################################################
 //######################################################################################################################
     /**
      * This subclass will do the actual board construction.
      * It will create an immutable board based off immutable attributes.
+     * The pieces are kept in a tile-indexed array that every board copies, so a builder can be reset and reused.
+     * Moves, FEN parsing and Positions build their boards with the builder of the calling thread (see ForThread).
      */
     public static class Builder {
-        private Map<Integer, Piece> boardConfig;
+        private static final ThreadLocal<Builder> THREAD_BUILDERS = ThreadLocal.withInitial(Builder::new);
+
+        private final Piece[] boardConfig;
         private Alliance nextMoveMaker;
         Pawn enPassantPawn;
+        private int gameState;
+        private boolean gameStateSet;
+        private long zobristKey;
+        private boolean zobristKeySet;
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
@@ -257,11 +498,21 @@ public class Board {
          * Constructor for a Builder object.
          */
         public Builder() {
-            this.boardConfig = new HashMap<>();
+            this.boardConfig = new Piece[TOTAL_TILES];
         }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
+        /**
+         * Hands out the calling thread's builder instead of allocating one for every board (e.g. for every move
+         * made in a search or an import). The builder must be done with (built) before it is asked for again.
+         *
+         * @return the calling thread's builder, reset
+         */
+        public static Builder ForThread() {
+            return THREAD_BUILDERS.get().reset();
+        }
+
         /**
          * @return a new board
          */
@@ -274,7 +525,29 @@ public class Board {
          * @return a Builder with a set piece
          */
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            this.boardConfig[piece.getPiecePosition()] = piece;
+
+            return this;
+        }
+
+        /**
+         * Copies every piece of a board in one go (a move then only has to change the tiles it touches).
+         *
+         * @param board the board whose pieces will be set
+         * @return a Builder with the board's pieces set
+         */
+        public Builder setPieces(final Board board) {
+            System.arraycopy(board.boardPieces, 0, this.boardConfig, 0, TOTAL_TILES);
+
+            return this;
+        }
+
+        /**
+         * @param tilePosition the tile to empty
+         * @return a Builder without a piece on the tile
+         */
+        public Builder removePiece(final int tilePosition) {
+            this.boardConfig[tilePosition] = null;
 
             return this;
         }
@@ -290,10 +563,55 @@ public class Board {
         }
 
         /**
+         * Only used when no game state is set (the castling availability then comes from the pieces' first moves).
+         *
          * @param enPassantPawn the Pawn that made the two-tile advance
          */
         public void setEnPassantPawn(final Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
         }
+
+        /**
+         * Hands the board the game state updated by the move that created it (see GameState).
+         *
+         * @param gameState the packed castling availability, En Passant file and move clocks
+         * @return a Builder with the board's game state determined
+         */
+        public Builder setGameState(final int gameState) {
+            this.gameState = gameState;
+            this.gameStateSet = true;
+
+            return this;
+        }
+
+        /**
+         * Hands the board a key updated by the move that created it, so it does not have to be hashed from scratch.
+         *
+         * @param zobristKey the Zobrist key of the board being built
+         * @return a Builder with the board's key determined
+         */
+        public Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            this.zobristKeySet = true;
+
+            return this;
+        }
+
+        /**
+         * Forgets everything that was set, so the builder can construct another board.
+         *
+         * @return an empty Builder
+         */
+        public Builder reset() {
+            Arrays.fill(this.boardConfig, null);
+            this.nextMoveMaker = null;
+            this.enPassantPawn = null;
+            this.gameState = 0;
+            this.gameStateSet = false;
+            this.zobristKey = 0L;
+            this.zobristKeySet = false;
+
+            return this;
+        }
     }
 }
@@ -0,0 +1,320 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import static com.chess.engine.board.GameState.*;
+import static com.chess.engine.board.Position.*;
+import static com.chess.engine.pieces.Alliance.BLACK;
+import static com.chess.engine.pieces.Alliance.WHITE;
+import static com.chess.engine.pieces.Piece.CreatePiece;
+import static com.chess.engine.utils.Constants.BoardConstants.TILES_PER_RANK;
+import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
+
+/**
+ * This class reads and writes boards in Forsyth-Edwards Notation (FEN).
+ * Both directions walk the characters once with a cursor, so no regex, split or per-tile String is involved.
+ */
+public final class FenUtils {
+    private static final int MAX_FEN_LENGTH = 90;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * A constructor for a FenUtils object (not really).
+     */
+    private FenUtils() {
+        throw new RuntimeException("FenUtils cannot be instantiated!");
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Creates a board from its piece placement, side to move, castling availability, En Passant tile and
+     * (optionally) the move clocks.
+     * Pawns on their starting rank, and Kings and Rooks that may still castle, keep their first move.
+     *
+     * @param fen the position in Forsyth-Edwards Notation
+     * @return the board
+     */
+    public static Board ParseFen(final CharSequence fen) {
+        final Piece[] pieces = new Piece[TOTAL_TILES];
+        final int length = fen.length();
+        int index = SkipSpaces(fen, 0);
+        // Piece placement (from a8 to h1, like the tile positions)
+        int tilePosition = 0;
+        while (index < length && fen.charAt(index) != ' ') {
+            final char symbol = fen.charAt(index++);
+            if (symbol == '/') {
+                if (tilePosition % TILES_PER_RANK != 0) {
+                    throw InvalidFen(fen);
+                }
+            } else if (symbol >= '1' && symbol <= '8') {
+                tilePosition += symbol - '0';
+            } else if (tilePosition < TOTAL_TILES) {
+                pieces[tilePosition] = ParsePiece(symbol, tilePosition, fen);
+                tilePosition++;
+            } else {
+                throw InvalidFen(fen);
+            }
+        }
+        if (tilePosition != TOTAL_TILES) {
+            throw InvalidFen(fen);
+        }
+        // Side to move
+        index = SkipSpaces(fen, index);
+        if (index >= length) {
+            throw InvalidFen(fen);
+        }
+        final Alliance moveMaker = switch (fen.charAt(index++)) {
+            case 'w' -> WHITE;
+            case 'b' -> BLACK;
+            default -> throw InvalidFen(fen);
+        };
+        // Castling availability
+        index = SkipSpaces(fen, index);
+        int castlingRights = 0;
+        while (index < length && fen.charAt(index) != ' ') {
+            castlingRights |= switch (fen.charAt(index++)) {
+                case 'K' -> WHITE_KING_SIDE;
+                case 'Q' -> WHITE_QUEEN_SIDE;
+                case 'k' -> BLACK_KING_SIDE;
+                case 'q' -> BLACK_QUEEN_SIDE;
+                case '-' -> 0;
+                default -> throw InvalidFen(fen);
+            };
+        }
+        castlingRights = KeepCastlingRights(pieces, castlingRights);
+        // En Passant tile
+        index = SkipSpaces(fen, index);
+        int enPassantFile = NO_EN_PASSANT_FILE;
+        if (index < length && fen.charAt(index) != '-') {
+            enPassantFile = fen.charAt(index) - 'a';
+            if (enPassantFile < 0 || enPassantFile >= TILES_PER_RANK) {
+                throw InvalidFen(fen);
+            }
+            index++;
+            // The Pawn that advanced two tiles belongs to the player who is not moving
+            final int pawnPosition = (moveMaker.isWhite() ? 3 : 4) * TILES_PER_RANK + enPassantFile;
+            if (!IsPiece(pieces[pawnPosition], moveMaker.isWhite() ? BLACK : WHITE, PieceType.PAWN)) {
+                enPassantFile = NO_EN_PASSANT_FILE;
+            }
+        }
+        while (index < length && fen.charAt(index) != ' ') {
+            index++;
+        }
+        // Move clocks (often left out)
+        index = SkipSpaces(fen, index);
+        int halfMoveClock = 0;
+        while (index < length && fen.charAt(index) != ' ') {
+            halfMoveClock = (halfMoveClock * 10) + Digit(fen, index++);
+        }
+        index = SkipSpaces(fen, index);
+        int fullMoveNumber = 0;
+        while (index < length && fen.charAt(index) != ' ') {
+            fullMoveNumber = (fullMoveNumber * 10) + Digit(fen, index++);
+        }
+
+        final Board.Builder builder = Board.Builder.ForThread();
+        for (final Piece piece : pieces) {
+            if (piece != null) {
+                builder.setPiece(piece);
+            }
+        }
+        builder.setMoveMaker(moveMaker);
+        builder.setGameState(Encode(castlingRights, enPassantFile, halfMoveClock, Math.max(fullMoveNumber, 1)));
+
+        return builder.build();
+    }
+
+    /**
+     * @param board the board to write
+     * @return the board in Forsyth-Edwards Notation
+     */
+    public static String CreateFen(final Board board) {
+        final StringBuilder fen = new StringBuilder(MAX_FEN_LENGTH);
+        // Piece placement
+        int emptyTiles = 0;
+        for (int i = 0; i < TOTAL_TILES; i++) {
+            final Piece piece = board.getPiece(i);
+            if (piece == null) {
+                emptyTiles++;
+            } else {
+                if (emptyTiles != 0) {
+                    fen.append((char) ('0' + emptyTiles));
+                    emptyTiles = 0;
+                }
+                fen.append(Symbol(piece));
+            }
+            if ((i + 1) % TILES_PER_RANK == 0) {
+                if (emptyTiles != 0) {
+                    fen.append((char) ('0' + emptyTiles));
+                    emptyTiles = 0;
+                }
+                if (i != TOTAL_TILES - 1) {
+                    fen.append('/');
+                }
+            }
+        }
+        // Side to move
+        final boolean whiteToMove = board.getCurrentPlayer().getAlliance().isWhite();
+        fen.append(' ').append(whiteToMove ? 'w' : 'b').append(' ');
+        // Castling availability
+        final int castlingRights = board.getCastlingRights();
+        if (castlingRights == 0) {
+            fen.append('-');
+        } else {
+            AppendIfSet(fen, castlingRights, WHITE_KING_SIDE, 'K');
+            AppendIfSet(fen, castlingRights, WHITE_QUEEN_SIDE, 'Q');
+            AppendIfSet(fen, castlingRights, BLACK_KING_SIDE, 'k');
+            AppendIfSet(fen, castlingRights, BLACK_QUEEN_SIDE, 'q');
+        }
+        // En Passant tile (behind the Pawn that just advanced two tiles)
+        final int enPassantFile = EnPassantFile(board.getGameState());
+        fen.append(' ');
+        if (enPassantFile == NO_EN_PASSANT_FILE) {
+            fen.append('-');
+        } else {
+            fen.append((char) ('a' + enPassantFile)).append(whiteToMove ? '6' : '3');
+        }
+        // Move clocks
+        fen.append(' ').append(board.getHalfMoveClock()).append(' ').append(board.getFullMoveNumber());
+
+        return fen.toString();
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param symbol       the FEN piece letter (upper case for White)
+     * @param tilePosition where the piece is on the board
+     * @param fen          the whole FEN (for the error message)
+     * @return the piece (a Pawn on its starting rank keeps its first move)
+     */
+    private static Piece ParsePiece(final char symbol, final int tilePosition, final CharSequence fen) {
+        final boolean white = symbol < 'a';
+        final PieceType pieceType = switch (white ? (char) (symbol + ('a' - 'A')) : symbol) {
+            case 'p' -> PieceType.PAWN;
+            case 'n' -> PieceType.KNIGHT;
+            case 'b' -> PieceType.BISHOP;
+            case 'r' -> PieceType.ROOK;
+            case 'q' -> PieceType.QUEEN;
+            case 'k' -> PieceType.KING;
+            default -> throw InvalidFen(fen);
+        };
+        final boolean firstMove = pieceType == PieceType.PAWN && tilePosition / TILES_PER_RANK == (white ? 6 : 1);
+        return CreatePiece(pieceType, white ? WHITE : BLACK, tilePosition, firstMove);
+    }
+
+    /**
+     * Gives the Kings and Rooks that may still castle their first move back,
+     * dropping any castle whose King or Rook is not on its starting tile.
+     *
+     * @param pieces         the piece on each tile (updated in place)
+     * @param castlingRights the castling availability bits from the FEN
+     * @return the castling availability bits the pieces allow
+     */
+    private static int KeepCastlingRights(final Piece[] pieces, final int castlingRights) {
+        int castlingRightsKept = 0;
+        castlingRightsKept |= KeepCastle(pieces, castlingRights, WHITE_KING_SIDE, WHITE, 60, 63);
+        castlingRightsKept |= KeepCastle(pieces, castlingRights, WHITE_QUEEN_SIDE, WHITE, 60, 56);
+        castlingRightsKept |= KeepCastle(pieces, castlingRights, BLACK_KING_SIDE, BLACK, 4, 7);
+        castlingRightsKept |= KeepCastle(pieces, castlingRights, BLACK_QUEEN_SIDE, BLACK, 4, 0);
+
+        return castlingRightsKept;
+    }
+
+    /**
+     * @param pieces         the piece on each tile (updated in place)
+     * @param castlingRights the castling availability bits from the FEN
+     * @param castle         the castle's bit
+     * @param alliance       the castling player
+     * @param kingPosition   where the King starts
+     * @param rookPosition   where the castle's Rook starts
+     * @return the castle's bit if the castle is kept (0 otherwise)
+     */
+    private static int KeepCastle(final Piece[] pieces,
+                                  final int castlingRights,
+                                  final int castle,
+                                  final Alliance alliance,
+                                  final int kingPosition,
+                                  final int rookPosition) {
+        if ((castlingRights & castle) == 0 ||
+            !IsPiece(pieces[kingPosition], alliance, PieceType.KING) ||
+            !IsPiece(pieces[rookPosition], alliance, PieceType.ROOK)) {
+            return 0;
+        }
+        pieces[kingPosition] = CreatePiece(PieceType.KING, alliance, kingPosition, true);
+        pieces[rookPosition] = CreatePiece(PieceType.ROOK, alliance, rookPosition, true);
+
+        return castle;
+    }
+
+    /**
+     * @param piece     the piece on a tile (null for an empty tile)
+     * @param alliance  the piece's alliance
+     * @param pieceType what the piece should be
+     * @return whether the piece is of the alliance and type
+     */
+    private static boolean IsPiece(final Piece piece, final Alliance alliance, final PieceType pieceType) {
+        return piece != null && piece.getPieceAlliance() == alliance && piece.getPieceType() == pieceType;
+    }
+
+    /**
+     * @param piece the piece on the board
+     * @return the FEN piece letter (upper case for White)
+     */
+    private static char Symbol(final Piece piece) {
+        final char symbol = piece.getPieceType().toString().charAt(0);
+        return piece.getPieceAlliance().isWhite() ? symbol : Character.toLowerCase(symbol);
+    }
+
+    /**
+     * @param fen            where the castling availability is written
+     * @param castlingRights the castling availability bits
+     * @param castle         the castle's bit
+     * @param symbol         the castle's FEN letter
+     */
+    private static void AppendIfSet(final StringBuilder fen,
+                                    final int castlingRights,
+                                    final int castle,
+                                    final char symbol) {
+        if ((castlingRights & castle) != 0) {
+            fen.append(symbol);
+        }
+    }
+
+    /**
+     * @param fen   the FEN being read
+     * @param index where to start
+     * @return where the next field starts
+     */
+    private static int SkipSpaces(final CharSequence fen, int index) {
+        while (index < fen.length() && fen.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @param fen   the FEN being read
+     * @param index where the digit is
+     * @return the digit's value
+     */
+    private static int Digit(final CharSequence fen, final int index) {
+        final int digit = fen.charAt(index) - '0';
+        if (digit < 0 || digit > 9) {
+            throw InvalidFen(fen);
+        }
+        return digit;
+    }
+
+    /**
+     * @param fen the FEN that cannot be read
+     * @return the exception to throw
+     */
+    private static RuntimeException InvalidFen(final CharSequence fen) {
+        return new RuntimeException("Invalid FEN: " + fen);
+    }
+}
@@ -0,0 +1,122 @@
+package com.chess.engine.board;
+
+import static com.chess.engine.board.Position.*;
+
+/**
+ * This class packs everything about a position besides its pieces and move maker into a single int,
+ * so a board carries (and copies) it as one value and every move only has to update that value.
+ * Bits 0-3 hold the castling availability (see Position.WHITE_KING_SIDE etc.), bits 4-7 the En Passant file plus one
+ * (0 if no Pawn can be captured En Passant), bits 8-15 the half-move clock (plies since the last capture or
+ * Pawn move, capped at 255) and bits 16-31 the full-move number.
+ */
+public final class GameState {
+    public static final int NO_EN_PASSANT_FILE = -1;
+    public static final int ALL_CASTLING_RIGHTS =
+            WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+    public static final int INITIAL_STATE = Encode(ALL_CASTLING_RIGHTS, NO_EN_PASSANT_FILE, 0, 1);
+
+    private static final int CASTLING_MASK = 0xF;
+    private static final int EN_PASSANT_MASK = 0xF;
+    private static final int CLOCK_MASK = 0xFF;
+    private static final int MOVE_NUMBER_MASK = 0xFFFF;
+    private static final int POSITION_MASK = 0xFF;
+    private static final int FIFTY_MOVE_PLIES = 100;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * A constructor for a GameState object (not really).
+     */
+    private GameState() {
+        throw new RuntimeException("GameState cannot be instantiated!");
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param castlingRights the castling availability bits
+     * @param enPassantFile  the file of the Pawn that can be captured En Passant (NO_EN_PASSANT_FILE if there is none)
+     * @param halfMoveClock  how many plies were played since the last capture or Pawn move
+     * @param fullMoveNumber the number of the current full move (starting at 1)
+     * @return the packed game state
+     */
+    public static int Encode(final int castlingRights,
+                             final int enPassantFile,
+                             final int halfMoveClock,
+                             final int fullMoveNumber) {
+        return (castlingRights & CASTLING_MASK) |
+               ((enPassantFile + 1) << 4) |
+               (Math.min(halfMoveClock, CLOCK_MASK) << 8) |
+               ((fullMoveNumber & MOVE_NUMBER_MASK) << 16);
+    }
+
+    /**
+     * Works out the game state after a move.
+     *
+     * @param gameState          the packed game state before the move
+     * @param castlingRightsKept the castling availability bits the move does not take away
+     * @param enPassantFile      the file of the Pawn the move advanced two tiles (NO_EN_PASSANT_FILE otherwise)
+     * @param resetsClock        whether the move captures a piece or moves a Pawn
+     * @param blackMoved         whether Black made the move (which finishes a full move)
+     * @return the packed game state after the move
+     */
+    public static int NextState(final int gameState,
+                                final int castlingRightsKept,
+                                final int enPassantFile,
+                                final boolean resetsClock,
+                                final boolean blackMoved) {
+        return Encode(CastlingRights(gameState) & castlingRightsKept,
+                      enPassantFile,
+                      resetsClock ? 0 : HalfMoveClock(gameState) + 1,
+                      FullMoveNumber(gameState) + (blackMoved ? 1 : 0));
+    }
+
+    /**
+     * @param gameState the packed game state
+     * @return the castling availability bits
+     */
+    public static int CastlingRights(final int gameState) {
+        return gameState & CASTLING_MASK;
+    }
+
+    /**
+     * @param gameState the packed game state
+     * @return the file of the Pawn that can be captured En Passant (NO_EN_PASSANT_FILE if there is none)
+     */
+    public static int EnPassantFile(final int gameState) {
+        return ((gameState >>> 4) & EN_PASSANT_MASK) - 1;
+    }
+
+    /**
+     * @param gameState the packed game state
+     * @return how many plies were played since the last capture or Pawn move
+     */
+    public static int HalfMoveClock(final int gameState) {
+        return (gameState >>> 8) & CLOCK_MASK;
+    }
+
+    /**
+     * @param gameState the packed game state
+     * @return the number of the current full move
+     */
+    public static int FullMoveNumber(final int gameState) {
+        return (gameState >>> 16) & MOVE_NUMBER_MASK;
+    }
+
+    /**
+     * @param gameState the packed game state
+     * @return whether a draw can be claimed by the fifty-move rule
+     */
+    public static boolean IsFiftyMoveDraw(final int gameState) {
+        return HalfMoveClock(gameState) >= FIFTY_MOVE_PLIES;
+    }
+
+    /**
+     * @param gameState      the packed game state
+     * @param otherGameState another packed game state
+     * @return whether both states allow the same moves (the castling availability and En Passant file match)
+     */
+    public static boolean IsSamePosition(final int gameState, final int otherGameState) {
+        return ((gameState ^ otherGameState) & POSITION_MASK) == 0;
+    }
+}
@@ -0,0 +1,229 @@
+package com.chess.engine.board;
+
+import static com.chess.engine.board.BitBoardUtils.*;
+import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
+
+/**
+ * This class looks up Rook and Bishop attacks with magic bitboards.
+ * For every tile, the occupied tiles that can block the piece (its mask) are multiplied by a magic number,
+ * which gathers them into the top bits of the product; shifting those down gives the index of the attack set
+ * in a table built once when the class is loaded.
+ * The magic numbers were found by trying sparse random numbers until one left no two blocker combinations
+ * with different attacks on the same index; building the tables checks that this still holds.
+ */
+public final class MagicBitBoards {
+    private static final int[] ROOK_OFFSETS = { -8, 8, -1, 1 };
+    private static final long[] ROOK_ALLOWED_TILES = { ~0L, ~0L, ~EIGHTH_FILE, ~FIRST_FILE };
+    private static final int[] BISHOP_OFFSETS = { -7, -9, 7, 9 };
+    private static final long[] BISHOP_ALLOWED_TILES = { ~FIRST_FILE, ~EIGHTH_FILE, ~EIGHTH_FILE, ~FIRST_FILE };
+
+    private static final long[] ROOK_MAGICS = {
+            0x02800022C0005084L, 0x0840001000402005L, 0x0100084020001104L, 0x0480100080040801L,
+            0x0200040200102008L, 0x0500084100020400L, 0x1080010000800200L, 0x008003450000B080L,
+            0x00A0802040008000L, 0x4400400050002000L, 0x002080100080200AL, 0x0029002010010008L,
+            0x0050800400800801L, 0x4104808004000200L, 0x3842000812004184L, 0x0801001080610002L,
+            0x2240048000804020L, 0x0400404010002000L, 0x0000808020001002L, 0xC000808010000800L,
+            0xA021030010080024L, 0x4801808002010400L, 0x0800EC00080ACB10L, 0x1001020000843049L,
+            0x4001004200220081L, 0x2200200040005000L, 0x0210419100200300L, 0x0010100080080080L,
+            0x4204000480080080L, 0x1204010040020040L, 0x041C080400B10230L, 0x000020920005044CL,
+            0x0022304001800080L, 0x0000201000404000L, 0x8000801000802000L, 0x0000801000800800L,
+            0x0000800800800400L, 0x4000800400800200L, 0x0006000102000408L, 0x820500A042000904L,
+            0x0200400080008029L, 0x4600500020034000L, 0x0030040028002002L, 0x0010010800818010L,
+            0x0841003008030004L, 0x0081004400090002L, 0x1500881081040002L, 0x1004004084020001L,
+            0x4009002048800100L, 0x0000410082002200L, 0x0010804602201200L, 0x0106484200D12200L,
+            0x0204000608008080L, 0x0441041020400801L, 0x1610080142100400L, 0x2888004100941200L,
+            0x4901001820800041L, 0x8082010018402082L, 0x20009020000B0141L, 0x8210201001000905L,
+            0x2002016004504802L, 0x041A000410080102L, 0x0000900088010204L, 0x4020102084010052L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x104550008A0C0040L, 0x1404840802182000L, 0x091000808108C000L, 0x000C241C80888A84L,
+            0x261110C104000000L, 0x0045246020030689L, 0x1002280108081002L, 0x4000202802101000L,
+            0x0080082001220210L, 0x8001100256040032L, 0x008004240C044800L, 0x0001108902020020L,
+            0x0280040308002010L, 0x40010504A01C8011L, 0x2084004402201000L, 0x0841148041101000L,
+            0x0004204049020400L, 0x2604801004208400L, 0x0208040110440081L, 0x2034000201220000L,
+            0x8104000220A00000L, 0x0484420200500440L, 0x0004024041080800L, 0x0000A04092080640L,
+            0x0002400050101200L, 0x0108021020840100L, 0x0228880010504400L, 0x1021080015004101L,
+            0x1001080481004000L, 0x001000200B041100L, 0x4014204000825010L, 0x0C48810000804809L,
+            0x4030080808220200L, 0x00A4014418C91000L, 0x0000202800140804L, 0x0000202021080080L,
+            0x0010048200002200L, 0x0080880041020106L, 0x800A848206940600L, 0x2408020028004110L,
+            0x0080880841050803L, 0x2022021004010280L, 0x1092001044000800L, 0x0040404010400200L,
+            0x01A0200208880400L, 0x0004010841004A02L, 0x0020040110440200L, 0x0010020081049821L,
+            0x9040480844900A80L, 0x1004908090101000L, 0x0012408048080000L, 0x0001009020882003L,
+            0x00042212620200C0L, 0x00048408104100E4L, 0x1044081801140180L, 0x0490100230624010L,
+            0x0401008044024000L, 0x6000208048480400L, 0x4812890042080440L, 0x0800024001040902L,
+            0x0000128010020210L, 0x8208004003041100L, 0x2002401002820040L, 0x0030540120440502L
+    };
+
+    private static final long[] ROOK_MASKS = new long[TOTAL_TILES];
+    private static final int[] ROOK_SHIFTS = new int[TOTAL_TILES];
+    private static final int[] ROOK_TABLE_OFFSETS = new int[TOTAL_TILES];
+    private static final long[] ROOK_TABLE = initTable(ROOK_OFFSETS, ROOK_ALLOWED_TILES,
+                                                       ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_TABLE_OFFSETS);
+    private static final long[] BISHOP_MASKS = new long[TOTAL_TILES];
+    private static final int[] BISHOP_SHIFTS = new int[TOTAL_TILES];
+    private static final int[] BISHOP_TABLE_OFFSETS = new int[TOTAL_TILES];
+    private static final long[] BISHOP_TABLE = initTable(BISHOP_OFFSETS, BISHOP_ALLOWED_TILES,
+                                                         BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS,
+                                                         BISHOP_TABLE_OFFSETS);
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * A constructor for a MagicBitBoards object (not really).
+     */
+    private MagicBitBoards() {
+        throw new RuntimeException("MagicBitBoards cannot be instantiated!");
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param tilePosition where the Rook (or Queen) is
+     * @param occupancy    every occupied tile on the board
+     * @return every tile the piece attacks along ranks and files, including the first blocker on each line
+     */
+    public static long RookAttacks(final int tilePosition, final long occupancy) {
+        return ROOK_TABLE[ROOK_TABLE_OFFSETS[tilePosition] +
+                          (int) (((occupancy & ROOK_MASKS[tilePosition]) * ROOK_MAGICS[tilePosition]) >>>
+                                 ROOK_SHIFTS[tilePosition])];
+    }
+
+    /**
+     * @param tilePosition where the Bishop (or Queen) is
+     * @param occupancy    every occupied tile on the board
+     * @return every tile the piece attacks diagonally, including the first blocker on each diagonal
+     */
+    public static long BishopAttacks(final int tilePosition, final long occupancy) {
+        return BISHOP_TABLE[BISHOP_TABLE_OFFSETS[tilePosition] +
+                            (int) (((occupancy & BISHOP_MASKS[tilePosition]) * BISHOP_MAGICS[tilePosition]) >>>
+                                   BISHOP_SHIFTS[tilePosition])];
+    }
+
+    /**
+     * Walks the Rook rays tile by tile (the slow way the tables are built from).
+     *
+     * @param tilePosition where the Rook (or Queen) is
+     * @param occupancy    every occupied tile on the board
+     * @return every tile the piece attacks along ranks and files, including the first blocker on each line
+     */
+    public static long RookRayAttacks(final int tilePosition, final long occupancy) {
+        return RayAttacks(tilePosition, occupancy, ROOK_OFFSETS, ROOK_ALLOWED_TILES);
+    }
+
+    /**
+     * Walks the Bishop rays tile by tile (the slow way the tables are built from).
+     *
+     * @param tilePosition where the Bishop (or Queen) is
+     * @param occupancy    every occupied tile on the board
+     * @return every tile the piece attacks diagonally, including the first blocker on each diagonal
+     */
+    public static long BishopRayAttacks(final int tilePosition, final long occupancy) {
+        return RayAttacks(tilePosition, occupancy, BISHOP_OFFSETS, BISHOP_ALLOWED_TILES);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param tilePosition where the piece is
+     * @param occupancy    every occupied tile on the board
+     * @param offsets      the piece's ray offsets
+     * @param allowedTiles for each offset, the tiles the ray can reach without wrapping around a file edge
+     * @return every tile on the piece's rays
+     */
+    private static long RayAttacks(final int tilePosition,
+                                   final long occupancy,
+                                   final int[] offsets,
+                                   final long[] allowedTiles) {
+        long attacks = 0L;
+        for (int i = 0; i < offsets.length; i++) {
+            attacks |= Slide(TileMask(tilePosition), occupancy, offsets[i], allowedTiles[i]);
+        }
+
+        return attacks;
+    }
+
+    /**
+     * Walks a ray from a tile until it leaves the board or hits an occupied tile.
+     *
+     * @param tile         a bitboard with the starting tile set
+     * @param occupancy    every occupied tile on the board
+     * @param offset       the ray's offset
+     * @param allowedTiles the tiles the ray can reach without wrapping around a file edge
+     * @return every tile on the ray
+     */
+    private static long Slide(long tile, final long occupancy, final int offset, final long allowedTiles) {
+        long attacks = 0L;
+        do {
+            tile = (offset > 0 ? tile << offset : tile >>> -offset) & allowedTiles;
+            attacks |= tile;
+        } while (tile != 0L && (tile & occupancy) == 0L);
+
+        return attacks;
+    }
+
+    /**
+     * Determines the tiles that can block a piece: its rays on an empty board without the last tile of each ray
+     * (a piece on the edge of the board never blocks anything behind it).
+     *
+     * @param tilePosition where the piece is
+     * @param offsets      the piece's ray offsets
+     * @param allowedTiles for each offset, the tiles the ray can reach without wrapping around a file edge
+     * @return the piece's mask
+     */
+    private static long BlockerMask(final int tilePosition, final int[] offsets, final long[] allowedTiles) {
+        long mask = 0L;
+        for (int i = 0; i < offsets.length; i++) {
+            final long ray = Slide(TileMask(tilePosition), 0L, offsets[i], allowedTiles[i]);
+            // The last tile of a ray is the highest one for positive offsets and the lowest one for negative ones
+            mask |= ray & ~(offsets[i] > 0 ? Long.highestOneBit(ray) : Long.lowestOneBit(ray));
+        }
+
+        return mask;
+    }
+
+    /**
+     * Builds the attack table indexed by the magic numbers.
+     *
+     * @param offsets      the piece's ray offsets
+     * @param allowedTiles for each offset, the tiles the ray can reach without wrapping around a file edge
+     * @param masks        filled with each tile's mask
+     * @param magics       each tile's magic number
+     * @param shifts       filled with each tile's shift
+     * @param tableOffsets filled with where each tile's attacks start in the table
+     * @return the attack table of every tile and blocker combination
+     */
+    private static long[] initTable(final int[] offsets,
+                                    final long[] allowedTiles,
+                                    final long[] masks,
+                                    final long[] magics,
+                                    final int[] shifts,
+                                    final int[] tableOffsets) {
+        int tableSize = 0;
+        for (int i = 0; i < TOTAL_TILES; i++) {
+            masks[i] = BlockerMask(i, offsets, allowedTiles);
+            shifts[i] = Long.SIZE - TileCount(masks[i]);
+            tableOffsets[i] = tableSize;
+            tableSize += 1 << TileCount(masks[i]);
+        }
+        final long[] table = new long[tableSize];
+        final boolean[] filled = new boolean[tableSize];
+
+        for (int i = 0; i < TOTAL_TILES; i++) {
+            // Enumerate every subset of the mask (the carry-rippler trick)
+            long occupancy = 0L;
+            do {
+                final int index = tableOffsets[i] + (int) ((occupancy * magics[i]) >>> shifts[i]);
+                final long attacks = RayAttacks(i, occupancy, offsets, allowedTiles);
+                // Two blocker combinations may share an index only if they have the same attacks
+                if (filled[index] && table[index] != attacks) {
+                    throw new RuntimeException("The magic number of tile " + i + " does not work!");
+                }
+                table[index] = attacks;
+                filled[index] = true;
+                occupancy = (occupancy - masks[i]) & masks[i];
+            } while (occupancy != 0L);
+        }
+
+        return table;
+    }
+}
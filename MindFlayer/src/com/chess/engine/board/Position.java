@@ -0,0 +1,797 @@
+package com.chess.engine.board;
+
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.misc.MoveList;
+import com.chess.engine.pieces.*;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.BitBoardUtils.*;
+import static com.chess.engine.board.GameState.EnPassantFile;
+import static com.chess.engine.board.GameState.NO_EN_PASSANT_FILE;
+import static com.chess.engine.board.Zobrist.*;
+import static com.chess.engine.evaluation.PieceSquareTables.MaterialScore;
+import static com.chess.engine.evaluation.PieceSquareTables.PositionalScore;
+import static com.chess.engine.moves.misc.PackedMove.*;
+import static com.chess.engine.pieces.Alliance.BLACK;
+import static com.chess.engine.pieces.Alliance.WHITE;
+import static com.chess.engine.pieces.Piece.CreatePiece;
+import static com.chess.engine.utils.Constants.BitBoardConstants.*;
+import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
+
+/**
+ * This class represents a mutable chess position used for searching.
+ * Unlike Board, a Position is changed in place with makeMove and restored with unmakeMove,
+ * so walking the game tree does not create a new board (or any object) per move.
+ * Moves are passed around as packed ints (see PackedMove) and generated into a reusable MoveList.
+ */
+public final class Position {
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+    public static final int NO_EN_PASSANT = -1;
+    public static final int MAX_MOVES = 256;
+
+    private static final int EMPTY = NO_PIECE;
+    private static final int WHITE_INDEX = 0;
+    private static final int BLACK_INDEX = 1;
+    private static final Alliance[] ALLIANCES = { WHITE, BLACK };
+    private static final PieceType[] PIECE_TYPES_BY_INDEX = PieceType.values();
+    private static final PieceType[] PROMOTION_TYPES = {
+            PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN };
+    private static final int[] CASTLING_RIGHTS_KEPT = initCastlingRightsKept();
+
+    private final long[] pieceBitBoards;
+    private final long[] allianceOccupancy;
+    private final int[] tilePieces;
+    private final long[] pinRays;
+    private int moveMaker;
+    private int castlingRights;
+    private int enPassantPosition;
+    private int materialScore;
+    private int positionalScore;
+    private long zobristKey;
+
+    // Undo stack
+    private int[] playedMoves;
+    private int[] previousStates;
+    private int ply;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a Position object.
+     * Copies the pieces, the move maker, castling availability and the En Passant Pawn from the board.
+     *
+     * @param board the board to copy
+     */
+    public Position(final Board board) {
+        this(board, board.getCurrentPlayer().getAlliance());
+    }
+
+    /**
+     * Constructor for a Position object where the given alliance is the move maker.
+     * The En Passant Pawn is only copied if it can be captured by the move maker.
+     *
+     * @param board     the board to copy
+     * @param moveMaker whose turn it is in the position
+     */
+    public Position(final Board board, final Alliance moveMaker) {
+        this.pieceBitBoards = new long[TOTAL_BITBOARDS];
+        this.allianceOccupancy = new long[2];
+        this.tilePieces = new int[TOTAL_TILES];
+        this.pinRays = new long[TOTAL_TILES];
+        this.playedMoves = new int[MAX_MOVES];
+        this.previousStates = new int[MAX_MOVES];
+        Arrays.fill(this.tilePieces, EMPTY);
+
+        for (int i = 0; i < TOTAL_TILES; i++) {
+            final Piece piece = board.getPiece(i);
+            if (piece != null) {
+                putPiece(i, BitBoardIndex(piece.getPieceAlliance(), piece.getPieceType()));
+            }
+        }
+        this.moveMaker = moveMaker.ordinal();
+        this.castlingRights = board.getCastlingRights();
+        // The En Passant Pawn belongs to the board's last move maker, so only the board's move maker can capture it
+        final int enPassantFile = EnPassantFile(board.getGameState());
+        this.enPassantPosition =
+                enPassantFile == NO_EN_PASSANT_FILE || moveMaker != board.getCurrentPlayer().getAlliance() ?
+                NO_EN_PASSANT :
+                (moveMaker.isWhite() ? 2 : 5) * 8 + enPassantFile;
+        // The piece keys were added by putPiece
+        this.zobristKey ^= (moveMaker.isBlack() ? BLACK_TO_MOVE_KEY : 0L) ^
+                           CastlingKey(this.castlingRights) ^
+                           EnPassantKey(this.enPassantPosition);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Plays a move on this position (mutating it!).
+     * The move is not checked for legality; use wasLastMoveLegal afterwards for pseudo-legal moves.
+     *
+     * @param move the packed move to make
+     */
+    public void makeMove(final int move) {
+        final int currentPosition = CurrentPosition(move);
+        final int destinationPosition = DestinationPosition(move);
+        final int flag = Flag(move);
+        final int movedPiece = this.tilePieces[currentPosition];
+        int attackedPiece = EMPTY;
+
+        // Make room on the undo stack
+        if (this.ply == this.playedMoves.length) {
+            this.playedMoves = Arrays.copyOf(this.playedMoves, this.ply * 2);
+            this.previousStates = Arrays.copyOf(this.previousStates, this.ply * 2);
+        }
+        // Remove the attacked piece
+        if (flag == EN_PASSANT) {
+            final int attackedPosition = destinationPosition + (this.moveMaker == WHITE_INDEX ? 8 : -8);
+            attackedPiece = this.tilePieces[attackedPosition];
+            removePiece(attackedPosition);
+        } else if (IsAttack(move)) {
+            attackedPiece = this.tilePieces[destinationPosition];
+            removePiece(destinationPosition);
+        }
+        // Remember everything the move cannot reconstruct on its own
+        this.playedMoves[this.ply] = move;
+        this.previousStates[this.ply] = PackState(attackedPiece, this.castlingRights, this.enPassantPosition);
+        this.ply++;
+        // Move the piece (promoting it if needed)
+        removePiece(currentPosition);
+        putPiece(destinationPosition, IsPromotion(move) ? promotedPiece(flag) : movedPiece);
+        // Move the castle Rook
+        if (flag == KING_SIDE_CASTLE) {
+            movePiece(currentPosition + 3, currentPosition + 1);
+        } else if (flag == QUEEN_SIDE_CASTLE) {
+            movePiece(currentPosition - 4, currentPosition - 1);
+        }
+
+        this.zobristKey ^= EnPassantKey(this.enPassantPosition) ^ CastlingKey(this.castlingRights);
+        this.enPassantPosition = flag == PAWN_JUMP ? (currentPosition + destinationPosition) / 2 : NO_EN_PASSANT;
+        this.castlingRights &= CASTLING_RIGHTS_KEPT[currentPosition] & CASTLING_RIGHTS_KEPT[destinationPosition];
+        this.zobristKey ^= EnPassantKey(this.enPassantPosition) ^ CastlingKey(this.castlingRights) ^ BLACK_TO_MOVE_KEY;
+        this.moveMaker ^= 1;
+    }
+
+    /**
+     * Plays a move generated by a Board on this position (mutating it!).
+     *
+     * @param move the move to make
+     */
+    public void makeMove(final Move move) {
+        makeMove(move.encode());
+    }
+
+    /**
+     * Takes back the last move made on this position.
+     */
+    public void unmakeMove() {
+        this.ply--;
+        final int move = this.playedMoves[this.ply];
+        final int state = this.previousStates[this.ply];
+        final int currentPosition = CurrentPosition(move);
+        final int destinationPosition = DestinationPosition(move);
+        final int flag = Flag(move);
+
+        this.moveMaker ^= 1;
+        this.zobristKey ^= EnPassantKey(this.enPassantPosition) ^ CastlingKey(this.castlingRights) ^ BLACK_TO_MOVE_KEY;
+        this.castlingRights = StateCastlingRights(state);
+        this.enPassantPosition = StateEnPassantPosition(state);
+        this.zobristKey ^= EnPassantKey(this.enPassantPosition) ^ CastlingKey(this.castlingRights);
+        // Move the castle Rook back
+        if (flag == KING_SIDE_CASTLE) {
+            movePiece(currentPosition + 1, currentPosition + 3);
+        } else if (flag == QUEEN_SIDE_CASTLE) {
+            movePiece(currentPosition - 1, currentPosition - 4);
+        }
+        // Move the piece back (demoting it if needed)
+        final int movedPiece = IsPromotion(move) ?
+                BitBoardIndex(ALLIANCES[this.moveMaker], PieceType.PAWN) : this.tilePieces[destinationPosition];
+        removePiece(destinationPosition);
+        putPiece(currentPosition, movedPiece);
+        // Put the attacked piece back
+        final int attackedPiece = StateAttackedPiece(state);
+        if (attackedPiece != EMPTY) {
+            putPiece(flag == EN_PASSANT ?
+                     destinationPosition + (this.moveMaker == WHITE_INDEX ? 8 : -8) :
+                     destinationPosition, attackedPiece);
+        }
+    }
+
+    /**
+     * Generates every pseudo-legal move for the move maker (moves that may leave the King in check).
+     *
+     * @param moves where the packed moves are written (emptied first)
+     */
+    public void generatePseudoLegalMoves(final MoveList moves) {
+        final Alliance alliance = ALLIANCES[this.moveMaker];
+        final long friendlyTiles = this.allianceOccupancy[this.moveMaker];
+        final long opponentTiles = this.allianceOccupancy[this.moveMaker ^ 1];
+        final long occupancy = friendlyTiles | opponentTiles;
+        moves.clear();
+        generatePawnMoves(moves, alliance, opponentTiles, occupancy, ~0L, 0L, false);
+
+        long knights = this.pieceBitBoards[BitBoardIndex(alliance, PieceType.KNIGHT)];
+        while (knights != 0L) {
+            final int position = FirstTile(knights);
+            addMoves(moves, position, KnightTargets(position) & ~friendlyTiles, opponentTiles);
+            knights &= knights - 1;
+        }
+        long diagonalSliders = this.pieceBitBoards[BitBoardIndex(alliance, PieceType.BISHOP)] |
+                               this.pieceBitBoards[BitBoardIndex(alliance, PieceType.QUEEN)];
+        while (diagonalSliders != 0L) {
+            final int position = FirstTile(diagonalSliders);
+            addMoves(moves, position, BishopAttacks(position, occupancy) & ~friendlyTiles, opponentTiles);
+            diagonalSliders &= diagonalSliders - 1;
+        }
+        long straightSliders = this.pieceBitBoards[BitBoardIndex(alliance, PieceType.ROOK)] |
+                               this.pieceBitBoards[BitBoardIndex(alliance, PieceType.QUEEN)];
+        while (straightSliders != 0L) {
+            final int position = FirstTile(straightSliders);
+            addMoves(moves, position, RookAttacks(position, occupancy) & ~friendlyTiles, opponentTiles);
+            straightSliders &= straightSliders - 1;
+        }
+        final long king = this.pieceBitBoards[BitBoardIndex(alliance, PieceType.KING)];
+        if (king != 0L) {
+            final int position = FirstTile(king);
+            addMoves(moves, position, KingTargets(position) & ~friendlyTiles, opponentTiles);
+            generateCastles(moves, position, occupancy);
+        }
+    }
+
+    /**
+     * Generates every legal move for the move maker in a single pass.
+     * Pieces pinned to their King only move along the pin, and while the King is in check the other pieces
+     * may only capture the checking piece or block its line, so no move has to be made to test it.
+     *
+     * @param moves where the packed moves are written (emptied first)
+     */
+    public void generateLegalMoves(final MoveList moves) {
+        final Alliance alliance = ALLIANCES[this.moveMaker];
+        final Alliance opponent = ALLIANCES[this.moveMaker ^ 1];
+        final long friendlyTiles = this.allianceOccupancy[this.moveMaker];
+        final long opponentTiles = this.allianceOccupancy[this.moveMaker ^ 1];
+        final long occupancy = friendlyTiles | opponentTiles;
+        final long king = this.pieceBitBoards[BitBoardIndex(alliance, PieceType.KING)];
+        final int kingPosition = FirstTile(king);
+        final long checkers = AttackersOf(kingPosition, opponent, this.pieceBitBoards, occupancy);
+        moves.clear();
+
+        // The King cannot step onto an attacked tile (sliding pieces still see through the tile it leaves)
+        long kingDestinations = KingTargets(kingPosition) & ~friendlyTiles;
+        while (kingDestinations != 0L) {
+            final int destinationPosition = FirstTile(kingDestinations);
+            if (!IsTileAttacked(destinationPosition, opponent, this.pieceBitBoards, occupancy ^ king)) {
+                addMove(moves, kingPosition, destinationPosition, opponentTiles);
+            }
+            kingDestinations &= kingDestinations - 1;
+        }
+        // Only the King can escape a double check
+        if (TileCount(checkers) > 1) {
+            return;
+        }
+        // Every other piece has to capture the checking piece or block its line
+        final long checkMask = checkers == 0L ? ~0L : checkers | TilesBetween(kingPosition, FirstTile(checkers));
+        final long pinned = calculatePins(kingPosition, opponent, friendlyTiles, opponentTiles, occupancy);
+
+        generatePawnMoves(moves, alliance, opponentTiles, occupancy, checkMask, pinned, true);
+        // A pinned Knight can never move
+        long knights = this.pieceBitBoards[BitBoardIndex(alliance, PieceType.KNIGHT)] & ~pinned;
+        while (knights != 0L) {
+            final int position = FirstTile(knights);
+            addMoves(moves, position, KnightTargets(position) & ~friendlyTiles & checkMask, opponentTiles);
+            knights &= knights - 1;
+        }
+        long diagonalSliders = this.pieceBitBoards[BitBoardIndex(alliance, PieceType.BISHOP)] |
+                               this.pieceBitBoards[BitBoardIndex(alliance, PieceType.QUEEN)];
+        while (diagonalSliders != 0L) {
+            final int position = FirstTile(diagonalSliders);
+            addMoves(moves,
+                     position,
+                     BishopAttacks(position, occupancy) & ~friendlyTiles & checkMask & pinMask(position, pinned),
+                     opponentTiles);
+            diagonalSliders &= diagonalSliders - 1;
+        }
+        long straightSliders = this.pieceBitBoards[BitBoardIndex(alliance, PieceType.ROOK)] |
+                               this.pieceBitBoards[BitBoardIndex(alliance, PieceType.QUEEN)];
+        while (straightSliders != 0L) {
+            final int position = FirstTile(straightSliders);
+            addMoves(moves,
+                     position,
+                     RookAttacks(position, occupancy) & ~friendlyTiles & checkMask & pinMask(position, pinned),
+                     opponentTiles);
+            straightSliders &= straightSliders - 1;
+        }
+        if (checkers == 0L) {
+            generateCastles(moves, kingPosition, occupancy);
+        }
+    }
+
+    /**
+     * @return whether the move maker has at least one legal move
+     */
+    public boolean hasLegalMoves() {
+        final MoveList moves = new MoveList();
+        generateLegalMoves(moves);
+        return !moves.isEmpty();
+    }
+
+    /**
+     * @param tilePosition where the tile is on the board
+     * @param alliance     the attacking alliance
+     * @return whether any piece of the alliance attacks the tile
+     */
+    public boolean isTileAttacked(final int tilePosition, final Alliance alliance) {
+        return IsTileAttacked(tilePosition, alliance, this.pieceBitBoards, getOccupancy());
+    }
+
+    /**
+     * @return whether the move maker's King is in check
+     */
+    public boolean isInCheck() {
+        return isKingAttacked(this.moveMaker);
+    }
+
+    /**
+     * @return whether the last move made did not leave its own King in check
+     */
+    public boolean wasLastMoveLegal() {
+        return !isKingAttacked(this.moveMaker ^ 1);
+    }
+
+    /**
+     * @return a new immutable board with the same pieces, move maker, castling availability and En Passant Pawn
+     */
+    public Board toBoard() {
+        final Board.Builder builder = Board.Builder.ForThread();
+        for (int i = 0; i < TOTAL_TILES; i++) {
+            if (this.tilePieces[i] != EMPTY) {
+                builder.setPiece(createPiece(this.tilePieces[i], i));
+            }
+        }
+        builder.setMoveMaker(ALLIANCES[this.moveMaker]);
+        // A Position does not keep the move clocks, so the board starts them over
+        builder.setGameState(GameState.Encode(this.castlingRights,
+                                              this.enPassantPosition == NO_EN_PASSANT ?
+                                                      NO_EN_PASSANT_FILE : this.enPassantPosition % 8,
+                                              0,
+                                              1));
+
+        return builder.build();
+    }
+
+    /**
+     * @return whose turn it currently is
+     */
+    public Alliance getMoveMaker() {
+        return ALLIANCES[this.moveMaker];
+    }
+
+    /**
+     * @param alliance  White/Black
+     * @param pieceType what the piece is
+     * @return a bitboard with every tile holding that kind of piece
+     */
+    public long getPieceBitBoard(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBitBoards[BitBoardIndex(alliance, pieceType)];
+    }
+
+    /**
+     * @param tilePosition where the tile is on the board
+     * @return the type of the piece on the tile (null if the tile is empty)
+     */
+    public PieceType getPieceType(final int tilePosition) {
+        final int piece = this.tilePieces[tilePosition];
+        return piece == EMPTY ? null : PIECE_TYPES_BY_INDEX[piece % PIECE_TYPES];
+    }
+
+    /**
+     * @param alliance White/Black
+     * @return a bitboard with every tile occupied by the alliance's pieces
+     */
+    public long getAllianceOccupancy(final Alliance alliance) {
+        return this.allianceOccupancy[alliance.ordinal()];
+    }
+
+    /**
+     * @return a bitboard with every occupied tile
+     */
+    public long getOccupancy() {
+        return this.allianceOccupancy[WHITE_INDEX] | this.allianceOccupancy[BLACK_INDEX];
+    }
+
+    /**
+     * @return the castling availability as WHITE_KING_SIDE/WHITE_QUEEN_SIDE/BLACK_KING_SIDE/BLACK_QUEEN_SIDE bits
+     */
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /**
+     * @return the tile a Pawn can move to when capturing En Passant (NO_EN_PASSANT if there is none)
+     */
+    public int getEnPassantPosition() {
+        return this.enPassantPosition;
+    }
+
+    /**
+     * @return the material balance from White's point of view (kept up to date by every move)
+     */
+    public int getMaterialScore() {
+        return this.materialScore;
+    }
+
+    /**
+     * @return the piece-square balance from White's point of view (kept up to date by every move)
+     */
+    public int getPositionalScore() {
+        return this.positionalScore;
+    }
+
+    /**
+     * @return the Zobrist key of the position (kept up to date by every move, matches Board.getZobristKey)
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * @return how many moves have been made (and not unmade) on this position
+     */
+    public int getPly() {
+        return this.ply;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Generates the Pawn advances, attacks, En Passant attacks and promotions.
+     *
+     * @param moves            where the packed moves are written
+     * @param alliance         the move maker
+     * @param opponentTiles    every tile the opponent occupies
+     * @param occupancy        every occupied tile
+     * @param checkMask        the tiles a Pawn may move to while the King is in check (every tile otherwise)
+     * @param pinned           the Pawns pinned to their King
+     * @param checkEnPassant   whether En Passant attacks are tested for leaving the King in check
+     */
+    private void generatePawnMoves(final MoveList moves,
+                                   final Alliance alliance,
+                                   final long opponentTiles,
+                                   final long occupancy,
+                                   final long checkMask,
+                                   final long pinned,
+                                   final boolean checkEnPassant) {
+        final int forward = alliance.getDirection() * 8;
+        final int pawn = BitBoardIndex(alliance, PieceType.PAWN);
+        final int opponentPawn = BitBoardIndex(alliance.isWhite() ? BLACK : WHITE, PieceType.PAWN);
+        final long jumpTiles = alliance.isWhite() ? THIRD_RANK : SIXTH_RANK;
+        long pawns = this.pieceBitBoards[pawn];
+        while (pawns != 0L) {
+            final int currentPosition = FirstTile(pawns);
+            final long allowedTiles = checkMask & pinMask(currentPosition, pinned);
+            // One-tile and two-tile advances
+            final int advancePosition = currentPosition + forward;
+            if (!IsTileSet(occupancy, advancePosition)) {
+                if (IsTileSet(allowedTiles, advancePosition)) {
+                    addPawnMove(moves, pawn, currentPosition, advancePosition, NO_PIECE);
+                }
+                final int jumpPosition = advancePosition + forward;
+                if (IsTileSet(jumpTiles, advancePosition) &&
+                    !IsTileSet(occupancy, jumpPosition) &&
+                    IsTileSet(allowedTiles, jumpPosition)) {
+                    moves.add(Encode(currentPosition, jumpPosition, PAWN_JUMP, pawn, NO_PIECE));
+                }
+            }
+            // Attacks
+            final long attacks = PawnAttackTargets(currentPosition, alliance);
+            long attackedTiles = attacks & opponentTiles & allowedTiles;
+            while (attackedTiles != 0L) {
+                final int destinationPosition = FirstTile(attackedTiles);
+                addPawnMove(moves, pawn, currentPosition, destinationPosition, this.tilePieces[destinationPosition]);
+                attackedTiles &= attackedTiles - 1;
+            }
+            // En Passant attacks remove two Pawns from a line, so they are tested by making them
+            if (this.enPassantPosition != NO_EN_PASSANT && IsTileSet(attacks, this.enPassantPosition)) {
+                final int move = Encode(currentPosition, this.enPassantPosition, EN_PASSANT, pawn, opponentPawn);
+                if (checkEnPassant) {
+                    makeMove(move);
+                    if (wasLastMoveLegal()) {
+                        moves.add(move);
+                    }
+                    unmakeMove();
+                } else {
+                    moves.add(move);
+                }
+            }
+            pawns &= pawns - 1;
+        }
+    }
+
+    /**
+     * Adds a one-tile Pawn advance or Pawn attack, expanding it into every promotion on the last rank.
+     *
+     * @param moves               where the packed moves are written
+     * @param pawn                the Pawn's bitboard index
+     * @param currentPosition     where the Pawn is
+     * @param destinationPosition where the Pawn moves to
+     * @param attackedPiece       the captured piece's bitboard index (NO_PIECE for an advance)
+     */
+    private static void addPawnMove(final MoveList moves,
+                                    final int pawn,
+                                    final int currentPosition,
+                                    final int destinationPosition,
+                                    final int attackedPiece) {
+        final boolean attack = attackedPiece != NO_PIECE;
+        if (IsTileSet(EIGHTH_RANK | FIRST_RANK, destinationPosition)) {
+            for (int flag = KNIGHT_PROMOTION; flag <= QUEEN_PROMOTION; flag++) {
+                moves.add(Encode(currentPosition,
+                                 destinationPosition,
+                                 PromotionFlag(flag, attack),
+                                 pawn,
+                                 attackedPiece));
+            }
+        } else {
+            moves.add(Encode(currentPosition, destinationPosition, attack ? ATTACK : QUIET, pawn, attackedPiece));
+        }
+    }
+
+    /**
+     * Adds a move from the current position to every destination tile.
+     *
+     * @param moves           where the packed moves are written
+     * @param currentPosition where the piece is
+     * @param destinations    every tile the piece can move to
+     * @param opponentTiles   every tile the opponent occupies
+     */
+    private void addMoves(final MoveList moves,
+                          final int currentPosition,
+                          long destinations,
+                          final long opponentTiles) {
+        while (destinations != 0L) {
+            addMove(moves, currentPosition, FirstTile(destinations), opponentTiles);
+            destinations &= destinations - 1;
+        }
+    }
+
+    /**
+     * Adds a move of a piece other than a Pawn, capturing whatever stands on the destination tile.
+     *
+     * @param moves               where the packed moves are written
+     * @param currentPosition     where the piece is
+     * @param destinationPosition where the piece moves to
+     * @param opponentTiles       every tile the opponent occupies
+     */
+    private void addMove(final MoveList moves,
+                         final int currentPosition,
+                         final int destinationPosition,
+                         final long opponentTiles) {
+        moves.add(Encode(currentPosition,
+                         destinationPosition,
+                         IsTileSet(opponentTiles, destinationPosition) ? ATTACK : QUIET,
+                         this.tilePieces[currentPosition],
+                         this.tilePieces[destinationPosition]));
+    }
+
+    /**
+     * Adds the castles that are available, have empty tiles between the King and Rook,
+     * and do not move the King out of, through or into check.
+     *
+     * @param moves        where the packed moves are written
+     * @param kingPosition where the move maker's King is
+     * @param occupancy    every occupied tile
+     */
+    private void generateCastles(final MoveList moves, final int kingPosition, final long occupancy) {
+        final int kingSide = this.moveMaker == WHITE_INDEX ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        final int queenSide = this.moveMaker == WHITE_INDEX ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        if ((this.castlingRights & (kingSide | queenSide)) == 0) {
+            return;
+        }
+        final Alliance opponent = ALLIANCES[this.moveMaker ^ 1];
+        if (isTileAttacked(kingPosition, opponent)) {
+            return;
+        }
+        final int king = this.tilePieces[kingPosition];
+        if ((this.castlingRights & kingSide) != 0 &&
+            (occupancy & (TileMask(kingPosition + 1) | TileMask(kingPosition + 2))) == 0L &&
+            !isTileAttacked(kingPosition + 1, opponent) &&
+            !isTileAttacked(kingPosition + 2, opponent)) {
+            moves.add(Encode(kingPosition, kingPosition + 2, KING_SIDE_CASTLE, king, NO_PIECE));
+        }
+        if ((this.castlingRights & queenSide) != 0 &&
+            (occupancy & (TileMask(kingPosition - 1) | TileMask(kingPosition - 2) | TileMask(kingPosition - 3))) == 0L &&
+            !isTileAttacked(kingPosition - 1, opponent) &&
+            !isTileAttacked(kingPosition - 2, opponent)) {
+            moves.add(Encode(kingPosition, kingPosition - 2, QUEEN_SIDE_CASTLE, king, NO_PIECE));
+        }
+    }
+
+    /**
+     * Finds the move maker's pieces that are pinned to their King and remembers the line each one may move along.
+     *
+     * @param kingPosition  where the move maker's King is
+     * @param opponent      the opponent's alliance
+     * @param friendlyTiles every tile the move maker occupies
+     * @param opponentTiles every tile the opponent occupies
+     * @param occupancy     every occupied tile
+     * @return a bitboard with every pinned piece
+     */
+    private long calculatePins(final int kingPosition,
+                               final Alliance opponent,
+                               final long friendlyTiles,
+                               final long opponentTiles,
+                               final long occupancy) {
+        final long queens = this.pieceBitBoards[BitBoardIndex(opponent, PieceType.QUEEN)];
+        // Opponent sliding pieces that would attack the King if the move maker's pieces were not there
+        long pinners = (RookAttacks(kingPosition, opponentTiles) &
+                        (this.pieceBitBoards[BitBoardIndex(opponent, PieceType.ROOK)] | queens)) |
+                       (BishopAttacks(kingPosition, opponentTiles) &
+                        (this.pieceBitBoards[BitBoardIndex(opponent, PieceType.BISHOP)] | queens));
+        long pinned = 0L;
+        while (pinners != 0L) {
+            final int pinnerPosition = FirstTile(pinners);
+            final long line = TilesBetween(kingPosition, pinnerPosition);
+            final long blockers = line & occupancy;
+            // A lone friendly piece between the King and the pinner is pinned
+            if (TileCount(blockers) == 1 && (blockers & friendlyTiles) != 0L) {
+                pinned |= blockers;
+                this.pinRays[FirstTile(blockers)] = line | TileMask(pinnerPosition);
+            }
+            pinners &= pinners - 1;
+        }
+
+        return pinned;
+    }
+
+    /**
+     * @param tilePosition where the piece is
+     * @param pinned       every pinned piece
+     * @return the tiles the piece may move to without exposing its King
+     */
+    private long pinMask(final int tilePosition, final long pinned) {
+        return IsTileSet(pinned, tilePosition) ? this.pinRays[tilePosition] : ~0L;
+    }
+
+    /**
+     * @param allianceIndex the King's alliance (0 for White, 1 for Black)
+     * @return whether the King is attacked by the other alliance
+     */
+    private boolean isKingAttacked(final int allianceIndex) {
+        final long king = this.pieceBitBoards[allianceIndex * PIECE_TYPES + PieceType.KING.ordinal()];
+        return king != 0L && isTileAttacked(FirstTile(king), ALLIANCES[allianceIndex ^ 1]);
+    }
+
+    /**
+     * @param tilePosition where the piece goes
+     * @param piece        the piece's bitboard index
+     */
+    private void putPiece(final int tilePosition, final int piece) {
+        final long tile = TileMask(tilePosition);
+        this.tilePieces[tilePosition] = piece;
+        this.pieceBitBoards[piece] |= tile;
+        this.allianceOccupancy[piece / PIECE_TYPES] |= tile;
+        this.materialScore += MaterialScore(piece);
+        this.positionalScore += PositionalScore(piece, tilePosition);
+        this.zobristKey ^= PieceKey(piece, tilePosition);
+    }
+
+    /**
+     * @param tilePosition where the piece is removed from
+     */
+    private void removePiece(final int tilePosition) {
+        final int piece = this.tilePieces[tilePosition];
+        final long tile = TileMask(tilePosition);
+        this.tilePieces[tilePosition] = EMPTY;
+        this.pieceBitBoards[piece] &= ~tile;
+        this.allianceOccupancy[piece / PIECE_TYPES] &= ~tile;
+        this.materialScore -= MaterialScore(piece);
+        this.positionalScore -= PositionalScore(piece, tilePosition);
+        this.zobristKey ^= PieceKey(piece, tilePosition);
+    }
+
+    /**
+     * @param currentPosition     where the piece is
+     * @param destinationPosition where the piece goes
+     */
+    private void movePiece(final int currentPosition, final int destinationPosition) {
+        final int piece = this.tilePieces[currentPosition];
+        removePiece(currentPosition);
+        putPiece(destinationPosition, piece);
+    }
+
+    /**
+     * @param flag the promotion flag of the move
+     * @return the bitboard index of the piece the move maker's Pawn promotes to
+     */
+    private int promotedPiece(final int flag) {
+        return BitBoardIndex(ALLIANCES[this.moveMaker], PROMOTION_TYPES[flag & 3]);
+    }
+
+    /**
+     * Creates a Piece for the immutable board, marking Kings, Rooks and Pawns that have not moved.
+     *
+     * @param piece        the piece's bitboard index
+     * @param tilePosition where the piece is
+     * @return the Piece object
+     */
+    private Piece createPiece(final int piece, final int tilePosition) {
+        final Alliance alliance = ALLIANCES[piece / PIECE_TYPES];
+        final boolean white = alliance.isWhite();
+        final PieceType pieceType = PIECE_TYPES_BY_INDEX[piece % PIECE_TYPES];
+        final boolean firstMove = switch (pieceType) {
+            case PAWN -> IsTileSet(white ? SECOND_RANK : SEVENTH_RANK, tilePosition);
+            case ROOK -> (tilePosition == (white ? 63 : 7) &&
+                          (this.castlingRights & (white ? WHITE_KING_SIDE : BLACK_KING_SIDE)) != 0) ||
+                         (tilePosition == (white ? 56 : 0) &&
+                          (this.castlingRights & (white ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE)) != 0);
+            case KING -> (this.castlingRights &
+                          (white ? WHITE_KING_SIDE | WHITE_QUEEN_SIDE : BLACK_KING_SIDE | BLACK_QUEEN_SIDE)) != 0;
+            default -> false;
+        };
+        return CreatePiece(pieceType, alliance, tilePosition, firstMove);
+    }
+
+    /**
+     * @param tilePosition a tile a move starts or ends on
+     * @return the castling availability that survives a move from or to the tile
+     */
+    public static int CastlingRightsKept(final int tilePosition) {
+        return CASTLING_RIGHTS_KEPT[tilePosition];
+    }
+
+    /**
+     * @return for each tile, the castling availability that survives a move from or to that tile
+     */
+    private static int[] initCastlingRightsKept() {
+        final int[] castlingRightsKept = new int[TOTAL_TILES];
+        Arrays.fill(castlingRightsKept, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        castlingRightsKept[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        castlingRightsKept[63] &= ~WHITE_KING_SIDE;
+        castlingRightsKept[56] &= ~WHITE_QUEEN_SIDE;
+        castlingRightsKept[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        castlingRightsKept[7] &= ~BLACK_KING_SIDE;
+        castlingRightsKept[0] &= ~BLACK_QUEEN_SIDE;
+
+        return castlingRightsKept;
+    }
+
+    /**
+     * Packs the state a move cannot undo by itself.
+     *
+     * @param attackedPiece     the bitboard index of the captured piece (EMPTY if none)
+     * @param castlingRights    the castling availability before the move
+     * @param enPassantPosition the En Passant tile before the move
+     * @return the packed state
+     */
+    private static int PackState(final int attackedPiece, final int castlingRights, final int enPassantPosition) {
+        return (attackedPiece + 1) | (castlingRights << 4) | ((enPassantPosition + 1) << 8);
+    }
+
+    /**
+     * @param state the packed state
+     * @return the bitboard index of the captured piece (EMPTY if none)
+     */
+    private static int StateAttackedPiece(final int state) {
+        return (state & 0xF) - 1;
+    }
+
+    /**
+     * @param state the packed state
+     * @return the castling availability before the move
+     */
+    private static int StateCastlingRights(final int state) {
+        return (state >>> 4) & 0xF;
+    }
+
+    /**
+     * @param state the packed state
+     * @return the En Passant tile before the move
+     */
+    private static int StateEnPassantPosition(final int state) {
+        return ((state >>> 8) & 0x7F) - 1;
+    }
+}
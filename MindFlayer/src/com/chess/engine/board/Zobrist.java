@@ -0,0 +1,130 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece;
+
+import java.util.SplittableRandom;
+
+import static com.chess.engine.board.BitBoardUtils.BitBoardIndex;
+import static com.chess.engine.board.GameState.*;
+import static com.chess.engine.board.Position.NO_EN_PASSANT;
+import static com.chess.engine.utils.Constants.BitBoardConstants.TOTAL_BITBOARDS;
+import static com.chess.engine.utils.Constants.BoardConstants.TILES_PER_FILE;
+import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
+
+/**
+ * This class holds the random keys used to hash chess positions (Zobrist hashing).
+ * A position's key is the XOR of one key per piece on its tile, a key for Black to move,
+ * a key for the castling availability and a key for the En Passant file.
+ * Since XOR undoes itself, a move only has to XOR the keys of what it changes.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x4D696E64466C6179L;
+    private static final SplittableRandom RANDOM = new SplittableRandom(SEED);
+    private static final long[][] PIECE_KEYS = initPieceKeys();
+    private static final long[] CASTLING_KEYS = initKeys(16);
+    private static final long[] EN_PASSANT_KEYS = initKeys(TILES_PER_FILE);
+
+    public static final long BLACK_TO_MOVE_KEY = RANDOM.nextLong();
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * A constructor for a Zobrist object (not really).
+     */
+    private Zobrist() {
+        throw new RuntimeException("Zobrist cannot be instantiated!");
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param piece        the piece's bitboard index (see BitBoardUtils.BitBoardIndex)
+     * @param tilePosition where the piece is on the board
+     * @return the key of the piece standing on the tile
+     */
+    public static long PieceKey(final int piece, final int tilePosition) {
+        return PIECE_KEYS[piece][tilePosition];
+    }
+
+    /**
+     * @param piece the piece on the board
+     * @return the key of the piece standing on its tile
+     */
+    public static long PieceKey(final Piece piece) {
+        return PIECE_KEYS[BitBoardIndex(piece.getPieceAlliance(), piece.getPieceType())][piece.getPiecePosition()];
+    }
+
+    /**
+     * @param castlingRights the castling availability bits (see Position.WHITE_KING_SIDE etc.)
+     * @return the key of the castling availability
+     */
+    public static long CastlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    /**
+     * @param enPassantPosition the tile a Pawn can move to when capturing En Passant (or NO_EN_PASSANT)
+     * @return the key of the En Passant file (0 if there is none)
+     */
+    public static long EnPassantKey(final int enPassantPosition) {
+        return enPassantPosition == NO_EN_PASSANT ? 0L : EN_PASSANT_KEYS[enPassantPosition % TILES_PER_FILE];
+    }
+
+    /**
+     * @param gameState the packed game state (see GameState)
+     * @return the key of the castling availability and the En Passant file (the move clocks are not hashed)
+     */
+    public static long GameStateKey(final int gameState) {
+        final int enPassantFile = EnPassantFile(gameState);
+        return CASTLING_KEYS[CastlingRights(gameState)] ^
+               (enPassantFile == NO_EN_PASSANT_FILE ? 0L : EN_PASSANT_KEYS[enPassantFile]);
+    }
+
+    /**
+     * Hashes a board from scratch (moves update the key incrementally instead).
+     *
+     * @param board the board to hash
+     * @return the board's key
+     */
+    public static long CalculateKey(final Board board) {
+        long key = 0L;
+        for (int i = 0; i < TOTAL_TILES; i++) {
+            final Piece piece = board.getPiece(i);
+            if (piece != null) {
+                key ^= PieceKey(piece);
+            }
+        }
+        if (board.getCurrentPlayer().getAlliance().isBlack()) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+
+        return key ^ GameStateKey(board.getGameState());
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return a key for every piece on every tile
+     */
+    private static long[][] initPieceKeys() {
+        final long[][] pieceKeys = new long[TOTAL_BITBOARDS][];
+        for (int i = 0; i < TOTAL_BITBOARDS; i++) {
+            pieceKeys[i] = initKeys(TOTAL_TILES);
+        }
+
+        return pieceKeys;
+    }
+
+    /**
+     * @param size how many keys to create
+     * @return an array of random keys
+     */
+    private static long[] initKeys(final int size) {
+        final long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = RANDOM.nextLong();
+        }
+
+        return keys;
+    }
+}
@@ -0,0 +1,24 @@
+package com.chess.engine.evaluation;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+
+/**
+ * This interface serves as a blueprint for scoring positions.
+ * Scores are in centipawns from White's point of view (positive when White is better).
+ */
+public interface BoardEvaluator {
+    /**
+     * @param position what is scored
+     * @return the position's score from White's point of view
+     */
+    int evaluate(final Position position);
+
+    /**
+     * @param board what is scored
+     * @return the board's score from White's point of view
+     */
+    default int evaluate(final Board board) {
+        return evaluate(new Position(board));
+    }
+}
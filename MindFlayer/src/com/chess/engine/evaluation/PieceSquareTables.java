@@ -0,0 +1,141 @@
+package com.chess.engine.evaluation;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+import static com.chess.engine.utils.Constants.BitBoardConstants.PIECE_TYPES;
+import static com.chess.engine.utils.Constants.BitBoardConstants.TOTAL_BITBOARDS;
+import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
+
+/**
+ * This class holds the material value and piece-square bonus of every piece on every tile.
+ * The tables are written from White's side of the board (a8 first) and mirrored for Black;
+ * Black's entries are negated so that adding them up gives a score from White's point of view.
+ */
+public final class PieceSquareTables {
+    private static final int[] PAWN_TABLE = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            10,  10,  20,  30,  30,  20,  10,  10,
+             5,   5,  10,  25,  25,  10,   5,   5,
+             0,   0,   0,  20,  20,   0,   0,   0,
+             5,  -5, -10,   0,   0, -10,  -5,   5,
+             5,  10,  10, -20, -20,  10,  10,   5,
+             0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] KNIGHT_TABLE = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20,   0,   0,   0,   0, -20, -40,
+            -30,   0,  10,  15,  15,  10,   0, -30,
+            -30,   5,  15,  20,  20,  15,   5, -30,
+            -30,   0,  15,  20,  20,  15,   0, -30,
+            -30,   5,  10,  15,  15,  10,   5, -30,
+            -40, -20,   0,   5,   5,   0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+    private static final int[] BISHOP_TABLE = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,  10,  10,   5,   0, -10,
+            -10,   5,   5,  10,  10,   5,   5, -10,
+            -10,   0,  10,  10,  10,  10,   0, -10,
+            -10,  10,  10,  10,  10,  10,  10, -10,
+            -10,   5,   0,   0,   0,   0,   5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+    private static final int[] ROOK_TABLE = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+             5,  10,  10,  10,  10,  10,  10,   5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+             0,   0,   0,   5,   5,   0,   0,   0
+    };
+    private static final int[] QUEEN_TABLE = {
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,   5,   5,   5,   0, -10,
+             -5,   0,   5,   5,   5,   5,   0,  -5,
+              0,   0,   5,   5,   5,   5,   0,  -5,
+            -10,   5,   5,   5,   5,   5,   0, -10,
+            -10,   0,   5,   0,   0,   0,   0, -10,
+            -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+    private static final int[] KING_TABLE = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+             20,  20,   0,   0,   0,   0,  20,  20,
+             20,  30,  10,   0,   0,  10,  30,  20
+    };
+
+    private static final int[] MATERIAL_SCORES = initMaterialScores();
+    private static final int[][] POSITIONAL_SCORES = initPositionalScores();
+
+    /**
+     * A constructor for a PieceSquareTables object (not really).
+     */
+    private PieceSquareTables() {
+        throw new RuntimeException("PieceSquareTables cannot be instantiated!");
+    }
+
+    /**
+     * @param piece the piece's bitboard index (see BitBoardUtils.BitBoardIndex)
+     * @return the piece's material value (negative for Black, 0 for Kings)
+     */
+    public static int MaterialScore(final int piece) {
+        return MATERIAL_SCORES[piece];
+    }
+
+    /**
+     * @param piece        the piece's bitboard index (see BitBoardUtils.BitBoardIndex)
+     * @param tilePosition where the piece is
+     * @return the piece-square bonus of the piece on the tile (negated for Black)
+     */
+    public static int PositionalScore(final int piece, final int tilePosition) {
+        return POSITIONAL_SCORES[piece][tilePosition];
+    }
+
+    /**
+     * @return the material value of every piece, indexed by bitboard index
+     */
+    private static int[] initMaterialScores() {
+        final int[] scores = new int[TOTAL_BITBOARDS];
+        for (final PieceType pieceType : PieceType.values()) {
+            // The Kings are always on the board, so their value would only cancel out
+            final int value = pieceType.isKing() ? 0 : pieceType.getPieceValue();
+            scores[pieceType.ordinal()] = value;
+            scores[PIECE_TYPES + pieceType.ordinal()] = -value;
+        }
+
+        return scores;
+    }
+
+    /**
+     * @return the piece-square bonus of every piece on every tile, indexed by bitboard index and tile
+     */
+    private static int[][] initPositionalScores() {
+        final int[][] scores = new int[TOTAL_BITBOARDS][TOTAL_TILES];
+        for (final PieceType pieceType : PieceType.values()) {
+            final int[] table = switch (pieceType) {
+                case PAWN -> PAWN_TABLE;
+                case KNIGHT -> KNIGHT_TABLE;
+                case BISHOP -> BISHOP_TABLE;
+                case ROOK -> ROOK_TABLE;
+                case QUEEN -> QUEEN_TABLE;
+                case KING -> KING_TABLE;
+            };
+            for (int i = 0; i < TOTAL_TILES; i++) {
+                // White's bitboards come first; Black reads the table upside down (a8 ^ 56 = a1)
+                scores[pieceType.ordinal()][i] = table[i];
+                scores[PIECE_TYPES + pieceType.ordinal()][i] = -table[i ^ 56];
+            }
+        }
+
+        return scores;
+    }
+}
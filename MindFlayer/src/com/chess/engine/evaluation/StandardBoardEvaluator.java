@@ -0,0 +1,152 @@
+package com.chess.engine.evaluation;
+
+import com.chess.engine.board.Position;
+import com.chess.engine.pieces.Alliance;
+
+import static com.chess.engine.board.BitBoardUtils.*;
+import static com.chess.engine.pieces.Alliance.BLACK;
+import static com.chess.engine.pieces.Alliance.WHITE;
+import static com.chess.engine.pieces.Piece.PieceType.*;
+import static com.chess.engine.utils.Constants.BoardConstants.TILES_PER_RANK;
+
+/**
+ * This class scores a position by material, piece-square bonuses, mobility, King safety and pawn structure.
+ * Material and piece-square bonuses are kept up to date by the Position itself, so only the other terms
+ * look at the pieces.
+ */
+public class StandardBoardEvaluator implements BoardEvaluator {
+    private static final int KNIGHT_MOBILITY = 4;
+    private static final int BISHOP_MOBILITY = 5;
+    private static final int ROOK_MOBILITY = 2;
+    private static final int QUEEN_MOBILITY = 1;
+    private static final int PAWN_SHIELD = 10;
+    private static final int KING_ZONE_ATTACK = -8;
+    private static final int DOUBLED_PAWN = -15;
+    private static final int ISOLATED_PAWN = -12;
+    private static final int[] PASSED_PAWN_BY_RANKS_ADVANCED = { 0, 10, 15, 25, 40, 60, 90, 0 };
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param position what is scored
+     * @return the position's score from White's point of view
+     */
+    @Override
+    public int evaluate(final Position position) {
+        return position.getMaterialScore() +
+               position.getPositionalScore() +
+               Mobility(position, WHITE) - Mobility(position, BLACK) +
+               KingSafety(position, WHITE) - KingSafety(position, BLACK) +
+               PawnStructure(position, WHITE) - PawnStructure(position, BLACK);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param position what is scored
+     * @param alliance whose pieces are scored
+     * @return a bonus for every tile the alliance's Knights, Bishops, Rooks and Queens can move to
+     */
+    private static int Mobility(final Position position, final Alliance alliance) {
+        final long friendlyTiles = position.getAllianceOccupancy(alliance);
+        final long occupancy = position.getOccupancy();
+        int score = 0;
+
+        long knights = position.getPieceBitBoard(alliance, KNIGHT);
+        while (knights != 0L) {
+            score += KNIGHT_MOBILITY * TileCount(KnightTargets(FirstTile(knights)) & ~friendlyTiles);
+            knights &= knights - 1;
+        }
+        long bishops = position.getPieceBitBoard(alliance, BISHOP);
+        while (bishops != 0L) {
+            score += BISHOP_MOBILITY * TileCount(BishopAttacks(FirstTile(bishops), occupancy) & ~friendlyTiles);
+            bishops &= bishops - 1;
+        }
+        long rooks = position.getPieceBitBoard(alliance, ROOK);
+        while (rooks != 0L) {
+            score += ROOK_MOBILITY * TileCount(RookAttacks(FirstTile(rooks), occupancy) & ~friendlyTiles);
+            rooks &= rooks - 1;
+        }
+        long queens = position.getPieceBitBoard(alliance, QUEEN);
+        while (queens != 0L) {
+            final int queenPosition = FirstTile(queens);
+            score += QUEEN_MOBILITY * TileCount((BishopAttacks(queenPosition, occupancy) |
+                                                 RookAttacks(queenPosition, occupancy)) & ~friendlyTiles);
+            queens &= queens - 1;
+        }
+
+        return score;
+    }
+
+    /**
+     * @param position what is scored
+     * @param alliance whose King is scored
+     * @return a bonus for the Pawns sheltering the King and a penalty for every attacked tile around it
+     */
+    private static int KingSafety(final Position position, final Alliance alliance) {
+        final long king = position.getPieceBitBoard(alliance, KING);
+        if (king == 0L) {
+            return 0;
+        }
+        final Alliance opponent = alliance.isWhite() ? BLACK : WHITE;
+        final int kingPosition = FirstTile(king);
+        final long kingZone = KingTargets(kingPosition);
+        // The shield is the three tiles in front of the King
+        final long shield = PawnAttackTargets(kingPosition, alliance) | PawnPushTargets(kingPosition, alliance);
+        int score = PAWN_SHIELD * TileCount(shield & position.getPieceBitBoard(alliance, PAWN));
+
+        long zone = kingZone;
+        while (zone != 0L) {
+            if (position.isTileAttacked(FirstTile(zone), opponent)) {
+                score += KING_ZONE_ATTACK;
+            }
+            zone &= zone - 1;
+        }
+
+        return score;
+    }
+
+    /**
+     * @param position what is scored
+     * @param alliance whose Pawns are scored
+     * @return penalties for doubled and isolated Pawns and bonuses for passed Pawns
+     */
+    private static int PawnStructure(final Position position, final Alliance alliance) {
+        final long pawns = position.getPieceBitBoard(alliance, PAWN);
+        final long opponentPawns = position.getPieceBitBoard(alliance.isWhite() ? BLACK : WHITE, PAWN);
+        int score = 0;
+
+        for (int file = 0; file < TILES_PER_RANK; file++) {
+            final int filePawns = TileCount(pawns & (FIRST_FILE << file));
+            if (filePawns > 1) {
+                score += DOUBLED_PAWN * (filePawns - 1);
+            }
+            if (filePawns > 0 && (pawns & AdjacentFiles(file)) == 0L) {
+                score += ISOLATED_PAWN * filePawns;
+            }
+        }
+        long remainingPawns = pawns;
+        while (remainingPawns != 0L) {
+            final int pawnPosition = FirstTile(remainingPawns);
+            final int file = pawnPosition % TILES_PER_RANK;
+            final int rank = pawnPosition / TILES_PER_RANK;
+            // A passed Pawn has no opposing Pawn ahead of it on its own or an adjacent file
+            final long ahead = alliance.isWhite() ? (1L << (rank * TILES_PER_RANK)) - 1 :
+                                                    -(1L << ((rank + 1) * TILES_PER_RANK));
+            if ((opponentPawns & ahead & ((FIRST_FILE << file) | AdjacentFiles(file))) == 0L) {
+                score += PASSED_PAWN_BY_RANKS_ADVANCED[alliance.isWhite() ? 7 - rank : rank];
+            }
+            remainingPawns &= remainingPawns - 1;
+        }
+
+        return score;
+    }
+
+    /**
+     * @param file the file number (0 for the a-file)
+     * @return the tiles of the files next to the file
+     */
+    private static long AdjacentFiles(final int file) {
+        return (file > 0 ? FIRST_FILE << (file - 1) : 0L) | (file < 7 ? FIRST_FILE << (file + 1) : 0L);
+    }
+}
@@ -1,8 +1,22 @@
 package com.chess.engine.moves;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.moves.castle.KingSideCastleMove;
+import com.chess.engine.moves.castle.QueenSideCastleMove;
+import com.chess.engine.moves.other.MajorAttackMove;
+import com.chess.engine.moves.other.MajorMove;
 import com.chess.engine.moves.other.NullMove;
+import com.chess.engine.moves.pawn.*;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.pieces.Rook;
+
+import static com.chess.engine.board.BitBoardUtils.BitBoardIndex;
+import static com.chess.engine.board.GameState.NO_EN_PASSANT_FILE;
+import static com.chess.engine.board.GameState.NextState;
+import static com.chess.engine.board.Position.CastlingRightsKept;
+import static com.chess.engine.board.Zobrist.*;
+import static com.chess.engine.moves.misc.PackedMove.*;
 
 /**
  * This class serves as a blueprint for all then moves in chess.
@@ -95,32 +109,82 @@ public abstract class Move {
         return this.board;
     }
 
+    /**
+     * @return the move packed into an int with its moved and attacked pieces (see PackedMove)
+     */
+    public int encode() {
+        final Piece attackedPiece = getAttackedPiece();
+        return Encode(getCurrentPosition(),
+                      this.destinationPosition,
+                      getPackedFlag(),
+                      BitBoardIndex(this.movedPiece.getPieceAlliance(), this.movedPiece.getPieceType()),
+                      attackedPiece == null ?
+                              NO_PIECE :
+                              BitBoardIndex(attackedPiece.getPieceAlliance(), attackedPiece.getPieceType()));
+    }
+
+    /**
+     * @return the PackedMove flag describing what kind of move this is
+     */
+    protected int getPackedFlag() {
+        return isAttack() ? ATTACK : QUIET;
+    }
+
     /**
      * @return a new board after the move is made (not mutating the current board!)
      */
     public Board execute() {
-        final Board.Builder builder = new Board.Builder();
-
-        // Create the pieces for the player
-        for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-            if (!this.movedPiece.equals(piece)) {
-                // Set all the player's non-moving pieces
-                builder.setPiece(piece);
-            }
-        }
-        // Create the pieces for the opponent
-        for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-            // TODO: override hashcode and equals methods for all the pieces
-            // Set all the opponent's pieces (none should have moved)
-            builder.setPiece(piece);
-        }
-        // Place the moved piece on the new board
-        builder.setPiece(this.movedPiece.movePiece(this));
+        final Board.Builder builder = Board.Builder.ForThread();
+        // Copy every piece and lift the moved piece off its tile
+        builder.setPieces(this.board).removePiece(getCurrentPosition());
+        // Place the moved piece on the new board (replacing the attacked piece)
+        final Piece arrivedPiece = this.movedPiece.movePiece(this);
+        builder.setPiece(arrivedPiece);
         // Set the opponent as the next move maker
         builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+        final int gameState = updateGameState(NO_EN_PASSANT_FILE);
+        builder.setGameState(gameState);
+        builder.setZobristKey(updateZobristKey(arrivedPiece, gameState));
 
         return builder.build();
     }
+
+    /**
+     * Updates the board's game state with what this move changes: the castling availability lost by moving
+     * (or capturing) a King or Rook, the En Passant file, the half-move clock and the full-move number.
+     *
+     * @param enPassantFile the file of the Pawn the move advanced two tiles (NO_EN_PASSANT_FILE otherwise)
+     * @return the packed game state of the board after the move
+     */
+    protected int updateGameState(final int enPassantFile) {
+        return NextState(this.board.getGameState(),
+                         CastlingRightsKept(getCurrentPosition()) & CastlingRightsKept(this.destinationPosition),
+                         enPassantFile,
+                         this.movedPiece.getPieceType() == PieceType.PAWN || isAttack(),
+                         this.movedPiece.getPieceAlliance().isBlack());
+    }
+
+    /**
+     * Updates the board's Zobrist key with what this move changes instead of hashing the new board from scratch:
+     * the moved piece, the attacked piece, the move maker, the castling availability and the En Passant file.
+     *
+     * @param arrivedPiece the moved piece on its destination tile
+     * @param gameState    the game state after the move (see updateGameState)
+     * @return the Zobrist key of the board after the move
+     */
+    protected long updateZobristKey(final Piece arrivedPiece, final int gameState) {
+        long zobristKey = this.board.getZobristKey() ^
+                          PieceKey(this.movedPiece) ^ PieceKey(arrivedPiece) ^
+                          GameStateKey(this.board.getGameState()) ^ GameStateKey(gameState) ^
+                          BLACK_TO_MOVE_KEY;
+        // Remove the attacked piece (which is not on the destination tile for En Passant)
+        final Piece attackedPiece = getAttackedPiece();
+        if (attackedPiece != null) {
+            zobristKey ^= PieceKey(attackedPiece);
+        }
+
+        return zobristKey;
+    }
 //----------------------------------------------------------------------------------------------------------------------
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
@@ -183,20 +247,79 @@ public abstract class Move {
          * @param board               where the move will take place
          * @param currentCoordinate   where the piece currently is
          * @param destinationPosition where the piece wants to move to
-         * @return a move based on the parameters
+         * @return a move based on the parameters (a Pawn promotes to a Queen)
          */
         public static Move CreateMove(final Board board, final int currentCoordinate, final int destinationPosition) {
-            // Iterate through all the legal moves for both players
-            for (final Move move : board.getAllLegalMoves()) {
-                // Determine whether the move's current and destination positions are valid
-                if (move.getCurrentPosition() == currentCoordinate &&
-                    move.getDestinationPosition() == destinationPosition) {
-                    // Use this move
-                    return move;
-                }
+            return CreateMove(board, currentCoordinate, destinationPosition, null);
+        }
+
+        /**
+         * Looks the move up among the legal moves of the player owning the piece on the current tile, whether or not
+         * it is that player's turn (see Board.getMove).
+         *
+         * @param board               where the move will take place
+         * @param currentCoordinate   where the piece currently is
+         * @param destinationPosition where the piece wants to move to
+         * @param promotionType       what a promoting Pawn becomes (null for a Queen)
+         * @return a move based on the parameters (NULL_MOVE if there is no such legal move)
+         */
+        public static Move CreateMove(final Board board,
+                                      final int currentCoordinate,
+                                      final int destinationPosition,
+                                      final PieceType promotionType) {
+            return board.getMove(currentCoordinate, destinationPosition, promotionType);
+        }
+
+        /**
+         * Decodes a packed move (e.g. one found by a search) into the Move object the GUI and MoveLog work with.
+         * The move is built straight from its flag instead of being looked up among the legal moves,
+         * so it is not checked for legality.
+         *
+         * @param board where the move will take place
+         * @param move  the packed move
+         * @return the decoded move (NULL_MOVE for NO_MOVE)
+         */
+        public static Move CreateMove(final Board board, final int move) {
+            if (move == NO_MOVE) {
+                return NULL_MOVE;
             }
-            // A standard move cannot be made
-            return NULL_MOVE;
+            final int currentPosition = CurrentPosition(move);
+            final int destinationPosition = DestinationPosition(move);
+            final Piece movedPiece = board.getPiece(currentPosition);
+            final Piece attackedPiece = board.getPiece(destinationPosition);
+            final boolean pawn = movedPiece.getPieceType() == PieceType.PAWN;
+            if (IsPromotion(move)) {
+                final Move decoratedMove = IsAttack(move) ?
+                        new PawnAttackMove(board, movedPiece, destinationPosition, attackedPiece) :
+                        new PawnMove(board, movedPiece, destinationPosition);
+                return new PawnPromotion(decoratedMove, PromotionType(move));
+            }
+
+            return switch (Flag(move)) {
+                case PAWN_JUMP -> new PawnJump(board, movedPiece, destinationPosition);
+                case KING_SIDE_CASTLE -> new KingSideCastleMove(board,
+                                                                movedPiece,
+                                                                destinationPosition,
+                                                                (Rook) board.getPiece(currentPosition + 3),
+                                                                currentPosition + 3,
+                                                                currentPosition + 1);
+                case QUEEN_SIDE_CASTLE -> new QueenSideCastleMove(board,
+                                                                  movedPiece,
+                                                                  destinationPosition,
+                                                                  (Rook) board.getPiece(currentPosition - 4),
+                                                                  currentPosition - 4,
+                                                                  currentPosition - 1);
+                case EN_PASSANT -> new PawnEnPassantAttackMove(board,
+                                                               movedPiece,
+                                                               destinationPosition,
+                                                               board.getEnPassantPawn());
+                case ATTACK -> pawn ?
+                        new PawnAttackMove(board, movedPiece, destinationPosition, attackedPiece) :
+                        new MajorAttackMove(board, movedPiece, destinationPosition, attackedPiece);
+                default -> pawn ?
+                        new PawnMove(board, movedPiece, destinationPosition) :
+                        new MajorMove(board, movedPiece, destinationPosition);
+            };
         }
     }
 }
@@ -6,6 +6,11 @@ import com.chess.engine.moves.Move;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
 
+import static com.chess.engine.board.GameState.NO_EN_PASSANT_FILE;
+import static com.chess.engine.board.Zobrist.PieceKey;
+import static com.chess.engine.pieces.Piece.CreatePiece;
+import static com.chess.engine.pieces.Piece.PieceType.ROOK;
+
 /**
  * This class serves as a blueprint for the two castling moves.
  */
@@ -57,24 +62,23 @@ abstract class CastleMove extends Move {
      */
     @Override
     public Board execute() {
-        final Builder builder = new Builder();
-        // Set all the player's pieces on the same tiles aside from the moving Rook
-        for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-            if (!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
-        // Set all the opponent's pieces on the same tiles
-        for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-            builder.setPiece(piece);
-        }
+        final Builder builder = Builder.ForThread();
+        // Set all the pieces on the same tiles aside from the moving King and Rook
+        builder.setPieces(this.board).removePiece(getCurrentPosition()).removePiece(this.castleRookStart);
         // Move the moved King
-        builder.setPiece(this.movedPiece.movePiece(this));
-        // TODO: look into the first move of normal pieces
-        // Move the moved Rook
-        builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookEnd));
+        final Piece arrivedKing = this.movedPiece.movePiece(this);
+        builder.setPiece(arrivedKing);
+        // Move the moved Rook (it cannot castle again)
+        final Piece arrivedRook = CreatePiece(ROOK, this.castleRook.getPieceAlliance(), this.castleRookEnd, false);
+        builder.setPiece(arrivedRook);
         // Set the next move maker to be the opponent
         builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+        // The King's move already drops both castling rights, so only the Rook is left to rehash
+        final int gameState = updateGameState(NO_EN_PASSANT_FILE);
+        builder.setGameState(gameState);
+        builder.setZobristKey(updateZobristKey(arrivedKing, gameState) ^
+                              PieceKey(this.castleRook) ^
+                              PieceKey(arrivedRook));
 
         return builder.build();
     }
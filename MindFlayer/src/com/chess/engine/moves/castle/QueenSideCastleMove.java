@@ -4,6 +4,8 @@ import com.chess.engine.board.Board;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
 
+import static com.chess.engine.moves.misc.PackedMove.QUEEN_SIDE_CASTLE;
+
 /**
  * This class represents the Queen-side castle.
  */
@@ -26,6 +28,16 @@ public final class QueenSideCastleMove extends CastleMove {
         super(board, movedPiece, destinationPosition, castleRook, castleRookStart, castleRookEnd);
     }
 //----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return the PackedMove flag for a Queen-side castle
+     */
+    @Override
+    protected int getPackedFlag() {
+        return QUEEN_SIDE_CASTLE;
+    }
+//----------------------------------------------------------------------------------------------------------------------
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
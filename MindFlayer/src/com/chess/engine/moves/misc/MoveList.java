@@ -0,0 +1,131 @@
+package com.chess.engine.moves.misc;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.Position.MAX_MOVES;
+import static com.chess.engine.moves.misc.PackedMove.IsAttack;
+
+/**
+ * This class is a reusable list of packed moves (see PackedMove) backed by an int[],
+ * so generating the moves of a position does not create a single object.
+ * Every move also has an ordering score, which is what a search picks the next move by.
+ */
+public final class MoveList {
+    private final int[] moves;
+    private final int[] scores;
+    private int size;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a MoveList object with room for the moves of any position.
+     */
+    public MoveList() {
+        this.moves = new int[MAX_MOVES];
+        this.scores = new int[MAX_MOVES];
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param move the packed move to append
+     */
+    public void add(final int move) {
+        this.moves[this.size++] = move;
+    }
+
+    /**
+     * @param index where the move is in the list
+     * @return the packed move
+     */
+    public int get(final int index) {
+        return this.moves[index];
+    }
+
+    /**
+     * @return how many moves are in the list
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return whether the list has no moves
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Empties the list so it can be filled again (nothing is freed).
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * @param move the packed move
+     * @return whether the list has the move
+     */
+    public boolean contains(final int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.moves[i] == move) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Drops every move that does not capture a piece, keeping the order of the others.
+     */
+    public void retainAttacks() {
+        int attacks = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (IsAttack(this.moves[i])) {
+                this.moves[attacks++] = this.moves[i];
+            }
+        }
+        this.size = attacks;
+    }
+
+    /**
+     * @param index where the move is in the list
+     * @param score how promising the move is (higher moves are picked first)
+     */
+    public void setScore(final int index, final int score) {
+        this.scores[index] = score;
+    }
+
+    /**
+     * Swaps the best scored move among the remaining ones into place (moves are picked one at a time
+     * since a cutoff usually makes sorting all of them wasted work).
+     *
+     * @param index how many moves have been picked already
+     * @return the best remaining move
+     */
+    public int pickBest(final int index) {
+        int bestIndex = index;
+        for (int i = index + 1; i < this.size; i++) {
+            if (this.scores[i] > this.scores[bestIndex]) {
+                bestIndex = i;
+            }
+        }
+        final int move = this.moves[bestIndex];
+        this.moves[bestIndex] = this.moves[index];
+        this.moves[index] = move;
+        final int score = this.scores[bestIndex];
+        this.scores[bestIndex] = this.scores[index];
+        this.scores[index] = score;
+
+        return move;
+    }
+
+    /**
+     * @return a copy of the moves in the list
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(this.moves, this.size);
+    }
+}
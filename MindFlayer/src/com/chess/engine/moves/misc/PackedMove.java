@@ -0,0 +1,205 @@
+package com.chess.engine.moves.misc;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+import static com.chess.engine.board.BoardUtils.GetPositionStringAtPosition;
+import static com.chess.engine.utils.Constants.BitBoardConstants.PIECE_TYPES;
+
+/**
+ * This class packs a move into a single int so it can be stored and replayed without creating a Move object.
+ * Bits 0-5 hold the start position, bits 6-11 the destination position and bits 12-15 the move flag;
+ * these 16 bits (the base move) are enough to replay the move on its position.
+ * Bits 16-19 hold the moved piece's bitboard index and bits 20-23 the captured piece's bitboard index plus one
+ * (0 if nothing is captured), so move ordering and decoding do not have to look at the board.
+ */
+public final class PackedMove {
+    public static final int NO_MOVE = 0;
+    public static final int NO_PIECE = -1;
+
+    public static final int QUIET = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int KING_SIDE_CASTLE = 2;
+    public static final int QUEEN_SIDE_CASTLE = 3;
+    public static final int ATTACK = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int KNIGHT_PROMOTION = 8;
+    public static final int BISHOP_PROMOTION = 9;
+    public static final int ROOK_PROMOTION = 10;
+    public static final int QUEEN_PROMOTION = 11;
+
+    private static final int POSITION_MASK = 0x3F;
+    private static final int FLAG_MASK = 0xF;
+    private static final int PIECE_MASK = 0xF;
+    private static final int BASE_MOVE_MASK = 0xFFFF;
+    private static final PieceType[] PIECE_TYPES_BY_INDEX = PieceType.values();
+    private static final int PROMOTION_BIT = 8;
+    private static final int ATTACK_BIT = 4;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * A constructor for a PackedMove object (not really).
+     */
+    private PackedMove() {
+        throw new RuntimeException("PackedMove cannot be instantiated!");
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param currentPosition     where the piece currently is
+     * @param destinationPosition where the piece wants to move to
+     * @param flag                what kind of move it is
+     * @return the packed move
+     */
+    public static int Encode(final int currentPosition, final int destinationPosition, final int flag) {
+        return currentPosition | (destinationPosition << 6) | (flag << 12);
+    }
+
+    /**
+     * @param currentPosition     where the piece currently is
+     * @param destinationPosition where the piece wants to move to
+     * @param flag                what kind of move it is
+     * @param movedPiece          the moved piece's bitboard index
+     * @param attackedPiece       the captured piece's bitboard index (NO_PIECE if nothing is captured)
+     * @return the packed move
+     */
+    public static int Encode(final int currentPosition,
+                             final int destinationPosition,
+                             final int flag,
+                             final int movedPiece,
+                             final int attackedPiece) {
+        return Encode(currentPosition, destinationPosition, flag) | (movedPiece << 16) | ((attackedPiece + 1) << 20);
+    }
+
+    /**
+     * @param move the packed move
+     * @return where the moved piece starts
+     */
+    public static int CurrentPosition(final int move) {
+        return move & POSITION_MASK;
+    }
+
+    /**
+     * @param move the packed move
+     * @return where the moved piece ends up
+     */
+    public static int DestinationPosition(final int move) {
+        return (move >>> 6) & POSITION_MASK;
+    }
+
+    /**
+     * @param move the packed move
+     * @return what kind of move it is
+     */
+    public static int Flag(final int move) {
+        return (move >>> 12) & FLAG_MASK;
+    }
+
+    /**
+     * @param move the packed move
+     * @return the start position, destination position and flag without the piece fields
+     *         (what a TranspositionTable stores)
+     */
+    public static int BaseMove(final int move) {
+        return move & BASE_MOVE_MASK;
+    }
+
+    /**
+     * @param move the packed move
+     * @return the moved piece's bitboard index
+     */
+    public static int MovedPiece(final int move) {
+        return (move >>> 16) & PIECE_MASK;
+    }
+
+    /**
+     * @param move the packed move
+     * @return the captured piece's bitboard index (NO_PIECE if nothing is captured)
+     */
+    public static int AttackedPiece(final int move) {
+        return ((move >>> 20) & PIECE_MASK) - 1;
+    }
+
+    /**
+     * @param move the packed move
+     * @return the type of the moved piece
+     */
+    public static PieceType MovedPieceType(final int move) {
+        return PIECE_TYPES_BY_INDEX[MovedPiece(move) % PIECE_TYPES];
+    }
+
+    /**
+     * @param move the packed move
+     * @return the type of the captured piece (null if nothing is captured)
+     */
+    public static PieceType AttackedPieceType(final int move) {
+        final int attackedPiece = AttackedPiece(move);
+        return attackedPiece == NO_PIECE ? null : PIECE_TYPES_BY_INDEX[attackedPiece % PIECE_TYPES];
+    }
+
+    /**
+     * @param move the packed move
+     * @return whether the move captures a piece (including En Passant)
+     */
+    public static boolean IsAttack(final int move) {
+        return (Flag(move) & ATTACK_BIT) != 0;
+    }
+
+    /**
+     * @param move the packed move
+     * @return whether the move promotes a Pawn
+     */
+    public static boolean IsPromotion(final int move) {
+        return (Flag(move) & PROMOTION_BIT) != 0;
+    }
+
+    /**
+     * @param move the packed move
+     * @return whether the move is a castle
+     */
+    public static boolean IsCastle(final int move) {
+        final int flag = Flag(move);
+        return flag == KING_SIDE_CASTLE || flag == QUEEN_SIDE_CASTLE;
+    }
+
+    /**
+     * @param flag   the promotion flag without the attack bit (KNIGHT_PROMOTION to QUEEN_PROMOTION)
+     * @param attack whether the promotion also captures a piece
+     * @return the full promotion flag
+     */
+    public static int PromotionFlag(final int flag, final boolean attack) {
+        return attack ? flag | ATTACK_BIT : flag;
+    }
+
+    /**
+     * @param move the packed move
+     * @return the type the Pawn promotes to (null if the move is not a promotion)
+     */
+    public static PieceType PromotionType(final int move) {
+        return switch (Flag(move) & ~ATTACK_BIT) {
+            case KNIGHT_PROMOTION -> PieceType.KNIGHT;
+            case BISHOP_PROMOTION -> PieceType.BISHOP;
+            case ROOK_PROMOTION -> PieceType.ROOK;
+            case QUEEN_PROMOTION -> PieceType.QUEEN;
+            default -> null;
+        };
+    }
+
+    /**
+     * @param move the packed move
+     * @return the move in long algebraic notation (e.g. e2e4, e7e8q)
+     */
+    public static String ToString(final int move) {
+        final String promotion = switch (Flag(move) & ~ATTACK_BIT) {
+            case KNIGHT_PROMOTION -> "n";
+            case BISHOP_PROMOTION -> "b";
+            case ROOK_PROMOTION -> "r";
+            case QUEEN_PROMOTION -> "q";
+            default -> "";
+        };
+        return GetPositionStringAtPosition(CurrentPosition(move)) +
+               GetPositionStringAtPosition(DestinationPosition(move)) +
+               promotion;
+    }
+}
@@ -3,6 +3,8 @@ package com.chess.engine.moves.other;
 import com.chess.engine.board.Board;
 import com.chess.engine.moves.Move;
 
+import static com.chess.engine.moves.misc.PackedMove.NO_MOVE;
+
 /**
  * This class represents the null move, a move that cannot be found.
  */
@@ -28,6 +30,14 @@ public final class NullMove extends Move {
         throw new RuntimeException("There is nothing to do since the move is null!");
     }
 
+    /**
+     * @return the packed null move
+     */
+    @Override
+    public int encode() {
+        return NO_MOVE;
+    }
+
     /**
      * The current position is not on the board.
      *
@@ -5,6 +5,8 @@ import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
 
 import static com.chess.engine.board.BoardUtils.GetPositionStringAtPosition;
+import static com.chess.engine.board.GameState.NO_EN_PASSANT_FILE;
+import static com.chess.engine.moves.misc.PackedMove.EN_PASSANT;
 
 public final class PawnEnPassantAttackMove extends PawnAttackMove {
 //----------------------------------------------------------------------------------------------------------------------
@@ -33,27 +35,30 @@ public final class PawnEnPassantAttackMove extends PawnAttackMove {
      */
     @Override
     public Board execute() {
-        final Board.Builder builder = new Board.Builder();
-        // Set all the player's pieces on the same tiles except for the moved piece
-        for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-            // Determine whether the piece is not the moved piece
-            if (!this.movedPiece.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
-        // Set all the opponent's pieces on the same tiles (no moved pieces)
-        for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-            if (!piece.equals(this.getAttackedPiece())) {
-                builder.setPiece(piece);
-            }
-        }
+        final Board.Builder builder = Board.Builder.ForThread();
+        // Set all the pieces on the same tiles except for the moved Pawn and the attacked Pawn
+        builder.setPieces(this.board)
+               .removePiece(getCurrentPosition())
+               .removePiece(getAttackedPiece().getPiecePosition());
         // Move the En Passant Pawn
-        builder.setPiece(this.movedPiece.movePiece(this));
+        final Piece arrivedPiece = this.movedPiece.movePiece(this);
+        builder.setPiece(arrivedPiece);
         // Set the opponent as the next move maker
         builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+        final int gameState = updateGameState(NO_EN_PASSANT_FILE);
+        builder.setGameState(gameState);
+        builder.setZobristKey(updateZobristKey(arrivedPiece, gameState));
 
         return builder.build();
     }
+
+    /**
+     * @return the PackedMove flag for an En Passant attack
+     */
+    @Override
+    protected int getPackedFlag() {
+        return EN_PASSANT;
+    }
 //----------------------------------------------------------------------------------------------------------------------
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
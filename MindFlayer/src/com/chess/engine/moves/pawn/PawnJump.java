@@ -7,6 +7,8 @@ import com.chess.engine.pieces.Piece;
 
 import static com.chess.engine.board.Board.*;
 import static com.chess.engine.board.BoardUtils.GetPositionStringAtPosition;
+import static com.chess.engine.moves.misc.PackedMove.PAWN_JUMP;
+import static com.chess.engine.utils.Constants.BoardConstants.TILES_PER_RANK;
 
 /**
  * This class represents the Pawn two-tile advance.
@@ -33,29 +35,30 @@ public final class PawnJump extends Move {
      */
     @Override
     public Board execute() {
-        final Builder builder = new Builder();
-        // Set all the player's pieces on the same tiles except for the moved piece
-        for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-            // Determine whether the piece is not the moved piece
-            if (!this.movedPiece.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
-        // Set all the opponent's pieces on the same tiles (no moved pieces)
-        for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-            builder.setPiece(piece);
-        }
+        final Builder builder = Builder.ForThread();
+        // Set all the pieces on the same tiles except for the moved piece
+        builder.setPieces(this.board).removePiece(getCurrentPosition());
         // Determine the moved Pawn
         final Pawn movedPawn = (Pawn) this.movedPiece.movePiece(this);
         // Place the moved piece on the new board
         builder.setPiece(movedPawn);
-        // Set the Pawn as able to be attacked En Passant since its first move was a two-tile advance
-        builder.setEnPassantPawn(movedPawn);
         // Set the opponent as the next move maker
         builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+        // Set the Pawn as able to be attacked En Passant since its first move was a two-tile advance
+        final int gameState = updateGameState(this.destinationPosition % TILES_PER_RANK);
+        builder.setGameState(gameState);
+        builder.setZobristKey(updateZobristKey(movedPawn, gameState));
 
         return builder.build();
     }
+
+    /**
+     * @return the PackedMove flag for a Pawn two-tile advance
+     */
+    @Override
+    protected int getPackedFlag() {
+        return PAWN_JUMP;
+    }
 //----------------------------------------------------------------------------------------------------------------------
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
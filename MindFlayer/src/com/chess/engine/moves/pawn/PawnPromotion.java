@@ -5,6 +5,11 @@ import com.chess.engine.board.Board.Builder;
 import com.chess.engine.moves.Move;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import static com.chess.engine.board.GameState.NO_EN_PASSANT_FILE;
+import static com.chess.engine.moves.misc.PackedMove.*;
+import static com.chess.engine.pieces.Piece.PieceType.QUEEN;
 
 /**
  * This class represents the Pawn promotion and follows the decorated pattern.
@@ -12,6 +17,7 @@ import com.chess.engine.pieces.Piece;
 public class PawnPromotion extends Move {
     final Move decoratedMove;
     final Pawn promotedPawn;
+    final PieceType promotionType;
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
@@ -23,9 +29,20 @@ public class PawnPromotion extends Move {
      * @param decoratedMove the move that follows the decorator pattern
      */
     public PawnPromotion(final Move decoratedMove) {
+        this(decoratedMove, QUEEN);
+    }
+
+    /**
+     * Constructor for a PawnPromotion object that promotes into a chosen piece.
+     *
+     * @param decoratedMove the move that follows the decorator pattern
+     * @param promotionType what the Pawn promotes to (Queen, Rook, Bishop or Knight)
+     */
+    public PawnPromotion(final Move decoratedMove, final PieceType promotionType) {
         super(decoratedMove.getBoard(), decoratedMove.getMovedPiece(), decoratedMove.getDestinationPosition());
         this.decoratedMove = decoratedMove;
         this.promotedPawn = (Pawn) decoratedMove.getMovedPiece();
+        this.promotionType = promotionType;
     }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
@@ -35,27 +52,29 @@ public class PawnPromotion extends Move {
      */
     @Override
     public Board execute() {
-        final Builder builder = new Builder();
-        // Get the board when the Pawn moves
-        final Board boardWithMovedPawn = this.decoratedMove.execute();
-        // Set all the player's pieces aside from the promoting Pawn on their current tiles
-        for (final Piece piece : boardWithMovedPawn.getCurrentPlayer().getActivePieces()) {
-            if (!this.promotedPawn.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
-        // Set all the opponent's pieces on their current tiles
-        for (final Piece piece : boardWithMovedPawn.getCurrentPlayer().getOpponent().getActivePieces()) {
-            builder.setPiece(piece);
-        }
-        // Set the promoted Pawn
-        builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
+        final Builder builder = Builder.ForThread();
+        // Set all the pieces aside from the promoting Pawn on their current tiles
+        builder.setPieces(this.board).removePiece(getCurrentPosition());
+        // Set the promoted piece straight on the destination tile (replacing the attacked piece)
+        final Piece promotionPiece = this.promotedPawn.getPromotionPiece(this.promotionType).movePiece(this);
+        builder.setPiece(promotionPiece);
         // Set the move maker to the opponent
-        builder.setMoveMaker(boardWithMovedPawn.getCurrentPlayer().getOpponent().getAlliance());
+        builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+        // The Pawn leaves its tile and the promoted piece arrives
+        final int gameState = updateGameState(NO_EN_PASSANT_FILE);
+        builder.setGameState(gameState);
+        builder.setZobristKey(updateZobristKey(promotionPiece, gameState));
 
         return builder.build();
     }
 
+    /**
+     * @return what the Pawn promotes to
+     */
+    public PieceType getPromotionType() {
+        return this.promotionType;
+    }
+
     /**
      * @return whether the move is Pawn promotion into an attack
      */
@@ -71,6 +90,20 @@ public class PawnPromotion extends Move {
     public Piece getAttackedPiece() {
         return this.decoratedMove.getAttackedPiece();
     }
+
+    /**
+     * @return the PackedMove flag for a promotion to the promotion type
+     */
+    @Override
+    protected int getPackedFlag() {
+        final int flag = switch (this.promotionType) {
+            case ROOK -> ROOK_PROMOTION;
+            case BISHOP -> BISHOP_PROMOTION;
+            case KNIGHT -> KNIGHT_PROMOTION;
+            default -> QUEEN_PROMOTION;
+        };
+        return PromotionFlag(flag, isAttack());
+    }
 //----------------------------------------------------------------------------------------------------------------------
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
@@ -82,7 +115,10 @@ public class PawnPromotion extends Move {
      */
     @Override
     public boolean equals(final Object other) {
-        return this == other || (other instanceof PawnPromotion && super.equals(other));
+        return this == other ||
+               (other instanceof PawnPromotion &&
+                super.equals(other) &&
+                this.promotionType == ((PawnPromotion) other).getPromotionType());
     }
 
     /**
@@ -90,7 +126,7 @@ public class PawnPromotion extends Move {
      */
     @Override
     public int hashCode() {
-        return decoratedMove.hashCode() + (31 * promotedPawn.hashCode());
+        return decoratedMove.hashCode() + (31 * promotedPawn.hashCode()) + promotionType.hashCode();
     }
 
     /**
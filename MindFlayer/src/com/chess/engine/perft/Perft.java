@@ -0,0 +1,205 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.misc.MoveList;
+import com.chess.engine.moves.misc.MoveTransition;
+import com.chess.engine.search.TranspositionTable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.chess.engine.moves.misc.PackedMove.ToString;
+
+/**
+ * This class counts the leaf nodes of the move generation tree (perft) to a given depth.
+ * Comparing the counts with known ones is the standard way of finding move generation bugs,
+ * and timing them measures the move generator's throughput.
+ */
+public final class Perft {
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * A constructor for a Perft object (not really).
+     */
+    private Perft() {
+        throw new RuntimeException("Perft cannot be instantiated!");
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Counts the leaf nodes with the Position's make/unmake move generator.
+     *
+     * @param position where the count starts (restored afterwards)
+     * @param depth    how many plies deep to count
+     * @return how many leaf nodes there are at the depth
+     */
+    public static long CountNodes(final Position position, final int depth) {
+        return CountNodes(position, depth, NewMoveLists(depth));
+    }
+
+    /**
+     * Counts the leaf nodes with the Position's make/unmake move generator,
+     * looking up every subtree that was already counted (transpositions) in the table.
+     *
+     * @param position where the count starts (restored afterwards)
+     * @param depth    how many plies deep to count
+     * @param table    where the subtree counts are remembered
+     * @return how many leaf nodes there are at the depth
+     */
+    public static long CountNodes(final Position position, final int depth, final TranspositionTable table) {
+        return CountNodes(position, depth, NewMoveLists(depth), table);
+    }
+
+    /**
+     * Counts the leaf nodes by executing every legal Move into a new Board.
+     *
+     * @param board where the count starts
+     * @param depth how many plies deep to count
+     * @return how many leaf nodes there are at the depth
+     */
+    public static long CountNodes(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1L;
+        }
+        long nodes = 0L;
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            // Determine whether the move leaves the player's King in check
+            if (transition.getMoveStatus().isDone()) {
+                nodes += CountNodes(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf nodes by executing every legal Move into a new Board,
+     * looking up every subtree that was already counted (transpositions) in the table.
+     *
+     * @param board where the count starts
+     * @param depth how many plies deep to count
+     * @param table where the subtree counts are remembered
+     * @return how many leaf nodes there are at the depth
+     */
+    public static long CountNodes(final Board board, final int depth, final TranspositionTable table) {
+        if (depth == 0) {
+            return 1L;
+        }
+        final long storedNodes = table.probeNodes(board.getZobristKey(), depth);
+        if (storedNodes >= 0) {
+            return storedNodes;
+        }
+        long nodes = 0L;
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += CountNodes(transition.getTransitionBoard(), depth - 1, table);
+            }
+        }
+        table.storeNodes(board.getZobristKey(), depth, nodes);
+
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf nodes below every root move separately.
+     * Comparing the counts with another engine's shows which move has the faulty subtree.
+     *
+     * @param position where the count starts (restored afterwards)
+     * @param depth    how many plies deep to count (at least 1)
+     * @return each root move in long algebraic notation and its leaf node count
+     */
+    public static Map<String, Long> Divide(final Position position, final int depth) {
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        final MoveList moves = new MoveList();
+        position.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            divide.put(ToString(moves.get(i)), CountNodes(position, depth - 1));
+            position.unmakeMove();
+        }
+
+        return divide;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Counts the leaf nodes with one move list per ply so nothing is allocated while counting.
+     * The last ply is not made since the number of legal moves is already the number of leaf nodes.
+     *
+     * @param position    where the count starts
+     * @param depth       how many plies deep to count
+     * @param moveLists   a move list for every remaining ply
+     * @return how many leaf nodes there are at the depth
+     */
+    private static long CountNodes(final Position position, final int depth, final MoveList[] moveLists) {
+        if (depth == 0) {
+            return 1L;
+        }
+        final MoveList moves = moveLists[depth - 1];
+        position.generateLegalMoves(moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0L;
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            nodes += CountNodes(position, depth - 1, moveLists);
+            position.unmakeMove();
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf nodes like CountNodes above, but looks every subtree of two or more plies up in the table first.
+     *
+     * @param position    where the count starts
+     * @param depth       how many plies deep to count
+     * @param moveLists   a move list for every remaining ply
+     * @param table       where the subtree counts are remembered
+     * @return how many leaf nodes there are at the depth
+     */
+    private static long CountNodes(final Position position,
+                                   final int depth,
+                                   final MoveList[] moveLists,
+                                   final TranspositionTable table) {
+        if (depth < 2) {
+            return CountNodes(position, depth, moveLists);
+        }
+        final long storedNodes = table.probeNodes(position.getZobristKey(), depth);
+        if (storedNodes >= 0) {
+            return storedNodes;
+        }
+        final MoveList moves = moveLists[depth - 1];
+        position.generateLegalMoves(moves);
+        long nodes = 0L;
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            nodes += CountNodes(position, depth - 1, moveLists, table);
+            position.unmakeMove();
+        }
+        table.storeNodes(position.getZobristKey(), depth, nodes);
+
+        return nodes;
+    }
+
+    /**
+     * @param depth how many plies deep the count goes
+     * @return a move list for every ply
+     */
+    private static MoveList[] NewMoveLists(final int depth) {
+        final MoveList[] moveLists = new MoveList[depth];
+        for (int i = 0; i < depth; i++) {
+            moveLists[i] = new MoveList();
+        }
+
+        return moveLists;
+    }
+}
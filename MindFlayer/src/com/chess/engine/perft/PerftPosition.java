@@ -0,0 +1,87 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+
+/**
+ * This enum holds reference positions with known perft node counts.
+ * Besides the usual test positions, there are positions for En Passant, castling and promotion edge cases.
+ */
+public enum PerftPosition {
+    INITIAL("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", 5, 4_865_609L),
+    KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 4, 4_085_603L),
+    ROOK_ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 5, 674_624L),
+    PROMOTIONS("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 4, 422_333L),
+    MIDDLEGAME("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 4, 2_103_487L),
+    SYMMETRICAL("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 4, 3_894_594L),
+    EN_PASSANT_PINNED("3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1", 6, 1_134_888L),
+    EN_PASSANT_CHECKED("8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1", 6, 1_440_467L),
+    EN_PASSANT_GIVES_CHECK("8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1", 6, 1_015_133L),
+    KING_SIDE_CASTLE_GIVES_CHECK("5k2/8/8/8/8/8/8/4K2R w K - 0 1", 6, 661_072L),
+    QUEEN_SIDE_CASTLE_GIVES_CHECK("3k4/8/8/8/8/8/8/R3K3 w Q - 0 1", 6, 803_711L),
+    CASTLING_RIGHTS_LOST("r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1", 4, 1_274_206L),
+    CASTLING_PREVENTED("r3k2r/8/3Q4/8/8/5q2/8/R3K2R b KQkq - 0 1", 4, 1_720_476L),
+    PROMOTION_OUT_OF_CHECK("2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1", 6, 3_821_001L),
+    DISCOVERED_CHECK("8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1", 5, 1_004_658L),
+    UNDERPROMOTION_GIVES_CHECK("4k3/1P6/8/8/8/8/K7/8 w - - 0 1", 6, 217_342L),
+    PROMOTION_GIVES_CHECK("8/P1k5/K7/8/8/8/8/8 w - - 0 1", 6, 92_683L),
+    SELF_STALEMATE("K1k5/8/P7/8/8/8/8/8 w - - 0 1", 6, 2_217L),
+    STALEMATE_AND_CHECKMATE("8/k1P5/8/1K6/8/8/8/8 w - - 0 1", 7, 567_584L),
+    KNIGHT_AND_QUEEN_CHECKMATE("8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1", 4, 23_527L);
+
+    private final String fen;
+    private final int depth;
+    private final long nodes;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a PerftPosition object.
+     *
+     * @param fen   the position in Forsyth-Edwards Notation
+     * @param depth the depth the node count is known for
+     * @param nodes the known node count
+     */
+    PerftPosition(final String fen, final int depth, final long nodes) {
+        this.fen = fen;
+        this.depth = depth;
+        this.nodes = nodes;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return the position in Forsyth-Edwards Notation
+     */
+    public String getFen() {
+        return this.fen;
+    }
+
+    /**
+     * @return the depth the node count is known for
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * @return the known node count at the depth
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @return a search Position for the reference position
+     */
+    public Position createPosition() {
+        return new Position(createBoard());
+    }
+
+    /**
+     * @return a board for the reference position
+     */
+    public Board createBoard() {
+        return Board.FromFen(this.fen);
+    }
+}
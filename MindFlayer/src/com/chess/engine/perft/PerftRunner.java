@@ -0,0 +1,78 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+import com.chess.engine.search.TranspositionTable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This starts a perft run over every reference position and reports node counts and nodes per second.
+ * Passing "board" also runs the Board/Move generator (one ply shallower, since it is slower),
+ * and passing "hash" also runs the Position count with a transposition table.
+ */
+public class PerftRunner {
+    private static final int TABLE_MEGABYTES = 64;
+
+    public static void main(String[] args) {
+        final List<String> arguments = Arrays.asList(args);
+        final boolean includeBoard = arguments.contains("board");
+        final TranspositionTable table = arguments.contains("hash") ? new TranspositionTable(TABLE_MEGABYTES) : null;
+
+        for (final PerftPosition perftPosition : PerftPosition.values()) {
+            final Position position = perftPosition.createPosition();
+            long start = System.nanoTime();
+            final long nodes = Perft.CountNodes(position, perftPosition.getDepth());
+            Report(perftPosition + " (Position)", perftPosition.getDepth(), nodes, perftPosition.getNodes(), start);
+
+            if (table != null) {
+                table.clear();
+                start = System.nanoTime();
+                final long hashedNodes = Perft.CountNodes(position, perftPosition.getDepth(), table);
+                Report(perftPosition + " (Position, hashed)",
+                       perftPosition.getDepth(),
+                       hashedNodes,
+                       perftPosition.getNodes(),
+                       start);
+                System.out.printf("%-45s hit rate %.1f%%, fill %.1f%% of %,d entries%n",
+                                  "",
+                                  table.getHitRate(),
+                                  table.getFillPercentage(),
+                                  table.getCapacity());
+            }
+
+            if (includeBoard) {
+                final Board board = perftPosition.createBoard();
+                final int depth = perftPosition.getDepth() - 1;
+                start = System.nanoTime();
+                final long boardNodes = Perft.CountNodes(board, depth);
+                Report(perftPosition + " (Board)", depth, boardNodes, Perft.CountNodes(position, depth), start);
+            }
+        }
+    }
+
+    /**
+     * Prints a perft result.
+     *
+     * @param name          what was counted
+     * @param depth         how deep it was counted
+     * @param nodes         the counted leaf nodes
+     * @param expectedNodes the known leaf nodes
+     * @param start         when the count started (in nanoseconds)
+     */
+    private static void Report(final String name,
+                               final int depth,
+                               final long nodes,
+                               final long expectedNodes,
+                               final long start) {
+        final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%-45s depth %d: %,13d nodes %-6s %8.3f s %,13.0f nodes/s%n",
+                          name,
+                          depth,
+                          nodes,
+                          nodes == expectedNodes ? "OK" : "FAILED",
+                          seconds,
+                          nodes / seconds);
+    }
+}
@@ -0,0 +1,14 @@
+package com.chess.engine.pgn;
+
+/**
+ * This interface receives the games a PgnImporter replayed, in the order they appear in the PGN file
+ * (e.g. to build a position index, gather statistics or write training data).
+ * It is only ever called from one thread at a time.
+ */
+@FunctionalInterface
+public interface GameSink {
+    /**
+     * @param importedGame the next game that was replayed completely
+     */
+    void accept(ImportedGame importedGame);
+}
@@ -0,0 +1,109 @@
+package com.chess.engine.pgn;
+
+import java.util.Map;
+
+/**
+ * This class represents a game that was replayed through the engine, kept as compact data only: the game's tags and
+ * result, where every move was in the move maker's legal moves and the Zobrist key of every position it went through.
+ * It holds no Move or Board (a Move keeps its whole Board alive), so many games can be kept while they wait for a sink.
+ */
+public final class ImportedGame {
+    private static final int INDEX_BITS = 16;
+    private static final int INDEX_MASK = 0xFFFF;
+
+    private final Map<String, String> tags;
+    private final String result;
+    private final int[] moves;
+    private final long[] positionKeys;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for an ImportedGame object.
+     *
+     * @param tags         the tag pairs
+     * @param result       1-0, 0-1, 1/2-1/2 or *
+     * @param moves        every move packed by PackMove
+     * @param positionKeys the Zobrist key of the start position and of the position after every move
+     */
+    public ImportedGame(final Map<String, String> tags,
+                        final String result,
+                        final int[] moves,
+                        final long[] positionKeys) {
+        this.tags = tags;
+        this.result = result;
+        this.moves = moves;
+        this.positionKeys = positionKeys;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param legalMoveIndex where the move is in the move maker's legal moves
+     * @param legalMoveCount how many legal moves the move maker has
+     * @return the move packed into an int
+     */
+    public static int PackMove(final int legalMoveIndex, final int legalMoveCount) {
+        return (legalMoveCount << INDEX_BITS) | legalMoveIndex;
+    }
+
+    /**
+     * @return the tag pairs
+     */
+    public Map<String, String> getTags() {
+        return this.tags;
+    }
+
+    /**
+     * @param name the tag's name
+     * @return the tag's value (null if the game does not have the tag)
+     */
+    public String getTag(final String name) {
+        return this.tags.get(name);
+    }
+
+    /**
+     * @return 1-0, 0-1, 1/2-1/2 or *
+     */
+    public String getResult() {
+        return this.result;
+    }
+
+    /**
+     * @return how many moves (plies) the game has
+     */
+    public int getPlyCount() {
+        return this.moves.length;
+    }
+
+    /**
+     * @param ply how many moves were played before the move (0 for the first move)
+     * @return where the move is in the move maker's legal moves (see Player.getLegalMove)
+     */
+    public int getLegalMoveIndex(final int ply) {
+        return this.moves[ply] & INDEX_MASK;
+    }
+
+    /**
+     * @param ply how many moves were played before the move (0 for the first move)
+     * @return how many legal moves the move maker had
+     */
+    public int getLegalMoveCount(final int ply) {
+        return this.moves[ply] >>> INDEX_BITS;
+    }
+
+    /**
+     * @param ply how many moves were played (0 for the start position)
+     * @return the Zobrist key of the position after that many moves
+     */
+    public long getPositionKey(final int ply) {
+        return this.positionKeys[ply];
+    }
+
+    /**
+     * @return how many positions the game went through (one more than its moves)
+     */
+    public int getPositionCount() {
+        return this.positionKeys.length;
+    }
+}
@@ -0,0 +1,86 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.Board;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents one game read from a PGN file: its tag pairs, its moves in Standard Algebraic Notation (SAN)
+ * and its result. Comments, variations and annotations are dropped by the PgnReader.
+ */
+public final class PgnGame {
+    public static final String WHITE_WINS = "1-0";
+    public static final String BLACK_WINS = "0-1";
+    public static final String DRAW = "1/2-1/2";
+    public static final String UNKNOWN_RESULT = "*";
+
+    private final Map<String, String> tags;
+    private final List<String> moves;
+    private final String result;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a PgnGame object.
+     *
+     * @param tags   the tag pairs (e.g. Event, White, Black)
+     * @param moves  the moves in SAN
+     * @param result 1-0, 0-1, 1/2-1/2 or * (UNKNOWN_RESULT)
+     */
+    public PgnGame(final Map<String, String> tags, final List<String> moves, final String result) {
+        this.tags = Collections.unmodifiableMap(tags);
+        this.moves = Collections.unmodifiableList(moves);
+        this.result = result;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return the tag pairs
+     */
+    public Map<String, String> getTags() {
+        return this.tags;
+    }
+
+    /**
+     * @param name the tag's name
+     * @return the tag's value (null if the game does not have the tag)
+     */
+    public String getTag(final String name) {
+        return this.tags.get(name);
+    }
+
+    /**
+     * @return the moves in SAN
+     */
+    public List<String> getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * @return 1-0, 0-1, 1/2-1/2 or * (UNKNOWN_RESULT)
+     */
+    public String getResult() {
+        return this.result;
+    }
+
+    /**
+     * @return the board the game starts from (the FEN tag's position if the game has one)
+     */
+    public Board createStartBoard() {
+        final String fen = getTag("FEN");
+        return fen == null ? Board.CreateStandardBoard() : Board.FromFen(fen);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------- Special Overridden Methods ---------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return a String version of the game
+     */
+    @Override
+    public String toString() {
+        return getTag("White") + " - " + getTag("Black") + " " + this.result + " (" + this.moves.size() + " plies)";
+    }
+}
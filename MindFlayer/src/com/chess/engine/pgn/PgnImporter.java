@@ -0,0 +1,225 @@
+package com.chess.engine.pgn;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class imports a PGN database on all cores. The file is split at game boundaries into chunks that are
+ * memory-mapped and replayed independently on a fork-join pool (replaying is CPU-bound, since every ply builds a
+ * new board with both players' legal moves). The replayed games are handed to a sink in file order, and only a few
+ * chunks per worker are in flight at a time. Since a replayed game is compact (see ImportedGame) and takes about twice
+ * the space of its PGN text, memory stays bounded by a few chunk sizes per worker however large the file is.
+ */
+public final class PgnImporter {
+    public static final long DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private static final int CHUNKS_PER_WORKER = 2;
+    private static final int SCAN_BUFFER_SIZE = 1 << 12;
+
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+    private final AtomicInteger chunksInFlight = new AtomicInteger();
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a PgnImporter object.
+     *
+     * @param pool      where the chunks are replayed
+     * @param chunkSize roughly how many bytes of the file each chunk holds (a chunk ends at the next game boundary)
+     */
+    public PgnImporter(final ForkJoinPool pool, final long chunkSize) {
+        if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE) {
+            throw new RuntimeException("Invalid chunk size: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Constructor for a PgnImporter object that uses the common pool and the default chunk size.
+     */
+    public PgnImporter() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Replays every game of a PGN file and hands the completely replayed ones to a sink in file order.
+     *
+     * @param path the PGN file
+     * @param sink where the replayed games go
+     * @return the merged statistics of all chunks (the stage times add up the time spent on every worker)
+     * @throws IOException if the file cannot be read
+     */
+    public PgnReplayer importFile(final Path path, final GameSink sink) throws IOException {
+        final long startTime = System.nanoTime();
+        final PgnReplayer statistics = new PgnReplayer();
+        final Deque<ChunkTask> inFlight = new ArrayDeque<>();
+        final int maxInFlight = getMaxChunksInFlight();
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long chunkStart = 0;
+            while (chunkStart < size) {
+                final long chunkEnd = NextGameStart(channel, Math.min(chunkStart + this.chunkSize, size), size);
+                if (chunkEnd - chunkStart > Integer.MAX_VALUE) {
+                    throw new RuntimeException("A game is too large to map at byte " + chunkStart);
+                }
+                final MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                           chunkStart,
+                                                           chunkEnd - chunkStart);
+                final ChunkTask task = new ChunkTask(chunk);
+                this.pool.execute(task);
+                inFlight.addLast(task);
+                this.chunksInFlight.incrementAndGet();
+                chunkStart = chunkEnd;
+                // Hand finished chunks to the sink in order before mapping more of the file
+                while (inFlight.size() >= maxInFlight) {
+                    drain(inFlight.removeFirst(), statistics, sink);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                drain(inFlight.removeFirst(), statistics, sink);
+            }
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            // Let the remaining chunks finish before their mappings can be released
+            inFlight.forEach(ChunkTask::quietlyJoin);
+            this.chunksInFlight.addAndGet(-inFlight.size());
+        }
+        statistics.addElapsedNanos(System.nanoTime() - startTime);
+
+        return statistics;
+    }
+
+    /**
+     * @return how many chunks an import keeps in flight at most (a few per worker)
+     */
+    public int getMaxChunksInFlight() {
+        return this.pool.getParallelism() * CHUNKS_PER_WORKER;
+    }
+
+    /**
+     * @return how many chunks the imports running on this importer have mapped without handing all their games to
+     *         the sink yet
+     */
+    public int getChunksInFlight() {
+        return this.chunksInFlight.get();
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Waits for a chunk, then hands its games to the sink and adds its statistics.
+     *
+     * @param task       the chunk's task
+     * @param statistics where the chunk's statistics are added
+     * @param sink       where the chunk's games go
+     */
+    private void drain(final ChunkTask task, final PgnReplayer statistics, final GameSink sink) {
+        try {
+            for (final ImportedGame importedGame : task.join()) {
+                sink.accept(importedGame);
+            }
+            statistics.add(task.replayer);
+        } finally {
+            this.chunksInFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Finds where the first game after a position starts: at a tag line that does not follow another tag line.
+     * The line the position is in is never taken, since the line before it is not known.
+     *
+     * @param channel  the PGN file
+     * @param position where to start looking
+     * @param size     the file's size
+     * @return the position of the game's first tag (the file's size if no game starts after the position)
+     * @throws IOException if the file cannot be read
+     */
+    private static long NextGameStart(final FileChannel channel, final long position, final long size)
+            throws IOException {
+        final ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long offset = position;
+        boolean lineStart = false;
+        boolean afterTag = true;
+        while (offset < size) {
+            scanBuffer.clear();
+            final int read = channel.read(scanBuffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++, offset++) {
+                final byte b = scanBuffer.get(i);
+                if (b == '\n') {
+                    lineStart = true;
+                } else if (lineStart && b > ' ') {
+                    // The first character of a line that is not blank
+                    if (b == '[' && !afterTag) {
+                        return offset;
+                    }
+                    afterTag = b == '[';
+                    lineStart = false;
+                }
+            }
+        }
+        return size;
+    }
+//######################################################################################################################
+//###################################################### ChunkTask #####################################################
+//######################################################################################################################
+    /**
+     * This class replays the games of one chunk of the file.
+     */
+    private static final class ChunkTask extends RecursiveTask<List<ImportedGame>> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer chunk;
+        private final PgnReplayer replayer;
+        //--------------------------------------------------------------------------------------------------------------
+        //------------------------------------------------ Constructor -------------------------------------------------
+        //--------------------------------------------------------------------------------------------------------------
+        /**
+         * Constructor for a ChunkTask object.
+         *
+         * @param chunk the chunk's PGN text
+         */
+        private ChunkTask(final ByteBuffer chunk) {
+            this.chunk = chunk;
+            this.replayer = new PgnReplayer();
+        }
+        //--------------------------------------------------------------------------------------------------------------
+        //------------------------------------------------ Main Methods ------------------------------------------------
+        //--------------------------------------------------------------------------------------------------------------
+        /**
+         * @return the chunk's completely replayed games in order
+         */
+        @Override
+        protected List<ImportedGame> compute() {
+            final List<ImportedGame> importedGames = new ArrayList<>();
+            try {
+                this.replayer.replayAll(new PgnReader(this.chunk), importedGames);
+            } catch (final IOException e) {
+                // A mapped chunk is read without I/O calls
+                throw new UncheckedIOException(e);
+            }
+            return importedGames;
+        }
+    }
+}
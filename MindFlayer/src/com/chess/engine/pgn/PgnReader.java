@@ -0,0 +1,362 @@
+package com.chess.engine.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.chess.engine.pgn.PgnGame.*;
+
+/**
+ * This class reads PGN games one at a time from a channel through a fixed-size buffer,
+ * so a database of any size is streamed with bounded memory (only the current game is kept).
+ * Comments, variations, NAGs and escaped lines are skipped; move numbers are stripped from the moves.
+ * The bytes are read as they are (tag values are decoded as UTF-8), since move text is plain ASCII.
+ */
+public final class PgnReader implements Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final int EOF = -1;
+    private static final int INITIAL_TAG_BYTES = 64;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final StringBuilder token;
+    private byte[] tagBytes;
+    private long bytesRead;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a PgnReader object that streams a channel.
+     *
+     * @param channel    where the PGN text comes from
+     * @param bufferSize how many bytes are read from the channel at a time
+     */
+    public PgnReader(final ReadableByteChannel channel, final int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        // Start empty, so the first read fills the buffer
+        this.buffer.flip();
+        this.token = new StringBuilder();
+        this.tagBytes = new byte[INITIAL_TAG_BYTES];
+    }
+
+    /**
+     * Constructor for a PgnReader object that streams a channel with the default buffer size.
+     *
+     * @param channel where the PGN text comes from
+     */
+    public PgnReader(final ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor for a PgnReader object that reads PGN text already in memory (e.g. a mapped part of a file).
+     *
+     * @param buffer the PGN text between its position and limit (the buffer's position is not changed)
+     */
+    public PgnReader(final ByteBuffer buffer) {
+        this.channel = null;
+        this.buffer = buffer.slice();
+        this.token = new StringBuilder();
+        this.tagBytes = new byte[INITIAL_TAG_BYTES];
+    }
+
+    /**
+     * @param path the PGN file
+     * @return a PgnReader streaming the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static PgnReader Open(final Path path) throws IOException {
+        return new PgnReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Reads the next game. A game ends with its result, or when the next game's tags (or the end of the text) come
+     * before a result.
+     *
+     * @return the next game (null if there are no games left)
+     * @throws IOException if the channel cannot be read
+     */
+    public PgnGame nextGame() throws IOException {
+        final Map<String, String> tags = new LinkedHashMap<>();
+        final List<String> moves = new ArrayList<>();
+        while (true) {
+            final int next = skipWhitespace();
+            switch (next) {
+                case EOF -> {
+                    return tags.isEmpty() && moves.isEmpty() ? null : new PgnGame(tags, moves, UNKNOWN_RESULT);
+                }
+                case '[' -> {
+                    // The next game's tags without a result in between
+                    if (!moves.isEmpty()) {
+                        return new PgnGame(tags, moves, UNKNOWN_RESULT);
+                    }
+                    read();
+                    readTag(tags);
+                }
+                case '{' -> skipComment();
+                case ';', '%' -> skipLine();
+                case '(' -> skipVariation();
+                case ')' -> read();
+                case '$' -> {
+                    read();
+                    readToken();
+                }
+                default -> {
+                    readToken();
+                    final String result = ResultOf(this.token);
+                    if (result != null) {
+                        return new PgnGame(tags, moves, result);
+                    }
+                    final String move = StripMoveNumber(this.token);
+                    if (move != null) {
+                        moves.add(move);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return how many bytes were read so far
+     */
+    public long getBytesRead() {
+        return this.bytesRead;
+    }
+
+    /**
+     * Closes the channel (if the reader has one).
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return the next byte without consuming it (EOF at the end of the text)
+     * @throws IOException if the channel cannot be read
+     */
+    private int peek() throws IOException {
+        if (!this.buffer.hasRemaining() && !fill()) {
+            return EOF;
+        }
+        return this.buffer.get(this.buffer.position()) & 0xFF;
+    }
+
+    /**
+     * @return the next byte (EOF at the end of the text)
+     * @throws IOException if the channel cannot be read
+     */
+    private int read() throws IOException {
+        if (!this.buffer.hasRemaining() && !fill()) {
+            return EOF;
+        }
+        this.bytesRead++;
+        return this.buffer.get() & 0xFF;
+    }
+
+    /**
+     * Refills the buffer from the channel.
+     *
+     * @return whether there is anything left to read
+     * @throws IOException if the channel cannot be read
+     */
+    private boolean fill() throws IOException {
+        if (this.channel == null) {
+            return false;
+        }
+        this.buffer.clear();
+        int read;
+        do {
+            read = this.channel.read(this.buffer);
+        } while (read == 0);
+        this.buffer.flip();
+
+        return read > 0;
+    }
+
+    /**
+     * @return the first byte that is not whitespace, without consuming it
+     * @throws IOException if the channel cannot be read
+     */
+    private int skipWhitespace() throws IOException {
+        int next = peek();
+        while (next != EOF && next <= ' ') {
+            read();
+            next = peek();
+        }
+        return next;
+    }
+
+    /**
+     * Reads the next token (a move, move number or result) into the token buffer.
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    private void readToken() throws IOException {
+        this.token.setLength(0);
+        int next = peek();
+        while (next > ' ' && next != '{' && next != '(' && next != ')' && next != '[' && next != ';' && next != '$') {
+            this.token.append((char) read());
+            next = peek();
+        }
+    }
+
+    /**
+     * Reads a tag pair such as [Event "Casual game"] (the opening bracket was already read).
+     *
+     * @param tags where the tag pair is put
+     * @throws IOException if the channel cannot be read
+     */
+    private void readTag(final Map<String, String> tags) throws IOException {
+        skipWhitespace();
+        this.token.setLength(0);
+        int next = peek();
+        while (next > ' ' && next != '"' && next != ']') {
+            this.token.append((char) read());
+            next = peek();
+        }
+        final String name = this.token.toString();
+        skipWhitespace();
+        int length = 0;
+        if (peek() == '"') {
+            read();
+            for (int c = read(); c != '"' && c != EOF; c = read()) {
+                // A backslash escapes a quote or another backslash
+                if (c == '\\') {
+                    c = read();
+                }
+                if (length == this.tagBytes.length) {
+                    this.tagBytes = Arrays.copyOf(this.tagBytes, length * 2);
+                }
+                this.tagBytes[length++] = (byte) c;
+            }
+        }
+        for (int c = read(); c != ']' && c != '\n' && c != EOF; c = read()) {
+            // Skip to the end of the tag
+        }
+        tags.put(name, new String(this.tagBytes, 0, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Skips a {comment} (comments do not nest).
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    private void skipComment() throws IOException {
+        for (int c = read(); c != '}' && c != EOF; c = read()) {
+            // Skip the comment's text
+        }
+    }
+
+    /**
+     * Skips a ; comment or % escaped line.
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    private void skipLine() throws IOException {
+        for (int c = read(); c != '\n' && c != EOF; c = read()) {
+            // Skip the rest of the line
+        }
+    }
+
+    /**
+     * Skips a (variation), including the variations and comments inside it.
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    private void skipVariation() throws IOException {
+        int depth = 0;
+        for (int c = read(); c != EOF; c = read()) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return;
+            } else if (c == '{') {
+                skipComment();
+            } else if (c == ';') {
+                skipLine();
+            }
+        }
+    }
+
+    /**
+     * @param token a token from the move text
+     * @return the game result the token stands for (null if the token is not a result)
+     */
+    private static String ResultOf(final CharSequence token) {
+        if (IsToken(token, WHITE_WINS)) {
+            return WHITE_WINS;
+        } else if (IsToken(token, BLACK_WINS)) {
+            return BLACK_WINS;
+        } else if (IsToken(token, DRAW)) {
+            return DRAW;
+        } else if (IsToken(token, UNKNOWN_RESULT)) {
+            return UNKNOWN_RESULT;
+        }
+        return null;
+    }
+
+    /**
+     * @param token a token from the move text (e.g. "12.", "12...", "12.Nf3" or "Nf3")
+     * @return the move without its move number (null if the token is only a move number)
+     */
+    private static String StripMoveNumber(final CharSequence token) {
+        int start = 0;
+        if (Character.isDigit(token.charAt(0))) {
+            int lastDot = -1;
+            boolean digitsOnly = true;
+            for (int i = 0; i < token.length(); i++) {
+                if (token.charAt(i) == '.') {
+                    lastDot = i;
+                } else if (!Character.isDigit(token.charAt(i))) {
+                    digitsOnly = false;
+                }
+            }
+            if (lastDot >= 0) {
+                start = lastDot + 1;
+            } else if (digitsOnly) {
+                // A move number without a dot
+                return null;
+            }
+            // Otherwise it is a castle written with zeros (0-0)
+        }
+        return start == token.length() ? null : token.subSequence(start, token.length()).toString();
+    }
+
+    /**
+     * @param token    a token from the move text
+     * @param expected what the token should be
+     * @return whether the token is the expected text
+     */
+    private static boolean IsToken(final CharSequence token, final String expected) {
+        if (token.length() != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
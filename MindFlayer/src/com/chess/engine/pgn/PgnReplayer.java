@@ -0,0 +1,229 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.misc.MoveTransition;
+import com.chess.engine.players.Player;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * This class plays every game of a PGN stream through the engine (resolving each SAN move against the legal moves)
+ * and measures how fast it goes. A game with a move that cannot be resolved is counted as failed and skipped.
+ * Besides the total time, the time is split into the three stages of a replay: tokenizing the PGN text,
+ * resolving the SAN moves and constructing the boards (executing the moves and generating the next legal moves).
+ */
+public final class PgnReplayer {
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final long NANOS_PER_MILLISECOND = 1_000_000;
+
+    private long games;
+    private long moves;
+    private long failedGames;
+    private long bytes;
+    private long elapsedNanos;
+    private long tokenizingNanos;
+    private long resolvingNanos;
+    private long boardNanos;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Replays every game the reader has left.
+     *
+     * @param reader where the games come from
+     * @return this replayer (with its counts and timing updated)
+     * @throws IOException if the reader cannot read its channel
+     */
+    public PgnReplayer replayAll(final PgnReader reader) throws IOException {
+        return replayAll(reader, null);
+    }
+
+    /**
+     * Replays every game the reader has left.
+     *
+     * @param reader        where the games come from
+     * @param importedGames where the games that were replayed completely are added (null if they are not needed)
+     * @return this replayer (with its counts and timing updated)
+     * @throws IOException if the reader cannot read its channel
+     */
+    public PgnReplayer replayAll(final PgnReader reader, final List<ImportedGame> importedGames) throws IOException {
+        final long startTime = System.nanoTime();
+        final long startBytes = reader.getBytesRead();
+        while (true) {
+            final long tokenizingStart = System.nanoTime();
+            final PgnGame game = reader.nextGame();
+            this.tokenizingNanos += System.nanoTime() - tokenizingStart;
+            if (game == null) {
+                break;
+            }
+            final ImportedGame importedGame = replay(game);
+            if (importedGame != null && importedGames != null) {
+                importedGames.add(importedGame);
+            }
+        }
+        this.bytes += reader.getBytesRead() - startBytes;
+        this.elapsedNanos += System.nanoTime() - startTime;
+
+        return this;
+    }
+
+    /**
+     * Replays a single game.
+     *
+     * @param game the game to replay
+     * @return the replayed game as compact data (null if one of its moves could not be played)
+     */
+    public ImportedGame replay(final PgnGame game) {
+        final List<String> sanMoves = game.getMoves();
+        final int[] playedMoves = new int[sanMoves.size()];
+        final long[] positionKeys = new long[sanMoves.size() + 1];
+        try {
+            long stageStart = System.nanoTime();
+            Board board = game.createStartBoard();
+            positionKeys[0] = board.getZobristKey();
+            for (int ply = 0; ply < playedMoves.length; ply++) {
+                final String san = sanMoves.get(ply);
+                // Players generate their legal moves lazily, so generate them here to charge them to the board stage
+                final Player player = board.getCurrentPlayer();
+                player.getLegalMoves();
+                final long resolvingStart = System.nanoTime();
+                this.boardNanos += resolvingStart - stageStart;
+                final Move move = PgnUtils.ResolveSan(board, san);
+                playedMoves[ply] = ImportedGame.PackMove(player.getLegalMoveIndex(move), player.getLegalMoves().size());
+                stageStart = System.nanoTime();
+                this.resolvingNanos += stageStart - resolvingStart;
+                final MoveTransition transition = player.makeMove(move);
+                if (!transition.getMoveStatus().isDone()) {
+                    throw new RuntimeException("Illegal SAN: " + san + "\n" + board);
+                }
+                board = transition.getTransitionBoard();
+                positionKeys[ply + 1] = board.getZobristKey();
+            }
+            this.boardNanos += System.nanoTime() - stageStart;
+        } catch (final RuntimeException e) {
+            this.failedGames++;
+            return null;
+        }
+        this.games++;
+        this.moves += playedMoves.length;
+
+        // Only the tags, the result, the move indices and the keys are kept, not the boards the moves were made on
+        return new ImportedGame(game.getTags(), game.getResult(), playedMoves, positionKeys);
+    }
+
+    /**
+     * Adds another replayer's counts and stage times to this one (its total time is not added, since replayers that
+     * ran side by side overlap).
+     *
+     * @param other the other replayer
+     * @return this replayer
+     */
+    public PgnReplayer add(final PgnReplayer other) {
+        this.games += other.games;
+        this.moves += other.moves;
+        this.failedGames += other.failedGames;
+        this.bytes += other.bytes;
+        this.tokenizingNanos += other.tokenizingNanos;
+        this.resolvingNanos += other.resolvingNanos;
+        this.boardNanos += other.boardNanos;
+
+        return this;
+    }
+
+    /**
+     * @return how many games were replayed completely
+     */
+    public long getGames() {
+        return this.games;
+    }
+
+    /**
+     * @return how many moves (plies) the completely replayed games had
+     */
+    public long getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * @return how many games had a move that could not be played
+     */
+    public long getFailedGames() {
+        return this.failedGames;
+    }
+
+    /**
+     * @return how many bytes of PGN text were read
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * @return the time spent tokenizing the PGN text (in nanoseconds)
+     */
+    public long getTokenizingNanos() {
+        return this.tokenizingNanos;
+    }
+
+    /**
+     * @return the time spent resolving SAN moves (in nanoseconds)
+     */
+    public long getResolvingNanos() {
+        return this.resolvingNanos;
+    }
+
+    /**
+     * @return the time spent constructing boards (in nanoseconds)
+     */
+    public long getBoardNanos() {
+        return this.boardNanos;
+    }
+
+    /**
+     * @return how many games were replayed per second
+     */
+    public double getGamesPerSecond() {
+        return perSecond(this.games);
+    }
+
+    /**
+     * @return how many moves were replayed per second
+     */
+    public double getMovesPerSecond() {
+        return perSecond(this.moves);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param elapsedNanos how long the replay took from start to finish (for replayers merged with add)
+     */
+    void addElapsedNanos(final long elapsedNanos) {
+        this.elapsedNanos += elapsedNanos;
+    }
+
+    /**
+     * @param count how many things were done
+     * @return how many of them were done per second (0 before anything is timed)
+     */
+    private double perSecond(final long count) {
+        return this.elapsedNanos == 0 ? 0 : count * NANOS_PER_SECOND / this.elapsedNanos;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------- Special Overridden Methods ---------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return the replay statistics
+     */
+    @Override
+    public String toString() {
+        return "Games: " + this.games + " (" + this.failedGames + " failed), Moves: " + this.moves +
+               ", Bytes: " + this.bytes + ", Time: " + this.elapsedNanos / NANOS_PER_MILLISECOND + " ms, " +
+               Math.round(getGamesPerSecond()) + " games/s, " + Math.round(getMovesPerSecond()) + " moves/s" +
+               "\nTokenizing: " + this.tokenizingNanos / NANOS_PER_MILLISECOND + " ms, " +
+               "Resolving: " + this.resolvingNanos / NANOS_PER_MILLISECOND + " ms, " +
+               "Board construction: " + this.boardNanos / NANOS_PER_MILLISECOND + " ms";
+    }
+}
@@ -0,0 +1,204 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.misc.MoveTransition;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.players.Player;
+
+import java.util.List;
+
+import static com.chess.engine.moves.Move.NULL_MOVE;
+import static com.chess.engine.utils.Constants.BoardConstants.TILES_PER_RANK;
+
+/**
+ * This class provides methods to turn PGN moves into the engine's moves.
+ */
+public final class PgnUtils {
+    private static final int NO_COORDINATE = -1;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * A constructor for a PgnUtils object (not really).
+     */
+    private PgnUtils() {
+        throw new RuntimeException("PgnUtils cannot be instantiated!");
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Resolves a move in Standard Algebraic Notation (e.g. "Nbd7", "exd6", "e8=Q+", "O-O") against the move maker's
+     * legal moves. Only the move maker's pieces of the moved type are tried, each by its tiles (see Player.getMove).
+     *
+     * @param board where the move is made
+     * @param san   the move in SAN (check, mate and annotation suffixes are ignored)
+     * @return the move (it is only checked for leaving the King in check when the SAN matches more than one move)
+     */
+    public static Move ResolveSan(final Board board, final CharSequence san) {
+        final Player player = board.getCurrentPlayer();
+        int end = san.length();
+        // Drop the check, mate and annotation suffixes
+        while (end > 0 && IsSuffix(san.charAt(end - 1))) {
+            end--;
+        }
+        if (end < 2) {
+            throw InvalidSan(san);
+        }
+        // Castles (sometimes written with zeros)
+        final char first = san.charAt(0);
+        if (first == 'O' || first == '0') {
+            return ResolveCastle(player, end >= 5 ? 2 : 6, san);
+        }
+        // The moved piece
+        int start = 0;
+        PieceType pieceType = PieceType.PAWN;
+        if (first >= 'A' && first <= 'Z') {
+            pieceType = PieceTypeOf(first, san);
+            start = 1;
+        }
+        // The promotion (with or without the equals sign)
+        PieceType promotionType = null;
+        final char last = san.charAt(end - 1);
+        if (pieceType == PieceType.PAWN && last >= 'A' && last <= 'Z') {
+            promotionType = PieceTypeOf(last, san);
+            end -= san.charAt(end - 2) == '=' ? 2 : 1;
+        }
+        // The destination tile is the last file and rank
+        if (end - start < 2) {
+            throw InvalidSan(san);
+        }
+        final int destinationPosition = TilePosition(san.charAt(end - 2), san.charAt(end - 1), san);
+        // Whatever is in between is the start file and/or rank (and the capture sign)
+        int currentFile = NO_COORDINATE;
+        int currentRank = NO_COORDINATE;
+        for (int i = start; i < end - 2; i++) {
+            final char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                currentFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                currentRank = TILES_PER_RANK - (c - '0');
+            } else if (c != 'x' && c != ':' && c != '-') {
+                throw InvalidSan(san);
+            }
+        }
+
+        Move resolvedMove = NULL_MOVE;
+        int matches = 0;
+        for (final Piece piece : player.getActivePieces()) {
+            final int currentPosition = piece.getPiecePosition();
+            if (piece.getPieceType() != pieceType ||
+                (currentFile != NO_COORDINATE && currentPosition % TILES_PER_RANK != currentFile) ||
+                (currentRank != NO_COORDINATE && currentPosition / TILES_PER_RANK != currentRank)) {
+                continue;
+            }
+            final Move move = player.getMove(currentPosition, destinationPosition, promotionType);
+            if (move == NULL_MOVE) {
+                continue;
+            }
+            // SAN only names the start tile when the other candidates are legal, so pinned pieces are ruled out
+            if (matches++ == 0) {
+                resolvedMove = move;
+            } else if (player.makeMove(move).getMoveStatus().isDone()) {
+                if (player.makeMove(resolvedMove).getMoveStatus().isDone()) {
+                    throw new RuntimeException("Ambiguous SAN: " + san + "\n" + board);
+                }
+                resolvedMove = move;
+            }
+        }
+        if (resolvedMove == NULL_MOVE) {
+            throw new RuntimeException("Illegal SAN: " + san + "\n" + board);
+        }
+
+        return resolvedMove;
+    }
+
+    /**
+     * Plays a game's moves one after another.
+     *
+     * @param game        the game to replay
+     * @param playedMoves where every move is added as it is played (null if they are not needed)
+     * @return the board after the game's last move
+     */
+    public static Board ReplayGame(final PgnGame game, final List<Move> playedMoves) {
+        Board board = game.createStartBoard();
+        for (final String san : game.getMoves()) {
+            final Move move = ResolveSan(board, san);
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone()) {
+                throw new RuntimeException("Illegal SAN: " + san + "\n" + board);
+            }
+            if (playedMoves != null) {
+                playedMoves.add(move);
+            }
+            board = transition.getTransitionBoard();
+        }
+
+        return board;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param player            the move maker
+     * @param destinationFile   the file the King castles to (g for King-side, c for Queen-side)
+     * @param san               the move in SAN (for the error message)
+     * @return the castle
+     */
+    private static Move ResolveCastle(final Player player, final int destinationFile, final CharSequence san) {
+        final int kingPosition = player.getPlayerKing().getPiecePosition();
+        final int destinationPosition = kingPosition - kingPosition % TILES_PER_RANK + destinationFile;
+        final Move castle = player.getMove(kingPosition, destinationPosition, null);
+        if (!castle.isCastlingMove()) {
+            throw new RuntimeException("Illegal SAN: " + san);
+        }
+        return castle;
+    }
+
+    /**
+     * @param symbol the SAN piece letter
+     * @param san    the move in SAN (for the error message)
+     * @return the piece type
+     */
+    private static PieceType PieceTypeOf(final char symbol, final CharSequence san) {
+        return switch (symbol) {
+            case 'N' -> PieceType.KNIGHT;
+            case 'B' -> PieceType.BISHOP;
+            case 'R' -> PieceType.ROOK;
+            case 'Q' -> PieceType.QUEEN;
+            case 'K' -> PieceType.KING;
+            default -> throw InvalidSan(san);
+        };
+    }
+
+    /**
+     * @param file the file letter (a to h)
+     * @param rank the rank digit (1 to 8)
+     * @param san  the move in SAN (for the error message)
+     * @return the tile position (a8 is 0)
+     */
+    private static int TilePosition(final char file, final char rank, final CharSequence san) {
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
+            throw InvalidSan(san);
+        }
+        return (TILES_PER_RANK - (rank - '0')) * TILES_PER_RANK + (file - 'a');
+    }
+
+    /**
+     * @param c a character at the end of a SAN move
+     * @return whether the character is a check, mate or annotation sign
+     */
+    private static boolean IsSuffix(final char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    /**
+     * @param san the move that cannot be read
+     * @return the exception to throw
+     */
+    private static RuntimeException InvalidSan(final CharSequence san) {
+        return new RuntimeException("Invalid SAN: " + san);
+    }
+}
@@ -2,13 +2,12 @@ package com.chess.engine.pieces;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.moves.Move;
-import com.google.common.collect.ImmutableList;
 
-import java.util.Collection;
+import java.util.List;
 
+import static com.chess.engine.board.BitBoardUtils.BishopAttacks;
 import static com.chess.engine.pieces.Piece.PieceType.BISHOP;
 import static com.chess.engine.pieces.PieceUtils.*;
-import static com.chess.engine.utils.Constants.PieceConstants.BISHOP_OFFSETS;
 
 /**
  * This class represents the Bishop chess piece.
@@ -18,42 +17,28 @@ public class Bishop extends Piece {
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
-     * Constructor for a Bishop object.
-     *
-     * @param pieceAlliance White/Black
-     * @param piecePosition where the Bishop is on the board
-     */
-    public Bishop(final Alliance pieceAlliance, final int piecePosition) {
-        super(BISHOP, pieceAlliance, piecePosition, true);
-    }
-
-    /**
-     * Constructor for a Bishop object.
+     * Constructor for a Bishop object (only used by the piece cache, see Piece.CreatePiece).
      *
      * @param pieceAlliance White/Black
      * @param piecePosition where the Bishop is on the board
      * @param firstMove     whether it is the Bishop's first move
      */
-    public Bishop(final Alliance pieceAlliance, final int piecePosition, final boolean firstMove) {
+    Bishop(final Alliance pieceAlliance, final int piecePosition, final boolean firstMove) {
         super(BISHOP, pieceAlliance, piecePosition, firstMove);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
-     * Calculates all legal moves for the Bishop.
+     * Appends all legal moves for the Bishop.
      *
-     * @param board where the Bishop will make a move
-     * @return a list of all the Bishop's legal moves
+     * @param board      where the Bishop will make a move
+     * @param legalMoves where the Bishop's legal moves are added
      */
     @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-        return ImmutableList.copyOf(DetermineSlidingPieceLegalMoves(BISHOP_OFFSETS,
-                this.piecePosition,
-                board,
-                this,
-                this.pieceAlliance,
-                this.getPieceType()));
+    public void calculateLegalMoves(final Board board, final List<Move> legalMoves) {
+        final long attacks = BishopAttacks(this.piecePosition, board.getOccupancy());
+        DetermineLegalMoves(attacks, board, this, legalMoves);
     }
 
     /**
@@ -62,7 +47,7 @@ public class Bishop extends Piece {
      */
     @Override
     public Bishop movePiece(final Move move) {
-        return new Bishop(move.getMovedPiece().getPieceAlliance(), move.getDestinationPosition());
+        return (Bishop) CreatePiece(BISHOP, this.pieceAlliance, move.getDestinationPosition(), false);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
@@ -1,20 +1,13 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.board.Board;
-import com.chess.engine.moves.other.AttackMove;
-import com.chess.engine.moves.other.MajorAttackMove;
-import com.chess.engine.moves.other.MajorMove;
 import com.chess.engine.moves.Move;
-import com.chess.engine.tiles.Tile;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 
+import static com.chess.engine.board.BitBoardUtils.KingTargets;
 import static com.chess.engine.pieces.Piece.PieceType.KING;
 import static com.chess.engine.pieces.PieceUtils.*;
-import static com.chess.engine.utils.Constants.PieceConstants.QUEEN_KING_OFFSETS;
 
 /**
  * This class represents the King chess piece.
@@ -24,66 +17,27 @@ public class King extends Piece {
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
-     * Constructor for a King object.
-     *
-     * @param pieceAlliance White/Black
-     * @param piecePosition where the King is on the board
-     */
-    public King(final Alliance pieceAlliance, final int piecePosition) {
-        super(KING, pieceAlliance, piecePosition, true);
-    }
-
-    /**
-     * Constructor for a King object.
+     * Constructor for a King object (only used by the piece cache, see Piece.CreatePiece).
      *
      * @param pieceAlliance White/Black
      * @param piecePosition where the King is on the board
      * @param firstMove     whether it is the King's first move
      */
-    public King(final Alliance pieceAlliance, final int piecePosition, final boolean firstMove) {
+    King(final Alliance pieceAlliance, final int piecePosition, final boolean firstMove) {
         super(KING, pieceAlliance, piecePosition, firstMove);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
-     * Calculates all legal moves for the King.
+     * Appends all legal moves for the King.
      *
-     * @param board where the King will make a move
-     * @return a list of all the King's legal moves
+     * @param board      where the King will make a move
+     * @param legalMoves where the King's legal moves are added
      */
     @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        // Iterate through all the offsets to determine the King's legal moves
-        for (final int currentOffset : QUEEN_KING_OFFSETS) {
-            // Calculate the destination position
-            final int destinationPosition = this.piecePosition + currentOffset;
-            // Determine if the destination position is on the board
-            if (IsDestinationPositionValid(destinationPosition)) {
-                // Determine whether the King will be on the 1st or 8th file
-                if (AnyKingFileExclusions(this.piecePosition, currentOffset)) {
-                    // The current offset will break the King's movement, so move to the next offset
-                    continue;
-                }
-                // Obtain the destination tile
-                final Tile destinationTile = board.getTile(destinationPosition);
-                if (!destinationTile.isTileOccupied()) {
-                    // The move counts as moving to an empty tile
-                    legalMoves.add(new MajorMove(board, this, destinationPosition));
-                } else {
-                    // Determine the piece on the occupied tile
-                    final Piece pieceOnTile = board.getTile(destinationPosition).getPiece();
-                    // Determine whether the piece is the opponent's
-                    if (this.pieceAlliance != pieceOnTile.getPieceAlliance()) {
-                        // The move counts as attacking the opponent's piece
-                        legalMoves.add(new MajorAttackMove(board, this, destinationPosition, pieceOnTile));
-                    }
-                }
-            }
-        }
-
-        return ImmutableList.copyOf(legalMoves);
+    public void calculateLegalMoves(final Board board, final List<Move> legalMoves) {
+        DetermineLegalMoves(KingTargets(this.piecePosition), board, this, legalMoves);
     }
 
     /**
@@ -92,19 +46,7 @@ public class King extends Piece {
      */
     @Override
     public King movePiece(final Move move) {
-        return new King(move.getMovedPiece().getPieceAlliance(), move.getDestinationPosition());
-    }
-//----------------------------------------------------------------------------------------------------------------------
-//--------------------------------------------------- Helper Methods ---------------------------------------------------
-//----------------------------------------------------------------------------------------------------------------------
-    /**
-     * @param currentPosition where the King is on the board
-     * @param currentOffset   the current offset used for calculating the King's destination position
-     * @return whether the King is on the first or eighth file with a faulty offset
-     */
-    private static boolean AnyKingFileExclusions(final int currentPosition, final int currentOffset) {
-        return (FIRST_FILE[currentPosition] && (currentOffset == -9 || currentOffset == -1 || currentOffset == 7))  ||
-               (EIGHTH_FILE[currentPosition] && (currentOffset == -7|| currentOffset == 1 || currentOffset == 9));
+        return (King) CreatePiece(KING, this.pieceAlliance, move.getDestinationPosition(), false);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
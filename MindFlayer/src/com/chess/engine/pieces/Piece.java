@@ -3,17 +3,25 @@ package com.chess.engine.pieces;
 import com.chess.engine.board.Board;
 import com.chess.engine.moves.Move;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static com.chess.engine.board.BitBoardUtils.BitBoardIndex;
+import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
 
 /**
  * This class serves as a blueprint for all the chess pieces.
+ * Pieces are immutable flyweights: every possible piece is created once (see CreatePiece) and shared by all boards,
+ * so two pieces are equal only when they are the same object.
  */
 public abstract class Piece {
     protected final PieceType pieceType;
     protected final int piecePosition;
     protected final Alliance pieceAlliance;
     protected final boolean firstMove;
-    protected final int cachedHashCode;
+    protected final int cacheIndex;
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
@@ -34,7 +42,7 @@ public abstract class Piece {
         this.pieceAlliance = pieceAlliance;
         this.piecePosition = piecePosition;
         this.firstMove = firstMove;
-        this.cachedHashCode = computeHashCode();
+        this.cacheIndex = CacheIndex(pieceType, pieceAlliance, piecePosition, firstMove);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
@@ -67,17 +75,67 @@ public abstract class Piece {
     public PieceType getPieceType() {
         return this.pieceType;
     }
-//----------------------------------------------------------------------------------------------------------------------
-//-------------------------------------------------- Abstract Methods --------------------------------------------------
-//----------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return where the piece is in the flyweight cache (unique for every piece)
+     */
+    public int getCacheIndex() {
+        return this.cacheIndex;
+    }
+
+    /**
+     * Retrieves the shared instance of a piece instead of creating a new one.
+     *
+     * @param pieceType     what the piece is
+     * @param pieceAlliance White/Black
+     * @param piecePosition where the piece is on the board
+     * @param firstMove     whether it is the piece's first move
+     * @return the cached piece
+     */
+    public static Piece CreatePiece(final PieceType pieceType,
+                                    final Alliance pieceAlliance,
+                                    final int piecePosition,
+                                    final boolean firstMove) {
+        return PieceUtils.PIECES_CACHE[CacheIndex(pieceType, pieceAlliance, piecePosition, firstMove)];
+    }
+
+    /**
+     * @param pieceType     what the piece is
+     * @param pieceAlliance White/Black
+     * @param piecePosition where the piece is on the board
+     * @param firstMove     whether it is the piece's first move
+     * @return where the piece is in the flyweight cache
+     */
+    public static int CacheIndex(final PieceType pieceType,
+                                 final Alliance pieceAlliance,
+                                 final int piecePosition,
+                                 final boolean firstMove) {
+        return (((BitBoardIndex(pieceAlliance, pieceType) * TOTAL_TILES) + piecePosition) << 1) | (firstMove ? 1 : 0);
+    }
 
     /**
      * Calculates all legal moves for the piece.
+     * Boards collect every piece's moves into one list with calculateLegalMoves(board, legalMoves) instead.
      *
      * @param board where the piece will make a move
      * @return a list of all the piece's legal moves
      */
-    public abstract Collection<Move> calculateLegalMoves(final Board board);
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        final List<Move> legalMoves = new ArrayList<>();
+        calculateLegalMoves(board, legalMoves);
+        return Collections.unmodifiableList(legalMoves);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//-------------------------------------------------- Abstract Methods --------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Appends all legal moves for the piece to a list shared with the other pieces, so no list is copied per piece.
+     *
+     * @param board      where the piece will make a move
+     * @param legalMoves where the piece's legal moves are added
+     */
+    public abstract void calculateLegalMoves(final Board board, final List<Move> legalMoves);
 
     /**
      * @param move what is forcing an updated piece to be made
@@ -95,46 +153,22 @@ public abstract class Piece {
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
-     * Checks for object equality on top of reference equality.
+     * Every piece is cached, so equal pieces are the same object.
      *
      * @param other the other possible piece
      * @return whether the two objects are the same
      */
     @Override
     public boolean equals(final Object other) {
-        if (this == other) {
-            return true;
-        }
-
-        if (!(other instanceof Piece)) {
-            return false;
-        }
-        final Piece otherPiece = (Piece) other;
-
-        return piecePosition == otherPiece.getPiecePosition() &&
-                pieceType == otherPiece.getPieceType() &&
-                pieceAlliance == otherPiece.getPieceAlliance() &&
-                firstMove == otherPiece.isFirstMove();
+        return this == other;
     }
 
     /**
-     * @return a special hashcode for pieces
+     * @return the piece's cache index (unique for every piece)
      */
     @Override
     public int hashCode() {
-        return this.cachedHashCode;
-    }
-
-    /**
-     * @return a unique hashcode for a piece
-     */
-    private int computeHashCode() {
-        int result = pieceType.hashCode();
-        result = 31 * result + pieceAlliance.hashCode();
-        result = 31 * result + piecePosition;
-        result = 31 * result + (isFirstMove() ? 1 : 0);
-
-        return result;
+        return this.cacheIndex;
     }
 
     //######################################################################################################################
@@ -158,7 +192,7 @@ public abstract class Piece {
                 return false;
             }
         },
-        ROOK("R", 300) {
+        ROOK("R", 500) {
             /**
              * @return whether the piece is a King
              */
@@ -192,7 +226,7 @@ public abstract class Piece {
                 return false;
             }
         },
-        BISHOP("B", 500) {
+        BISHOP("B", 300) {
             /**
              * @return whether the piece is a King
              */
@@ -4,155 +4,78 @@ import com.chess.engine.board.Board;
 import com.chess.engine.moves.Move;
 import com.chess.engine.moves.other.MajorAttackMove;
 import com.chess.engine.moves.other.MajorMove;
-import com.chess.engine.tiles.Tile;
+import com.chess.engine.pieces.Piece.PieceType;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import static com.chess.engine.pieces.Piece.*;
-import static com.chess.engine.utils.Constants.BoardConstants.TILES_PER_FILE;
+import static com.chess.engine.board.BitBoardUtils.FirstTile;
+import static com.chess.engine.board.BitBoardUtils.IsTileSet;
 import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
+import static com.chess.engine.utils.Constants.PieceConstants.TOTAL_PIECES;
 
 /**
  * This class provides helpful methods for the Piece classes.
  */
 public class PieceUtils {
+    static final Piece[] PIECES_CACHE = CreateAllPossiblePieces();
 
     /**
-     * Determines if the destination position is within the bounds of the board.
+     * Determines the legal moves for a Bishop, King, Knight, Queen, or Rook from its attacks (see BitBoardUtils),
+     * so no offset has to be checked for wrapping around the board.
      *
-     * @param destinationPosition where the piece wants to move to
-     * @return whether the destination position is valid
+     * @param attacks    every tile the piece attacks (including the first blocker on each ray for sliding pieces)
+     * @param board      what the piece is on
+     * @param piece      the piece to have its legal moves determined
+     * @param legalMoves where the piece's legal moves (without castles) are added
      */
-    protected static boolean IsDestinationPositionValid(final int destinationPosition) {
-        return destinationPosition >= 0 && destinationPosition < TOTAL_TILES;
-    }
-
-    protected static final boolean[] FIRST_FILE = initFile(0);
-    protected static final boolean[] SECOND_FILE = initFile(1);
-    protected static final boolean[] SEVENTH_FILE = initFile(6);
-    protected static final boolean[] EIGHTH_FILE = initFile(7);
-
-    /**
-     * Creates an array with certain file entries set to true.
-     *
-     * @param fileNumber what the file is
-     * @return an array of true/false entries
-     */
-    private static boolean[] initFile(int fileNumber) {
-        final boolean[] file = new boolean[TOTAL_TILES];
-
-        do {
-            file[fileNumber] = true;
-            fileNumber += TILES_PER_FILE;
-        } while (fileNumber < TOTAL_TILES);
-
-        return file;
+    protected static void DetermineLegalMoves(final long attacks,
+                                              final Board board,
+                                              final Piece piece,
+                                              final List<Move> legalMoves) {
+        final long friendlyTiles = board.getAllianceOccupancy(piece.getPieceAlliance());
+        final long opponentTiles = board.getOccupancy() & ~friendlyTiles;
+        // The piece cannot land on its own pieces
+        long destinations = attacks & ~friendlyTiles;
+        while (destinations != 0L) {
+            final int destinationPosition = FirstTile(destinations);
+            destinations &= destinations - 1;
+            // Determine whether the move counts as an attack
+            if (IsTileSet(opponentTiles, destinationPosition)) {
+                legalMoves.add(new MajorAttackMove(board,
+                        piece,
+                        destinationPosition,
+                        board.getPiece(destinationPosition)));
+            } else {
+                legalMoves.add(new MajorMove(board, piece, destinationPosition));
+            }
+        }
     }
 
     /**
-     * Determines the legal moves for a Bishop, Queen, or Rook.
+     * Produces every possible piece once, so boards and moves share them instead of creating new ones.
      *
-     * @param offsets       the sliding piece's offsets
-     * @param piecePosition the sliding piece's current position
-     * @param board         what the sliding piece is on
-     * @param slidingPiece  the piece to have its legal moves determined
-     * @param pieceAlliance the sliding piece's alliance
-     * @param pieceType     what the sliding piece is
-     * @return all the legal moves of the sliding piece
+     * @return an array with every piece at its cache index (see Piece.CacheIndex)
      */
-    protected static List<Move> DetermineSlidingPieceLegalMoves(final int[] offsets,
-                                                                final int piecePosition,
-                                                                final Board board,
-                                                                final Piece slidingPiece,
-                                                                final Alliance pieceAlliance,
-                                                                final PieceType pieceType) {
-        final List<Move> legalMoves = new ArrayList<>();
-        // Iterate through all the offsets to determine the sliding piece's legal moves
-        for (final int currentOffset : offsets) {
-            // Calculate the destination position
-            int destinationPosition = piecePosition;
-            // Determine if the destination position is on the board
-            while (IsDestinationPositionValid(destinationPosition)) {
-                // Determine whether the sliding piece will be on the 1st or 8th file
-                if (AnySlidingPieceExclusions(piecePosition, currentOffset, pieceType)) {
-                    // The current offset will break the sliding piece's movement, so move to the next offset
-                    break;
-                }
-                // Increment the destination position with the current offset
-                destinationPosition += currentOffset;
-                // Determine whether the destination position is valid
-                if (IsDestinationPositionValid(destinationPosition)) {
-                    // Obtain the destination tile
-                    final Tile destinationTile = board.getTile(destinationPosition);
-                    if (!destinationTile.isTileOccupied()) {
-                        // The move counts as moving to an empty tile
-                        legalMoves.add(new MajorMove(board, slidingPiece, destinationPosition));
-                    } else {
-                        // The move counts as an attack
-                        PerformAttackMove(board, destinationPosition, pieceAlliance, slidingPiece, legalMoves);
-                        break;
+    private static Piece[] CreateAllPossiblePieces() {
+        final Piece[] pieces = new Piece[TOTAL_PIECES];
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                for (int i = 0; i < TOTAL_TILES; i++) {
+                    for (final boolean firstMove : new boolean[] { false, true }) {
+                        final Piece piece = switch (pieceType) {
+                            case PAWN -> new Pawn(alliance, i, firstMove);
+                            case KNIGHT -> new Knight(alliance, i, firstMove);
+                            case BISHOP -> new Bishop(alliance, i, firstMove);
+                            case ROOK -> new Rook(alliance, i, firstMove);
+                            case QUEEN -> new Queen(alliance, i, firstMove);
+                            case KING -> new King(alliance, i, firstMove);
+                        };
+                        pieces[piece.getCacheIndex()] = piece;
                     }
                 }
             }
         }
-        return legalMoves;
-    }
-
-    /**
-     * @param currentPosition where the sliding piece is on the board
-     * @param currentOffset   the sliding piece's probable problematic offset
-     * @param pieceType       what the piece is
-     * @return whether the sliding piece is on the first or eighth file
-     */
-    private static boolean AnySlidingPieceExclusions(final int currentPosition,
-                                                     final int currentOffset,
-                                                     final PieceType pieceType) {
-        // Determine which file the sliding piece is on
-        int file = (currentPosition % 8) + 1;
-
-        switch (pieceType) {
-            case BISHOP -> {
-                return (file == 1 && (currentOffset == -9 || currentOffset == 7)) ||
-                       (file == 8 && (currentOffset == -7 || currentOffset == 9));
-            }
-            case QUEEN -> {
-                return (file == 1 && (currentOffset == -9 || currentOffset == -1 || currentOffset == 7))  ||
-                       (file == 8 && (currentOffset == -7|| currentOffset == 1 || currentOffset == 9));
-            }
-            case ROOK -> {
-                return (file == 1 && currentOffset == -1)  ||
-                       (file == 8 && currentOffset == 1);
-            }
-            default -> {
-                return false;
-            }
-        }
-    }
 
-    /**
-     * Make the sliding piece capture another piece.
-     *
-     * @param board               where the capture will occur
-     * @param destinationPosition where the sliding piece wants to move to capture
-     * @param pieceAlliance       the sliding piece's alliance
-     * @param slidingPiece        the piece performing the attack
-     * @param legalMoves          the sliding piece's legal moves
-     */
-    private static void PerformAttackMove(final Board board,
-                                          final int destinationPosition,
-                                          final Alliance pieceAlliance,
-                                          final Piece slidingPiece,
-                                          final List<Move> legalMoves) {
-        // Determine the piece on the occupied tile
-        final Piece pieceOnTile = board.getTile(destinationPosition).getPiece();
-        // Determine whether the piece is the opponent's
-        if (pieceAlliance != pieceOnTile.getPieceAlliance()) {
-            // The move counts as attacking the opponent's piece
-            legalMoves.add(new MajorAttackMove(board,
-                    slidingPiece,
-                    destinationPosition,
-                    pieceOnTile));
-        }
+        return pieces;
     }
 }
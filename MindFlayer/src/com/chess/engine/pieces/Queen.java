@@ -2,13 +2,12 @@ package com.chess.engine.pieces;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.moves.Move;
-import com.google.common.collect.ImmutableList;
 
-import java.util.Collection;
+import java.util.List;
 
+import static com.chess.engine.board.BitBoardUtils.QueenAttacks;
 import static com.chess.engine.pieces.Piece.PieceType.QUEEN;
 import static com.chess.engine.pieces.PieceUtils.*;
-import static com.chess.engine.utils.Constants.PieceConstants.QUEEN_KING_OFFSETS;
 
 /**
  * This class represents the Queen chess piece.
@@ -18,42 +17,28 @@ public class Queen extends Piece {
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
-     * Constructor for a Queen object.
-     *
-     * @param pieceAlliance White/Black
-     * @param piecePosition where the Queen is on the board
-     */
-    public Queen(final Alliance pieceAlliance, final int piecePosition) {
-        super(QUEEN, pieceAlliance, piecePosition, true);
-    }
-
-    /**
-     * Constructor for a Queen object.
+     * Constructor for a Queen object (only used by the piece cache, see Piece.CreatePiece).
      *
      * @param pieceAlliance White/Black
      * @param piecePosition where the Queen is on the board
      * @param firstMove     whether it is the Queen's first move
      */
-    public Queen(final Alliance pieceAlliance, final int piecePosition, final boolean firstMove) {
+    Queen(final Alliance pieceAlliance, final int piecePosition, final boolean firstMove) {
         super(QUEEN, pieceAlliance, piecePosition, firstMove);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
-     * Calculates all legal moves for the Queen.
+     * Appends all legal moves for the Queen.
      *
-     * @param board where the Queen will make a move
-     * @return a list of all the Queen's legal moves
+     * @param board      where the Queen will make a move
+     * @param legalMoves where the Queen's legal moves are added
      */
     @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-        return ImmutableList.copyOf(DetermineSlidingPieceLegalMoves(QUEEN_KING_OFFSETS,
-                this.piecePosition,
-                board,
-                this,
-                this.pieceAlliance,
-                this.getPieceType()));
+    public void calculateLegalMoves(final Board board, final List<Move> legalMoves) {
+        final long attacks = QueenAttacks(this.piecePosition, board.getOccupancy());
+        DetermineLegalMoves(attacks, board, this, legalMoves);
     }
 
     /**
@@ -62,7 +47,7 @@ public class Queen extends Piece {
      */
     @Override
     public Queen movePiece(final Move move) {
-        return new Queen(move.getMovedPiece().getPieceAlliance(), move.getDestinationPosition());
+        return (Queen) CreatePiece(QUEEN, this.pieceAlliance, move.getDestinationPosition(), false);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
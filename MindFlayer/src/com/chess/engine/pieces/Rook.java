@@ -2,13 +2,12 @@ package com.chess.engine.pieces;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.moves.Move;
-import com.google.common.collect.ImmutableList;
 
-import java.util.Collection;
+import java.util.List;
 
+import static com.chess.engine.board.BitBoardUtils.RookAttacks;
 import static com.chess.engine.pieces.Piece.PieceType.ROOK;
 import static com.chess.engine.pieces.PieceUtils.*;
-import static com.chess.engine.utils.Constants.PieceConstants.ROOK_OFFSETS;
 
 /**
  * This class represents the Rook chess piece.
@@ -18,42 +17,28 @@ public class Rook extends Piece {
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
-     * Constructor for a Rook object.
-     *
-     * @param pieceAlliance White/Black
-     * @param piecePosition where the Rook is on the board
-     */
-    public Rook(final Alliance pieceAlliance, final int piecePosition) {
-        super(ROOK, pieceAlliance, piecePosition, true);
-    }
-
-    /**
-     * Constructor for a Rook object.
+     * Constructor for a Rook object (only used by the piece cache, see Piece.CreatePiece).
      *
      * @param pieceAlliance White/Black
      * @param piecePosition where the Rook is on the board
      * @param firstMove     whether it is the Rook's first move
      */
-    public Rook(final Alliance pieceAlliance, final int piecePosition, final boolean firstMove) {
+    Rook(final Alliance pieceAlliance, final int piecePosition, final boolean firstMove) {
         super(ROOK, pieceAlliance, piecePosition, firstMove);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
-     * Calculates all legal moves for the Rook.
+     * Appends all legal moves for the Rook.
      *
-     * @param board where the Rook will make a move
-     * @return a list of all the Rook's legal moves
+     * @param board      where the Rook will make a move
+     * @param legalMoves where the Rook's legal moves are added
      */
     @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-        return ImmutableList.copyOf(DetermineSlidingPieceLegalMoves(ROOK_OFFSETS,
-                                                                    this.piecePosition,
-                                                                    board,
-                                                                    this,
-                                                                    this.pieceAlliance,
-                                                                    this.getPieceType()));
+    public void calculateLegalMoves(final Board board, final List<Move> legalMoves) {
+        final long attacks = RookAttacks(this.piecePosition, board.getOccupancy());
+        DetermineLegalMoves(attacks, board, this, legalMoves);
     }
 
     /**
@@ -62,7 +47,7 @@ public class Rook extends Piece {
      */
     @Override
     public Rook movePiece(final Move move) {
-        return new Rook(move.getMovedPiece().getPieceAlliance(), move.getDestinationPosition());
+        return (Rook) CreatePiece(ROOK, this.pieceAlliance, move.getDestinationPosition(), false);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //--------------------------------------------- Special Overridden Methods ---------------------------------------------
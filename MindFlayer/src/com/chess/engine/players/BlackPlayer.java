@@ -7,14 +7,14 @@ import com.chess.engine.moves.castle.QueenSideCastleMove;
 import com.chess.engine.pieces.Alliance;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
-import com.chess.engine.tiles.Tile;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import static com.chess.engine.board.Position.BLACK_KING_SIDE;
+import static com.chess.engine.board.Position.BLACK_QUEEN_SIDE;
 import static com.chess.engine.pieces.Alliance.BLACK;
+import static com.chess.engine.pieces.Alliance.WHITE;
 
 public class BlackPlayer extends Player {
 //----------------------------------------------------------------------------------------------------------------------
@@ -23,14 +23,10 @@ public class BlackPlayer extends Player {
     /**
      * Constructor for a BlackPlayer object.
      *
-     * @param board                   the chess board
-     * @param whiteStandardLegalMoves White's legal moves
-     * @param blackStandardLegalMoves Black's legal moves
+     * @param board the chess board
      */
-    public BlackPlayer(final Board board,
-                       final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
@@ -60,64 +56,46 @@ public class BlackPlayer extends Player {
     }
 
     /**
-     * @param playerLegals   the player's legal moves
-     * @param opponentLegals the opponent's legal moves
-     * @return a Collection of all of Black's available castles
+     * Appends all of Black's available castles.
+     *
+     * @param kingCastles where the castles are added
      */
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-                                                    final Collection<Move> opponentLegals) {
-        final List<Move> kingCastles = new ArrayList<>();
-
-        if (this.playerKing.isFirstMove() && !this.isInCheck()) {
+    protected void calculateKingCastles(final List<Move> kingCastles) {
+        // The castling availability is only kept while the King and the Rook have not moved (see GameState)
+        final int castlingRights = this.board.getCastlingRights();
+        if ((castlingRights & (BLACK_KING_SIDE | BLACK_QUEEN_SIDE)) != 0 && !this.isInCheck()) {
             /* Black's King-side castle */
-            // Determine whether the two tiles to the right of the King are empty
-            if (!this.board.getTile(5).isTileOccupied() &&
-                !this.board.getTile(6).isTileOccupied()) {
-                // Obtain the tile the King-side Rook should be on
-                final Tile rookTile = this.board.getTile(7);
-                // Determine if the tile is occupied and it is the Rook's first move
-                if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    // Determine if there are no attacks on the empty tiles and that the piece is a Rook
-                    if (CalculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                        CalculateAttacksOnTile(6, opponentLegals).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()) {
-                        // The move is a King-side castle
-                        kingCastles.add(new KingSideCastleMove(this.board,
-                                                               this.playerKing,
-                                                               6,
-                                                               (Rook) rookTile.getPiece(),
-                                                               rookTile.getTilePosition(),
-                                                               5));
-                    }
-                }
+            // Determine whether the castle is available, and the tiles to the right of the King are empty and safe
+            if ((castlingRights & BLACK_KING_SIDE) != 0 &&
+                !this.board.isTileOccupied(5) &&
+                !this.board.isTileOccupied(6) &&
+                !this.board.isTileAttacked(5, WHITE) &&
+                !this.board.isTileAttacked(6, WHITE)) {
+                // The move is a King-side castle
+                kingCastles.add(new KingSideCastleMove(this.board,
+                                                       this.playerKing,
+                                                       6,
+                                                       (Rook) this.board.getPiece(7),
+                                                       7,
+                                                       5));
             }
             /* Black's Queen-side castle */
-            // Determine whether the three tiles to the left of the King are empty
-            if (!this.board.getTile(1).isTileOccupied() &&
-                !this.board.getTile(2).isTileOccupied() &&
-                !this.board.getTile(3).isTileOccupied()) {
-                // Obtain the tile the Queen-side Rook should be on
-                final Tile rookTile = this.board.getTile(0);
-                // Determine if the tile is occupied and it is the Rook's first move
-                if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    // Determine if there are no attacks on the empty tiles and that the piece is a Rook
-                    if (CalculateAttacksOnTile(1, opponentLegals).isEmpty() &&
-                        CalculateAttacksOnTile(2, opponentLegals).isEmpty() &&
-                        CalculateAttacksOnTile(3, opponentLegals).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()) {
-                        // The move is a Queen-side castle
-                        kingCastles.add(new QueenSideCastleMove(this.board,
-                                                                this.playerKing,
-                                                                2,
-                                                                (Rook) rookTile.getPiece(),
-                                                                rookTile.getTilePosition(),
-                                                                3));
-                    }
-                }
+            // Determine whether the castle is available, and the tiles to the left of the King are empty and safe
+            if ((castlingRights & BLACK_QUEEN_SIDE) != 0 &&
+                !this.board.isTileOccupied(1) &&
+                !this.board.isTileOccupied(2) &&
+                !this.board.isTileOccupied(3) &&
+                !this.board.isTileAttacked(2, WHITE) &&
+                !this.board.isTileAttacked(3, WHITE)) {
+                // The move is a Queen-side castle
+                kingCastles.add(new QueenSideCastleMove(this.board,
+                                                        this.playerKing,
+                                                        2,
+                                                        (Rook) this.board.getPiece(0),
+                                                        0,
+                                                        3));
             }
         }
-
-        return ImmutableList.copyOf(kingCastles);
     }
 }
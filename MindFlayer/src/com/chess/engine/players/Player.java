@@ -1,19 +1,26 @@
 package com.chess.engine.players;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
 import com.chess.engine.moves.Move;
 import com.chess.engine.moves.misc.MoveTransition;
+import com.chess.engine.moves.pawn.PawnPromotion;
 import com.chess.engine.pieces.Alliance;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
+import com.chess.engine.pieces.Piece.PieceType;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+import static com.chess.engine.board.BitBoardUtils.FirstTile;
+import static com.chess.engine.moves.Move.NULL_MOVE;
 import static com.chess.engine.moves.misc.MoveStatus.*;
+import static com.chess.engine.pieces.Piece.PieceType.KING;
+import static com.chess.engine.utils.Constants.BitBoardConstants.EMPTY_BITBOARD;
+import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
 
 /**
  * This class serves as a blueprint for White and Black players.
@@ -21,24 +28,22 @@ import static com.chess.engine.moves.misc.MoveStatus.*;
 public abstract class Player {
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean inCheck;
+    private List<Move> legalMoves;
+    private int castlesStart;
+    private short[] sourceIndex;
+    private Boolean inCheck;
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
      * Constructor for a Player object.
+     * The legal moves, castles and check status are calculated the first time they are asked for.
      *
-     * @param board         the chess board
-     * @param legalMoves    the current player's legal moves
-     * @param opponentMoves the opponent's legal moves
+     * @param board the chess board
      */
-    public Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+    public Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves,
-                                                                calculateKingCastles(legalMoves, opponentMoves)));
-        this.inCheck = !CalculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
     }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
@@ -49,41 +54,96 @@ public abstract class Player {
      * @return a King for the player
      */
     private King establishKing() {
-        for (final Piece currentPiece : getActivePieces()) {
-            if (currentPiece.getPieceType().isKing()) {
-                return (King) currentPiece;
-            }
+        final long kingTiles = this.board.getPieceBitBoard(getAlliance(), KING);
+        if (kingTiles != EMPTY_BITBOARD) {
+            return (King) this.board.getPiece(FirstTile(kingTiles));
         }
 
         throw new RuntimeException("Each player must have a King!");
     }
 
     /**
-     * Determines what moves make opponent pieces attack the player's King.
+     * Every piece and the castles add their moves to one list, which is published as is (nothing is copied).
      *
-     * @param piecePosition where the player's King is
-     * @param moves         the Collection of the opponent's legal moves
-     * @return a Collection of all the attacks on the player's King
-     */
-    protected static Collection<Move> CalculateAttacksOnTile(final int piecePosition, final Collection<Move> moves) {
-        final List<Move> attackMoves = new ArrayList<>();
-        // Iterate through all the moves to determine attack moves
-        for (final Move move : moves) {
-            // Determine if the current position is the position affiliated with the opponent move
-            if (piecePosition == move.getDestinationPosition()) {
-                // This is an attack on the player's King
-                attackMoves.add(move);
+     * @return the player's legal moves (including castles)
+     */
+    public Collection<Move> getLegalMoves() {
+        if (this.legalMoves == null) {
+            final List<Move> legalMoves = new ArrayList<>();
+            this.board.calculateStandardLegalMoves(getAlliance(), legalMoves);
+            this.castlesStart = legalMoves.size();
+            calculateKingCastles(legalMoves);
+            this.legalMoves = Collections.unmodifiableList(legalMoves);
+        }
+        return this.legalMoves;
+    }
+
+    /**
+     * Looks a legal move up by its tiles in constant time (see findMove).
+     * Every promotion of a Pawn has the same tiles, so the promotion type tells them apart.
+     *
+     * @param currentPosition     where the moved piece is
+     * @param destinationPosition where the moved piece goes
+     * @param promotionType       what a promoting Pawn becomes (null for the first promotion, a Queen)
+     * @return the legal move (NULL_MOVE if there is none)
+     */
+    public Move getMove(final int currentPosition, final int destinationPosition, final PieceType promotionType) {
+        final int index = findMove(currentPosition, destinationPosition);
+        if (index < 0) {
+            return NULL_MOVE;
+        }
+        final Move move = this.legalMoves.get(index);
+        if (promotionType == null || !(move instanceof PawnPromotion)) {
+            return move;
+        }
+        // A Pawn adds all of its promotions onto a tile one after another
+        for (int i = index; i < this.legalMoves.size(); i++) {
+            final Move promotion = this.legalMoves.get(i);
+            if (promotion.getCurrentPosition() != currentPosition ||
+                promotion.getDestinationPosition() != destinationPosition) {
+                break;
+            }
+            if (((PawnPromotion) promotion).getPromotionType() == promotionType) {
+                return promotion;
             }
         }
 
-        return ImmutableList.copyOf(attackMoves);
+        return NULL_MOVE;
     }
 
     /**
-     * @return the player's legal moves
+     * @param index where the move is in the legal moves (the legal moves are always generated in the same order)
+     * @return the legal move
      */
-    public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+    public Move getLegalMove(final int index) {
+        getLegalMoves();
+        return this.legalMoves.get(index);
+    }
+
+    /**
+     * Finds where a move is in the legal moves.
+     *
+     * @param move the player's move
+     * @return where the move is in the legal moves (-1 if it is not one of them)
+     */
+    public int getLegalMoveIndex(final Move move) {
+        final int index = findMove(move.getCurrentPosition(), move.getDestinationPosition());
+        if (index < 0) {
+            return -1;
+        }
+        // A Pawn adds all of its promotions onto a tile one after another
+        for (int i = index; i < this.legalMoves.size(); i++) {
+            final Move legalMove = this.legalMoves.get(i);
+            if (legalMove.getCurrentPosition() != move.getCurrentPosition() ||
+                legalMove.getDestinationPosition() != move.getDestinationPosition()) {
+                break;
+            }
+            if (legalMove.equals(move)) {
+                return i;
+            }
+        }
+
+        return -1;
     }
 
     /**
@@ -91,12 +151,20 @@ public abstract class Player {
      * @return whether the player's move is legal
      */
     public boolean isMoveLegal(final Move move) {
-        return this.legalMoves.contains(move);
+        final PieceType promotionType = move instanceof PawnPromotion ?
+                ((PawnPromotion) move).getPromotionType() : null;
+        final Move legalMove = getMove(move.getCurrentPosition(), move.getDestinationPosition(), promotionType);
+        return legalMove != NULL_MOVE && legalMove.equals(move);
     }
+
     /**
      * @return whether the player's King is in a check
      */
     public boolean isInCheck() {
+        if (this.inCheck == null) {
+            this.inCheck = this.board.isTileAttacked(this.playerKing.getPiecePosition(),
+                                                     getOpponent().getAlliance());
+        }
         return this.inCheck;
     }
 
@@ -118,7 +186,7 @@ public abstract class Player {
     /**
      * @return whether the player has castled
      */
-    public boolean isInCastled() {
+    public boolean isCastled() {
         return false;
     }
 
@@ -134,13 +202,9 @@ public abstract class Player {
         }
         // Make the transition board based off the move (not mutating the current board!)
         final Board transitionBoard = move.execute();
-        /* Determine the attacks on the player's King
+        /* Determine whether the player's King is attacked
          * getCurrentPlayer().getOpponent() is used because the next board makes it the player's opponent's turn */
-        final Collection<Move> kingAttacks = CalculateAttacksOnTile(
-                                    transitionBoard.getCurrentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                                    transitionBoard.getCurrentPlayer().getLegalMoves());
-        // Determine if there are any attacks on the player's King
-        if (!kingAttacks.isEmpty()) {
+        if (transitionBoard.getCurrentPlayer().getOpponent().isInCheck()) {
             // The move is deemed a check move, and no move is made (no new board)
             return new MoveTransition(this.board, move, LEAVES_PLAYER_IN_CHECK);
         }
@@ -151,7 +215,7 @@ public abstract class Player {
     /**
      * @return the player's King
      */
-    private King getPlayerKing() {
+    public King getPlayerKing() {
         return this.playerKing;
     }
 //----------------------------------------------------------------------------------------------------------------------
@@ -162,17 +226,61 @@ public abstract class Player {
      * @return whether the player's King can escape from being in check
      */
     protected boolean hasEscapeMoves() {
-        // Iterate through all the legal moves
-        for (final Move move : this.legalMoves) {
-            // Make a theoretical move
-            final MoveTransition transition = makeMove(move);
-            // Determine whether the move was successful and thus done
-            if (transition.getMoveStatus().isDone()) {
-                return true;
+        // Generate the legal moves in a single pass instead of making every move on a new board
+        return new Position(this.board, getAlliance()).hasLegalMoves();
+    }
+
+    /**
+     * Finds the first legal move between two tiles by scanning only the moves of the piece on the first tile
+     * (see getSourceIndex), then the castles.
+     *
+     * @param currentPosition     where the moved piece is
+     * @param destinationPosition where the moved piece goes
+     * @return where the first move between the tiles is in the legal moves (-1 if there is none)
+     */
+    private int findMove(final int currentPosition, final int destinationPosition) {
+        if (currentPosition < 0 || currentPosition >= TOTAL_TILES) {
+            return -1;
+        }
+        final short[] sourceIndex = getSourceIndex();
+        final int first = sourceIndex[2 * currentPosition];
+        final int end = first + sourceIndex[2 * currentPosition + 1];
+        for (int i = first; i < end; i++) {
+            if (this.legalMoves.get(i).getDestinationPosition() == destinationPosition) {
+                return i;
+            }
+        }
+        for (int i = this.castlesStart; i < this.legalMoves.size(); i++) {
+            final Move castle = this.legalMoves.get(i);
+            if (castle.getCurrentPosition() == currentPosition &&
+                castle.getDestinationPosition() == destinationPosition) {
+                return i;
             }
         }
+        return -1;
+    }
 
-        return false;
+    /**
+     * Indexes the legal moves by the tile they start from (the first time it is needed). Every piece adds its moves
+     * one after another, so each tile has a single run of moves: entry 2 * tile is where the run starts in the legal
+     * moves and entry 2 * tile + 1 is how many moves it has. The castles come after every piece's moves.
+     *
+     * @return the legal moves' source tile index
+     */
+    private short[] getSourceIndex() {
+        if (this.sourceIndex == null) {
+            getLegalMoves();
+            final short[] sourceIndex = new short[2 * TOTAL_TILES];
+            for (int i = 0; i < this.castlesStart; i++) {
+                final int tile = this.legalMoves.get(i).getCurrentPosition();
+                if (sourceIndex[2 * tile + 1] == 0) {
+                    sourceIndex[2 * tile] = (short) i;
+                }
+                sourceIndex[2 * tile + 1]++;
+            }
+            this.sourceIndex = sourceIndex;
+        }
+        return this.sourceIndex;
     }
 //----------------------------------------------------------------------------------------------------------------------
 //-------------------------------------------------- Abstract Methods --------------------------------------------------
@@ -193,10 +301,9 @@ public abstract class Player {
     public abstract Player getOpponent();
 
     /**
-     * @param playerLegals   the player's legal moves
-     * @param opponentLegals the opponent's legal moves
-     * @return a Collection of all the available castles
+     * Appends all the available castles.
+     *
+     * @param legalMoves where the castles are added
      */
-    protected abstract Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-                                                             final Collection<Move> opponentLegals);
+    protected abstract void calculateKingCastles(final List<Move> legalMoves);
 }
@@ -7,13 +7,13 @@ import com.chess.engine.moves.castle.QueenSideCastleMove;
 import com.chess.engine.pieces.Alliance;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
-import com.chess.engine.tiles.Tile;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import static com.chess.engine.board.Position.WHITE_KING_SIDE;
+import static com.chess.engine.board.Position.WHITE_QUEEN_SIDE;
+import static com.chess.engine.pieces.Alliance.BLACK;
 import static com.chess.engine.pieces.Alliance.WHITE;
 
 public class WhitePlayer extends Player {
@@ -23,14 +23,10 @@ public class WhitePlayer extends Player {
     /**
      * Constructor for a Player object.
      *
-     * @param board                   the chess board
-     * @param whiteStandardLegalMoves White's legal moves
-     * @param blackStandardLegalMoves Black's legal moves
+     * @param board the chess board
      */
-    public WhitePlayer(final Board board,
-                       final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+    public WhitePlayer(final Board board) {
+        super(board);
     }
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Main Methods ----------------------------------------------------
@@ -60,65 +56,47 @@ public class WhitePlayer extends Player {
     }
 
     /**
-     * @param playerLegals   the player's legal moves
-     * @param opponentLegals the opponent's legal moves
-     * @return a Collection of all of White's available castles
+     * Appends all of White's available castles.
+     *
+     * @param kingCastles where the castles are added
      */
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-                                                    final Collection<Move> opponentLegals) {
+    protected void calculateKingCastles(final List<Move> kingCastles) {
         // Non-PlayerUtils version
-        final List<Move> kingCastles = new ArrayList<>();
-
-        if (this.playerKing.isFirstMove() && !this.isInCheck()) {
+        // The castling availability is only kept while the King and the Rook have not moved (see GameState)
+        final int castlingRights = this.board.getCastlingRights();
+        if ((castlingRights & (WHITE_KING_SIDE | WHITE_QUEEN_SIDE)) != 0 && !this.isInCheck()) {
             /* White's King-side castle */
-            // Determine whether the two tiles to the right of the King are empty
-            if (!this.board.getTile(61).isTileOccupied() &&
-                !this.board.getTile(62).isTileOccupied()) {
-                // Obtain the tile the King-side Rook should be on
-                final Tile rookTile = this.board.getTile(63);
-                // Determine if the tile is occupied and it is the Rook's first move
-                if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    // Determine if there are no attacks on the empty tiles and that the piece is a Rook
-                    if (CalculateAttacksOnTile(61, opponentLegals).isEmpty() &&
-                        CalculateAttacksOnTile(62, opponentLegals).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()) {
-                        // The move is a King-side castle
-                        kingCastles.add(new KingSideCastleMove(this.board,
-                                                               this.playerKing,
-                                                               62,
-                                                               (Rook) rookTile.getPiece(),
-                                                               rookTile.getTilePosition(),
-                                                               61));
-                    }
-                }
+            // Determine whether the castle is available, and the tiles to the right of the King are empty and safe
+            if ((castlingRights & WHITE_KING_SIDE) != 0 &&
+                !this.board.isTileOccupied(61) &&
+                !this.board.isTileOccupied(62) &&
+                !this.board.isTileAttacked(61, BLACK) &&
+                !this.board.isTileAttacked(62, BLACK)) {
+                // The move is a King-side castle
+                kingCastles.add(new KingSideCastleMove(this.board,
+                                                       this.playerKing,
+                                                       62,
+                                                       (Rook) this.board.getPiece(63),
+                                                       63,
+                                                       61));
             }
             /* White's Queen-side castle */
-            // Determine whether the three tiles to the left of the King are empty
-            if (!this.board.getTile(57).isTileOccupied() &&
-                !this.board.getTile(58).isTileOccupied() &&
-                !this.board.getTile(59).isTileOccupied()) {
-                // Obtain the tile the Queen-side Rook should be on
-                final Tile rookTile = this.board.getTile(56);
-                // Determine if the tile is occupied and it is the Rook's first move
-                if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    // Determine if there are no attacks on the empty tiles and that the piece is a Rook
-                    if (CalculateAttacksOnTile(57, opponentLegals).isEmpty() &&
-                        CalculateAttacksOnTile(58, opponentLegals).isEmpty() &&
-                        CalculateAttacksOnTile(59, opponentLegals).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()) {
-                        // The move is a Queen-side castle
-                        kingCastles.add(new QueenSideCastleMove(this.board,
-                                                                this.playerKing,
-                                                                58,
-                                                                (Rook) rookTile.getPiece(),
-                                                                rookTile.getTilePosition(),
-                                                                59));
-                    }
-                }
+            // Determine whether the castle is available, and the tiles to the left of the King are empty and safe
+            if ((castlingRights & WHITE_QUEEN_SIDE) != 0 &&
+                !this.board.isTileOccupied(57) &&
+                !this.board.isTileOccupied(58) &&
+                !this.board.isTileOccupied(59) &&
+                !this.board.isTileAttacked(58, BLACK) &&
+                !this.board.isTileAttacked(59, BLACK)) {
+                // The move is a Queen-side castle
+                kingCastles.add(new QueenSideCastleMove(this.board,
+                                                        this.playerKing,
+                                                        58,
+                                                        (Rook) this.board.getPiece(56),
+                                                        56,
+                                                        59));
             }
         }
-
-        return ImmutableList.copyOf(kingCastles);
     }
 }
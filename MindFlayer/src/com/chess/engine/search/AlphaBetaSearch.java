@@ -0,0 +1,359 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+import com.chess.engine.evaluation.BoardEvaluator;
+import com.chess.engine.evaluation.StandardBoardEvaluator;
+import com.chess.engine.moves.misc.MoveList;
+
+import static com.chess.engine.moves.misc.PackedMove.*;
+import static com.chess.engine.search.TranspositionTable.*;
+
+/**
+ * This class chooses a move with a negamax alpha-beta search on a Position, deepened one ply at a time
+ * until the depth limit is reached or the time runs out (the last fully searched depth is used).
+ * Leaf nodes are resolved with a captures-only quiescence search so hanging pieces are not missed,
+ * and then scored by a pluggable BoardEvaluator.
+ * Positions already searched deep enough are looked up in a TranspositionTable (which can be shared).
+ */
+public class AlphaBetaSearch {
+    public static final int INFINITY = 1_000_000;
+    public static final int MATE_SCORE = 100_000;
+    public static final int MAX_PLY = 64;
+
+    private static final int TIME_CHECK_INTERVAL = 2048;
+    private static final int DEFAULT_TABLE_MEGABYTES = 16;
+    private static final int PRINCIPAL_VARIATION_SCORE = 1_000_000;
+    private static final int TABLE_MOVE_SCORE = 500_000;
+    private static final int ATTACK_SCORE = 100_000;
+
+    private final BoardEvaluator evaluator;
+    private final TranspositionTable table;
+    private final int maxDepth;
+    private final long timeLimitMillis;
+    private final MoveList[] moveLists;
+    private final int[][] principalVariations;
+    private final int[] principalVariationLengths;
+    private int[] previousPrincipalVariation;
+    private Position position;
+    private long nodes;
+    private long deadline;
+    private boolean stopped;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for an AlphaBetaSearch object using the StandardBoardEvaluator.
+     *
+     * @param maxDepth        the deepest iteration to search (at most MAX_PLY)
+     * @param timeLimitMillis how long a search may take in milliseconds (0 for no time limit)
+     */
+    public AlphaBetaSearch(final int maxDepth, final long timeLimitMillis) {
+        this(new StandardBoardEvaluator(), maxDepth, timeLimitMillis);
+    }
+
+    /**
+     * Constructor for an AlphaBetaSearch object.
+     *
+     * @param evaluator       what scores the leaf positions
+     * @param maxDepth        the deepest iteration to search (at most MAX_PLY)
+     * @param timeLimitMillis how long a search may take in milliseconds (0 for no time limit)
+     */
+    public AlphaBetaSearch(final BoardEvaluator evaluator, final int maxDepth, final long timeLimitMillis) {
+        this(evaluator, new TranspositionTable(DEFAULT_TABLE_MEGABYTES), maxDepth, timeLimitMillis);
+    }
+
+    /**
+     * Constructor for an AlphaBetaSearch object.
+     *
+     * @param evaluator       what scores the leaf positions
+     * @param table           where searched positions are remembered (may be shared with other searches)
+     * @param maxDepth        the deepest iteration to search (at most MAX_PLY)
+     * @param timeLimitMillis how long a search may take in milliseconds (0 for no time limit)
+     */
+    public AlphaBetaSearch(final BoardEvaluator evaluator,
+                           final TranspositionTable table,
+                           final int maxDepth,
+                           final long timeLimitMillis) {
+        this.evaluator = evaluator;
+        this.table = table;
+        this.maxDepth = Math.min(maxDepth, MAX_PLY);
+        this.timeLimitMillis = timeLimitMillis;
+        this.moveLists = new MoveList[MAX_PLY + 1];
+        for (int i = 0; i <= MAX_PLY; i++) {
+            this.moveLists[i] = new MoveList();
+        }
+        this.principalVariations = new int[MAX_PLY + 1][MAX_PLY + 1];
+        this.principalVariationLengths = new int[MAX_PLY + 1];
+        this.previousPrincipalVariation = new int[0];
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Searches the board's current player's best move.
+     *
+     * @param board where the search starts
+     * @return the best move with its score, depth, node count and principal variation
+     */
+    public SearchResult search(final Board board) {
+        return search(new Position(board));
+    }
+
+    /**
+     * Searches the move maker's best move with iterative deepening.
+     *
+     * @param position where the search starts (restored afterwards)
+     * @return the best move with its score, depth, node count and principal variation
+     */
+    public SearchResult search(final Position position) {
+        final long start = System.nanoTime();
+        this.position = position;
+        this.nodes = 0L;
+        this.stopped = false;
+        this.deadline = start + (this.timeLimitMillis * 1_000_000L);
+        this.previousPrincipalVariation = new int[0];
+        this.table.newSearch();
+        SearchResult result = new SearchResult(NO_MOVE, 0, 0, 0L, 0L, new int[0]);
+
+        for (int depth = 1; depth <= this.maxDepth; depth++) {
+            final int score = negamax(depth, -INFINITY, INFINITY, 0);
+            // An unfinished iteration is only used when no iteration has finished yet
+            if (this.stopped && result.getDepth() > 0) {
+                break;
+            }
+            this.previousPrincipalVariation = copyPrincipalVariation();
+            result = new SearchResult(this.previousPrincipalVariation.length > 0 ? this.previousPrincipalVariation[0] :
+                                                                                   NO_MOVE,
+                                      score,
+                                      depth,
+                                      this.nodes,
+                                      System.nanoTime() - start,
+                                      this.previousPrincipalVariation);
+            // Stop deepening once the time is up or a forced mate is found
+            if (this.stopped || Math.abs(score) >= MATE_SCORE - MAX_PLY) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return where searched positions are remembered
+     */
+    public TranspositionTable getTranspositionTable() {
+        return this.table;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param depth how many plies are left to search
+     * @param alpha the score the move maker is already sure of
+     * @param beta  the score the opponent is already sure of
+     * @param ply   how far the node is from the root
+     * @return the node's score from the move maker's point of view
+     */
+    private int negamax(final int depth, int alpha, final int beta, final int ply) {
+        this.principalVariationLengths[ply] = ply;
+        if (depth == 0 || ply >= MAX_PLY) {
+            return quiescence(alpha, beta, ply);
+        }
+        if (isTimeUp()) {
+            return 0;
+        }
+        final long key = this.position.getZobristKey();
+        final long entry = this.table.probe(key);
+        // The root is always searched so it has a principal variation
+        if (entry != NO_ENTRY && ply > 0 && EntryDepth(entry) >= depth) {
+            final int tableScore = FromTableScore(EntryScore(entry), ply);
+            final int bound = EntryBound(entry);
+            if (bound == EXACT ||
+                (bound == LOWER_BOUND && tableScore >= beta) ||
+                (bound == UPPER_BOUND && tableScore <= alpha)) {
+                return tableScore;
+            }
+        }
+        final MoveList moves = this.moveLists[ply];
+        this.position.generateLegalMoves(moves);
+        // Checkmate (the sooner the better) or stalemate
+        if (moves.isEmpty()) {
+            return this.position.isInCheck() ? -MATE_SCORE + ply : 0;
+        }
+        scoreMoves(moves, ply, entry == NO_ENTRY ? NO_MOVE : EntryMove(entry));
+
+        final int originalAlpha = alpha;
+        int bestMove = NO_MOVE;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.pickBest(i);
+            this.position.makeMove(move);
+            final int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            this.position.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+                updatePrincipalVariation(move, ply);
+                // The opponent will avoid this node
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        this.table.store(key,
+                         depth,
+                         alpha >= beta ? LOWER_BOUND : alpha > originalAlpha ? EXACT : UPPER_BOUND,
+                         ToTableScore(alpha, ply),
+                         bestMove);
+
+        return alpha;
+    }
+
+    /**
+     * Searches captures only until the position is quiet.
+     *
+     * @param alpha the score the move maker is already sure of
+     * @param beta  the score the opponent is already sure of
+     * @param ply   how far the node is from the root
+     * @return the node's score from the move maker's point of view
+     */
+    private int quiescence(int alpha, final int beta, final int ply) {
+        this.principalVariationLengths[ply] = ply;
+        if (isTimeUp()) {
+            return 0;
+        }
+        // The move maker does not have to capture
+        final int standPat = evaluate();
+        if (standPat >= beta || ply >= MAX_PLY) {
+            return standPat;
+        }
+        alpha = Math.max(alpha, standPat);
+
+        final MoveList moves = this.moveLists[ply];
+        this.position.generateLegalMoves(moves);
+        moves.retainAttacks();
+        scoreMoves(moves, ply, NO_MOVE);
+
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.pickBest(i);
+            this.position.makeMove(move);
+            final int score = -quiescence(-beta, -alpha, ply + 1);
+            this.position.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+
+        return alpha;
+    }
+
+    /**
+     * @return the evaluator's score from the move maker's point of view
+     */
+    private int evaluate() {
+        final int score = this.evaluator.evaluate(this.position);
+        return this.position.getMoveMaker().isWhite() ? score : -score;
+    }
+
+    /**
+     * Scores the moves for ordering: the previous iteration's principal variation move first,
+     * then the transposition table's best move, then captures of the most valuable piece
+     * by the least valuable attacker (both read from the packed move), then the rest.
+     *
+     * @param moves     the moves to score
+     * @param ply       how far the node is from the root
+     * @param tableMove the best base move stored for the position (NO_MOVE if there is none)
+     */
+    private void scoreMoves(final MoveList moves, final int ply, final int tableMove) {
+        final int principalVariationMove = ply < this.previousPrincipalVariation.length ?
+                                           this.previousPrincipalVariation[ply] :
+                                           NO_MOVE;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (move == principalVariationMove) {
+                moves.setScore(i, PRINCIPAL_VARIATION_SCORE);
+            } else if (BaseMove(move) == tableMove) {
+                moves.setScore(i, TABLE_MOVE_SCORE);
+            } else if (IsAttack(move)) {
+                moves.setScore(i, ATTACK_SCORE + (AttackedPieceType(move).getPieceValue() * 16) -
+                                  (MovedPieceType(move).getPieceValue() / 100));
+            } else {
+                moves.setScore(i, IsPromotion(move) ? ATTACK_SCORE : 0);
+            }
+        }
+    }
+
+    /**
+     * @param move the move that raised alpha
+     * @param ply  how far the node is from the root
+     */
+    private void updatePrincipalVariation(final int move, final int ply) {
+        final int[] principalVariation = this.principalVariations[ply];
+        principalVariation[ply] = move;
+        final int childLength = this.principalVariationLengths[ply + 1];
+        System.arraycopy(this.principalVariations[ply + 1], ply + 1, principalVariation, ply + 1, childLength - ply - 1);
+        this.principalVariationLengths[ply] = Math.max(childLength, ply + 1);
+    }
+
+    /**
+     * @return the root's principal variation
+     */
+    private int[] copyPrincipalVariation() {
+        final int[] principalVariation = new int[this.principalVariationLengths[0]];
+        System.arraycopy(this.principalVariations[0], 0, principalVariation, 0, principalVariation.length);
+
+        return principalVariation;
+    }
+
+    /**
+     * Mate scores are stored as the distance from the stored node instead of from the root,
+     * so they stay right when the position is reached at another ply.
+     *
+     * @param score the score relative to the root
+     * @param ply   how far the node is from the root
+     * @return the score to store in the table
+     */
+    private static int ToTableScore(final int score, final int ply) {
+        if (score >= MATE_SCORE - MAX_PLY) {
+            return score + ply;
+        }
+        return score <= -MATE_SCORE + MAX_PLY ? score - ply : score;
+    }
+
+    /**
+     * @param score the score stored in the table
+     * @param ply   how far the node is from the root
+     * @return the score relative to the root
+     */
+    private static int FromTableScore(final int score, final int ply) {
+        if (score >= MATE_SCORE - MAX_PLY) {
+            return score - ply;
+        }
+        return score <= -MATE_SCORE + MAX_PLY ? score + ply : score;
+    }
+
+    /**
+     * Counts the node and checks the clock every TIME_CHECK_INTERVAL nodes.
+     *
+     * @return whether the search has to stop
+     */
+    private boolean isTimeUp() {
+        this.nodes++;
+        if (this.timeLimitMillis > 0 &&
+            (this.nodes % TIME_CHECK_INTERVAL) == 0 &&
+            System.nanoTime() >= this.deadline) {
+            this.stopped = true;
+        }
+
+        return this.stopped;
+    }
+}
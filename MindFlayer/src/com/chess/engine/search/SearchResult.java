@@ -0,0 +1,125 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.Move.MoveFactory;
+
+import static com.chess.engine.moves.misc.PackedMove.ToString;
+
+/**
+ * This class holds what a search found: the best move, its score and how the search got there.
+ */
+public class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final int[] principalVariation;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a SearchResult object.
+     *
+     * @param bestMove           the best packed move (NO_MOVE if there are no legal moves)
+     * @param score              the best move's score in centipawns from the move maker's point of view
+     * @param depth              the deepest fully searched iteration
+     * @param nodes              how many nodes were searched
+     * @param elapsedNanos       how long the search took
+     * @param principalVariation the expected packed moves of both sides, starting with the best move
+     */
+    SearchResult(final int bestMove,
+                 final int score,
+                 final int depth,
+                 final long nodes,
+                 final long elapsedNanos,
+                 final int[] principalVariation) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.principalVariation = principalVariation;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return the best packed move (NO_MOVE if there are no legal moves)
+     */
+    public int getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * @param board the board the search started from
+     * @return the best move decoded on the board (NULL_MOVE if there is none)
+     */
+    public Move getBestMove(final Board board) {
+        return MoveFactory.CreateMove(board, this.bestMove);
+    }
+
+    /**
+     * @return the best move's score in centipawns from the move maker's point of view
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * @return the deepest fully searched iteration
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * @return how many nodes were searched
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @return how long the search took in milliseconds
+     */
+    public long getElapsedMillis() {
+        return this.elapsedNanos / 1_000_000L;
+    }
+
+    /**
+     * @return how many nodes were searched per second
+     */
+    public long getNodesPerSecond() {
+        return this.elapsedNanos == 0L ? 0L : (this.nodes * 1_000_000_000L) / this.elapsedNanos;
+    }
+
+    /**
+     * @return the expected packed moves of both sides, starting with the best move
+     */
+    public int[] getPrincipalVariation() {
+        return this.principalVariation.clone();
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------- Special Overridden Methods ---------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @return the search report (e.g. depth 5 score 35 nodes 81234 nps 2000000 time 40 pv e2e4 e7e5)
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("depth ").append(this.depth)
+               .append(" score ").append(this.score)
+               .append(" nodes ").append(this.nodes)
+               .append(" nps ").append(getNodesPerSecond())
+               .append(" time ").append(getElapsedMillis())
+               .append(" pv");
+        for (final int move : this.principalVariation) {
+            builder.append(' ').append(ToString(move));
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,283 @@
+package com.chess.engine.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class remembers what was found about positions (by Zobrist key) so they are not searched twice.
+ * The table has a fixed memory budget and lives in a single long[]: every entry is a key word and a data word,
+ * and entries are grouped into buckets of four (one 64 byte cache line).
+ * Threads share the table without locks: the key word is stored XORed with the data word, so an entry torn
+ * by two threads writing at once no longer verifies and is simply treated as a miss.
+ * Bits 0-7 of the data word hold the depth, bits 8-9 the bound, bits 10-15 the search age,
+ * bits 16-31 the best move's base move (see PackedMove.BaseMove) and bits 32-63 the score
+ * (a perft entry uses bits 16-63 for its node count).
+ */
+public final class TranspositionTable {
+    public static final long NO_ENTRY = 0L;
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    private static final int ENTRY_LONGS = 2;
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int BUCKET_LONGS = ENTRY_LONGS * BUCKET_ENTRIES;
+    private static final int BUCKET_BYTES = BUCKET_LONGS * Long.BYTES;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int BOUND_MASK = 0x3;
+    private static final int AGE_MASK = 0x3F;
+    private static final int MOVE_MASK = 0xFFFF;
+    private static final int AGE_WEIGHT = 8;
+    private static final int FILL_SAMPLE_BUCKETS = 1000;
+
+    private final long[] entries;
+    private final long bucketMask;
+    private final LongAdder probes;
+    private final LongAdder hits;
+    private int age;
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Constructor -----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Constructor for a TranspositionTable object.
+     * The number of buckets is rounded down to a power of two, so the table never exceeds its budget.
+     *
+     * @param megabytes how much memory the table may use
+     */
+    public TranspositionTable(final int megabytes) {
+        if (megabytes < 1) {
+            throw new RuntimeException("A TranspositionTable needs at least one megabyte!");
+        }
+        final long buckets = Long.highestOneBit(((long) megabytes << 20) / BUCKET_BYTES);
+        if (buckets * BUCKET_LONGS > Integer.MAX_VALUE - BUCKET_LONGS) {
+            throw new RuntimeException("A TranspositionTable of " + megabytes + " megabytes is too big!");
+        }
+        this.entries = new long[(int) (buckets * BUCKET_LONGS)];
+        this.bucketMask = buckets - 1;
+        this.probes = new LongAdder();
+        this.hits = new LongAdder();
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Main Methods ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * Looks a position up.
+     *
+     * @param key the position's Zobrist key
+     * @return the entry's data word (NO_ENTRY if the position is not in the table)
+     */
+    public long probe(final long key) {
+        this.probes.increment();
+        final int bucket = bucketIndex(key);
+        for (int i = bucket; i < bucket + BUCKET_LONGS; i += ENTRY_LONGS) {
+            final long data = this.entries[i + 1];
+            if (data != NO_ENTRY && (this.entries[i] ^ data) == key) {
+                this.hits.increment();
+                return data;
+            }
+        }
+
+        return NO_ENTRY;
+    }
+
+    /**
+     * Remembers what a search found about a position.
+     * A move of NO_MOVE keeps the move already stored for the position.
+     *
+     * @param key   the position's Zobrist key
+     * @param depth how many plies deep the position was searched
+     * @param bound EXACT, LOWER_BOUND (the score is at least this) or UPPER_BOUND (the score is at most this)
+     * @param score the position's score from the move maker's point of view
+     * @param move  the best packed move found (NO_MOVE if there is none, only its base move is kept)
+     */
+    public void store(final long key, final int depth, final int bound, final int score, final int move) {
+        final int index = replacementIndex(key);
+        int storedMove = move & MOVE_MASK;
+        // Keep the move of an earlier search of the same position
+        if (storedMove == 0 && (this.entries[index] ^ this.entries[index + 1]) == key) {
+            storedMove = EntryMove(this.entries[index + 1]);
+        }
+        write(index, key, ((long) score << 32) | ((long) storedMove << 16) | header(depth, bound));
+    }
+
+    /**
+     * Looks a perft count up.
+     *
+     * @param key   the position's Zobrist key
+     * @param depth how many plies deep the count has to be
+     * @return how many leaf nodes there are at the depth (-1 if the count is not in the table)
+     */
+    public long probeNodes(final long key, final int depth) {
+        final long data = probe(key);
+        return data != NO_ENTRY && EntryDepth(data) == depth ? data >>> 16 : -1L;
+    }
+
+    /**
+     * Remembers a perft count.
+     *
+     * @param key   the position's Zobrist key
+     * @param depth how many plies deep the count is
+     * @param nodes how many leaf nodes there are at the depth (less than 2^48)
+     */
+    public void storeNodes(final long key, final int depth, final long nodes) {
+        write(replacementIndex(key), key, (nodes << 16) | header(depth, EXACT));
+    }
+
+    /**
+     * Starts a new search, so entries from older searches are replaced first.
+     */
+    public void newSearch() {
+        this.age = (this.age + 1) & AGE_MASK;
+    }
+
+    /**
+     * Empties the table and resets its statistics.
+     */
+    public void clear() {
+        Arrays.fill(this.entries, NO_ENTRY);
+        this.probes.reset();
+        this.hits.reset();
+        this.age = 0;
+    }
+
+    /**
+     * @return how many positions were looked up
+     */
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    /**
+     * @return how many looked up positions were found
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return the percentage of looked up positions that were found
+     */
+    public double getHitRate() {
+        final long probeCount = getProbes();
+        return probeCount == 0 ? 0.0 : 100.0 * getHits() / probeCount;
+    }
+
+    /**
+     * Estimates how full the table is from its first buckets (scanning all of a big table would be slow).
+     *
+     * @return the percentage of used entries
+     */
+    public double getFillPercentage() {
+        final int sampledLongs = (int) Math.min(this.entries.length, (long) FILL_SAMPLE_BUCKETS * BUCKET_LONGS);
+        int used = 0;
+        for (int i = 1; i < sampledLongs; i += ENTRY_LONGS) {
+            if (this.entries[i] != NO_ENTRY) {
+                used++;
+            }
+        }
+
+        return 100.0 * used / (sampledLongs / ENTRY_LONGS);
+    }
+
+    /**
+     * @return how many entries the table holds
+     */
+    public int getCapacity() {
+        return this.entries.length / ENTRY_LONGS;
+    }
+
+    /**
+     * @param data an entry's data word
+     * @return how many plies deep the position was searched
+     */
+    public static int EntryDepth(final long data) {
+        return (int) data & DEPTH_MASK;
+    }
+
+    /**
+     * @param data an entry's data word
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND
+     */
+    public static int EntryBound(final long data) {
+        return (int) (data >>> 8) & BOUND_MASK;
+    }
+
+    /**
+     * @param data an entry's data word
+     * @return the best move's base move (NO_MOVE if there is none)
+     */
+    public static int EntryMove(final long data) {
+        return (int) (data >>> 16) & MOVE_MASK;
+    }
+
+    /**
+     * @param data an entry's data word
+     * @return the position's score from the move maker's point of view
+     */
+    public static int EntryScore(final long data) {
+        return (int) (data >>> 32);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param key a position's Zobrist key
+     * @return where the position's bucket starts in the entries
+     */
+    private int bucketIndex(final long key) {
+        return (int) (key & this.bucketMask) * BUCKET_LONGS;
+    }
+
+    /**
+     * Chooses the entry a position is stored in: its own entry or an empty one if there is one,
+     * otherwise the entry whose depth is worth the least (older searches count for less).
+     *
+     * @param key the position's Zobrist key
+     * @return where the entry starts in the entries
+     */
+    private int replacementIndex(final long key) {
+        final int bucket = bucketIndex(key);
+        int replacement = bucket;
+        int replacementWorth = Integer.MAX_VALUE;
+        for (int i = bucket; i < bucket + BUCKET_LONGS; i += ENTRY_LONGS) {
+            final long data = this.entries[i + 1];
+            if (data == NO_ENTRY || (this.entries[i] ^ data) == key) {
+                return i;
+            }
+            final int worth = EntryDepth(data) - (AGE_WEIGHT * ((this.age - EntryAge(data)) & AGE_MASK));
+            if (worth < replacementWorth) {
+                replacementWorth = worth;
+                replacement = i;
+            }
+        }
+
+        return replacement;
+    }
+
+    /**
+     * @param index where the entry starts in the entries
+     * @param key   the position's Zobrist key
+     * @param data  the entry's data word
+     */
+    private void write(final int index, final long key, final long data) {
+        this.entries[index] = key ^ data;
+        this.entries[index + 1] = data;
+    }
+
+    /**
+     * @param depth how many plies deep the position was searched
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+     * @return the depth, bound and current age packed into the low 16 bits of a data word
+     */
+    private long header(final int depth, final int bound) {
+        return (depth & DEPTH_MASK) | ((bound & BOUND_MASK) << 8) | (this.age << 10);
+    }
+
+    /**
+     * @param data an entry's data word
+     * @return the age of the search that stored the entry
+     */
+    private static int EntryAge(final long data) {
+        return (int) (data >>> 10) & AGE_MASK;
+    }
+}
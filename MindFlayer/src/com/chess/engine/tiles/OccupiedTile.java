@@ -11,11 +11,12 @@ public final class OccupiedTile extends Tile {
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
-     * Constructor for an OccupiedTile object.
+     * Constructor for an OccupiedTile object (only used by the tile cache, see Tile.CreateTile).
      *
      * @param tilePosition the position of the tile
+     * @param pieceOnTile  the piece on the tile
      */
-    public OccupiedTile(final int tilePosition, final Piece pieceOnTile) {
+    OccupiedTile(final int tilePosition, final Piece pieceOnTile) {
         super(tilePosition);
         this.pieceOnTile = pieceOnTile;
     }
@@ -5,6 +5,7 @@ import com.chess.engine.pieces.Piece;
 import java.util.Map;
 
 import static com.chess.engine.tiles.TileUtils.CreateAllPossibleEmptyTiles;
+import static com.chess.engine.tiles.TileUtils.CreateAllPossibleOccupiedTiles;
 
 /**
  * This class serves as a blueprint for EmptyTile and OccupiedTile.
@@ -12,6 +13,7 @@ import static com.chess.engine.tiles.TileUtils.CreateAllPossibleEmptyTiles;
 public abstract class Tile {
     protected final int tilePosition;
     private static final Map<Integer, EmptyTile> EMPTY_TILES_CACHE = CreateAllPossibleEmptyTiles();
+    private static final OccupiedTile[] OCCUPIED_TILES_CACHE = CreateAllPossibleOccupiedTiles();
 //----------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------- Constructor -----------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
@@ -28,13 +30,14 @@ public abstract class Tile {
 //----------------------------------------------------------------------------------------------------------------------
     /**
      * Creates an individual tile based on occupancy.
+     * Tiles are cached like pieces are (see Piece.CreatePiece), so no tile is ever created twice.
      *
      * @param tilePosition where the tile is on the board
      * @param piece        the piece on the board
      * @return either an EmptyTile or OccupiedTile
      */
     public static Tile CreateTile(final int tilePosition, final Piece piece) {
-        return piece != null ? new OccupiedTile(tilePosition, piece) : EMPTY_TILES_CACHE.get(tilePosition);
+        return piece != null ? OCCUPIED_TILES_CACHE[piece.getCacheIndex()] : EMPTY_TILES_CACHE.get(tilePosition);
     }
 
     /**
@@ -43,8 +46,7 @@ public abstract class Tile {
     public int getTilePosition() {
         return this.tilePosition;
     }
-
-    //----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
 //-------------------------------------------------- Abstract Methods --------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
     /**
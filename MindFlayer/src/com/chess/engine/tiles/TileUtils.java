@@ -1,11 +1,16 @@
 package com.chess.engine.tiles;
 
+import com.chess.engine.pieces.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.google.common.collect.ImmutableMap;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.chess.engine.pieces.Piece.CreatePiece;
 import static com.chess.engine.utils.Constants.BoardConstants.TOTAL_TILES;
+import static com.chess.engine.utils.Constants.PieceConstants.TOTAL_PIECES;
 
 /**
  * This class provides methods useful for the Tile classes.
@@ -26,4 +31,26 @@ public class TileUtils {
 
         return ImmutableMap.copyOf(emptyTileMap);
     }
+
+    /**
+     * Produces an array of cached occupied tiles, one for every possible piece.
+     *
+     * @return an array with every occupied tile at its piece's cache index (see Piece.CacheIndex)
+     */
+    public static OccupiedTile[] CreateAllPossibleOccupiedTiles() {
+        final OccupiedTile[] occupiedTiles = new OccupiedTile[TOTAL_PIECES];
+
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                for (int i = 0; i < TOTAL_TILES; i++) {
+                    for (final boolean firstMove : new boolean[] { false, true }) {
+                        final Piece piece = CreatePiece(pieceType, alliance, i, firstMove);
+                        occupiedTiles[piece.getCacheIndex()] = new OccupiedTile(i, piece);
+                    }
+                }
+            }
+        }
+
+        return occupiedTiles;
+    }
 }
@@ -11,11 +11,14 @@ public class Constants {
         public static final int TILES_PER_RANK = 8;
     }
 
+    public static class BitBoardConstants {
+        public static final int PIECE_TYPES = 6;
+        public static final int TOTAL_BITBOARDS = 12;
+        public static final long EMPTY_BITBOARD = 0L;
+    }
+
     public static class PieceConstants {
-        public final static int[] KNIGHT_OFFSETS = { -17, -15, -10, -6, 6, 10, 15, 17 };
-        public final static int[] BISHOP_OFFSETS = { -9, -7, 7, 9 };
-        public final static int[] ROOK_OFFSETS = { -8, -1, 1, 8 };
-        public final static int[] QUEEN_KING_OFFSETS = { -9, -8, -7, -1, 1, 7, 8, 9 };
-        public final static int[] PAWN_OFFSETS = { 7, 8, 9, 16 };
+        // Every piece type and alliance on every tile, with and without its first move
+        public static final int TOTAL_PIECES = 1536;
     }
 }
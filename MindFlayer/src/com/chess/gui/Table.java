@@ -1,8 +1,12 @@
 package com.chess.gui;
 
+import com.chess.engine.archive.PositionIndex;
 import com.chess.engine.board.Board;
 import com.chess.engine.moves.Move;
 import com.chess.engine.moves.misc.MoveTransition;
+import com.chess.engine.pgn.PgnGame;
+import com.chess.engine.pgn.PgnReader;
+import com.chess.engine.pgn.PgnUtils;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.tiles.Tile;
 import com.google.common.collect.Lists;
@@ -35,6 +39,8 @@ public class Table {
     private final BoardPanel boardPanel;
     private Board chessBoard;
     private final MoveLog moveLog;
+    private final JLabel positionStatisticsLabel;
+    private PositionIndex positionIndex;
 
     // Used for TilePanel
     private Tile sourceTile, destinationTile;
@@ -68,7 +74,7 @@ public class Table {
         final JMenuBar tableMenuBar = createTableMenuBar();
         this.gameFrame.setJMenuBar(tableMenuBar);
 
-        this.chessBoard = createStandardBoard();
+        this.chessBoard = CreateStandardBoard();
 
         this.gameHistoryPanel = new GameHistoryPanel();
         this.takenPiecesPanel = new TakenPiecesPanel();
@@ -79,6 +85,8 @@ public class Table {
         this.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
         this.gameFrame.add(this.boardPanel, BorderLayout.CENTER);
         this.gameFrame.add(this.gameHistoryPanel, BorderLayout.EAST);
+        this.positionStatisticsLabel = new JLabel(" ");
+        this.gameFrame.add(this.positionStatisticsLabel, BorderLayout.SOUTH);
 
         this.gameFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         this.gameFrame.setResizable(false);
@@ -109,9 +117,47 @@ public class Table {
 
         // Create and add an open PGN option
         final JMenuItem openPGN = new JMenuItem("Load PGN File");
-        openPGN.addActionListener(actionEvent -> System.out.println("Load the PGN file!"));
+        openPGN.addActionListener(actionEvent -> {
+            final JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(this.gameFrame) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            final String gameNumber = JOptionPane.showInputDialog(this.gameFrame, "Game number:", 1);
+            if (gameNumber == null) {
+                return;
+            }
+            try {
+                // Only one game is loaded at a time
+                openPGN.setEnabled(false);
+                loadPgnGame(chooser.getSelectedFile(), Integer.parseInt(gameNumber.trim()), openPGN);
+            } catch (final NumberFormatException e) {
+                openPGN.setEnabled(true);
+                JOptionPane.showMessageDialog(this.gameFrame,
+                                              "Invalid game number: " + gameNumber,
+                                              "Load PGN File",
+                                              JOptionPane.ERROR_MESSAGE);
+            }
+        });
         fileMenu.add(openPGN);
 
+        // Create and add an open position index option
+        final JMenuItem openPositionIndex = new JMenuItem("Load Position Index");
+        openPositionIndex.addActionListener(actionEvent -> {
+            final JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(this.gameFrame) == JFileChooser.APPROVE_OPTION) {
+                try {
+                    positionIndex = new PositionIndex(chooser.getSelectedFile().toPath());
+                    showPositionStatistics();
+                } catch (final IOException | RuntimeException e) {
+                    JOptionPane.showMessageDialog(this.gameFrame,
+                                                  e.getMessage(),
+                                                  "Load Position Index",
+                                                  JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
+        fileMenu.add(openPositionIndex);
+
         fileMenu.addSeparator();
 
         // Create and add an exit option
@@ -122,6 +168,59 @@ public class Table {
         return fileMenu;
     }
 
+    /**
+     * Loads a game of a PGN file on a background thread. The games before it are only read, not replayed.
+     *
+     * @param pgnFile    the chosen PGN file
+     * @param gameNumber which game of the file is loaded (starting at 1)
+     * @param menuItem   the menu item that is enabled again once the game is loaded
+     */
+    private void loadPgnGame(final File pgnFile, final int gameNumber, final JMenuItem menuItem) {
+        final Thread loader = new Thread(() -> {
+            try (final PgnReader reader = PgnReader.Open(pgnFile.toPath())) {
+                PgnGame game = null;
+                for (int i = 0; i < gameNumber; i++) {
+                    game = reader.nextGame();
+                    if (game == null) {
+                        throw new RuntimeException(pgnFile.getName() + " does not have a game " + gameNumber);
+                    }
+                }
+                if (game == null) {
+                    throw new RuntimeException("Invalid game number: " + gameNumber);
+                }
+                final List<Move> moves = new ArrayList<>(game.getMoves().size());
+                final Board board = PgnUtils.ReplayGame(game, moves);
+                invokeLater(() -> {
+                    chessBoard = board;
+                    moveLog.clear();
+                    moves.forEach(moveLog::addMove);
+                    gameHistoryPanel.redo(chessBoard, moveLog);
+                    takenPiecesPanel.redo(moveLog);
+                    boardPanel.drawBoard(chessBoard);
+                    showPositionStatistics();
+                });
+            } catch (final IOException | RuntimeException e) {
+                invokeLater(() -> JOptionPane.showMessageDialog(this.gameFrame,
+                                                                e.getMessage(),
+                                                                "Load PGN File",
+                                                                JOptionPane.ERROR_MESSAGE));
+            } finally {
+                invokeLater(() -> menuItem.setEnabled(true));
+            }
+        }, "PGN Loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Shows how many games of the loaded position index reached the current board and how they ended.
+     */
+    private void showPositionStatistics() {
+        if (this.positionIndex != null) {
+            this.positionStatisticsLabel.setText(this.positionIndex.getStatistics(this.chessBoard).toString());
+        }
+    }
+
     /**
      * @return the file menu with its options
      */
@@ -327,6 +426,7 @@ public class Table {
                             gameHistoryPanel.redo(chessBoard, moveLog);
                             takenPiecesPanel.redo(moveLog);
                             boardPanel.drawBoard(chessBoard);
+                            showPositionStatistics();
                         });
                     }
                 }
@@ -8,7 +8,7 @@ import com.chess.gui.Table;
  */
 public class Main {
     public static void main(String[] args) {
-        Board board = Board.createStandardBoard();
+        Board board = Board.CreateStandardBoard();
 
         System.out.println(board);
 
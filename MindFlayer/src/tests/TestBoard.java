@@ -1,10 +1,21 @@
 package com.chess.tests;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.evaluation.StandardBoardEvaluator;
+import com.chess.engine.moves.misc.MoveTransition;
+import com.chess.engine.perft.PerftPosition;
 import com.chess.engine.players.Player;
 import org.junit.jupiter.api.Test;
 
 import static com.chess.engine.board.Board.CreateStandardBoard;
+import static com.chess.engine.board.GameState.*;
+import static com.chess.engine.board.Position.BLACK_KING_SIDE;
+import static com.chess.engine.board.Position.BLACK_QUEEN_SIDE;
+import static com.chess.engine.moves.Move.MoveFactory.CreateMove;
+import static com.chess.engine.pieces.Alliance.BLACK;
+import static com.chess.engine.pieces.Alliance.WHITE;
+import static com.chess.engine.pieces.Piece.CreatePiece;
+import static com.chess.engine.pieces.Piece.PieceType.KING;
 import static org.junit.jupiter.api.Assertions.*;
 
 class TestBoard {
@@ -22,8 +33,113 @@ class TestBoard {
         determineInitialPlayerStatus(board.getCurrentPlayer().getOpponent());
         determineInitialPlayerCastles(board.getCurrentPlayer().getOpponent());
 
-        // TODO: create StandardBoardEvaluator
-//        assertEquals(new StandardBoardEvaluator.evaluate(board, 0, 0));
+        // The initial board is symmetrical, so neither side should be better
+        assertEquals(0, new StandardBoardEvaluator().evaluate(board));
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//------------------------------------------------- Test Reused Builder ------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void reusedBuilder() {
+        final Board initialBoard = CreateStandardBoard();
+        final Board.Builder builder = new Board.Builder();
+
+        // Copying every piece should rebuild the same board
+        final Board copiedBoard = builder.setPieces(initialBoard).setMoveMaker(WHITE).build();
+        assertEquals(initialBoard, copiedBoard);
+        // Pieces are shared, so both boards hold the very same King
+        assertSame(initialBoard.getPiece(60), copiedBoard.getPiece(60));
+        assertSame(initialBoard.getPiece(60), CreatePiece(KING, WHITE, 60, true));
+        // A reset builder should not remember the pieces of the boards it built
+        final Board kingsBoard = builder.reset()
+                                        .setPiece(CreatePiece(KING, WHITE, 60, true))
+                                        .setPiece(CreatePiece(KING, BLACK, 4, true))
+                                        .setMoveMaker(BLACK)
+                                        .build();
+        assertEquals(2, kingsBoard.getCurrentPlayer().getActivePieces().size() +
+                        kingsBoard.getCurrentPlayer().getOpponent().getActivePieces().size());
+        assertEquals(16, copiedBoard.getCurrentPlayer().getActivePieces().size());
+
+        // Moves share one builder per thread, and every board they build keeps its own pieces
+        assertSame(Board.Builder.ForThread(), Board.Builder.ForThread());
+        final Board pawnBoard = CreateMove(initialBoard, 52, 36).execute();
+        final Board knightBoard = CreateMove(initialBoard, 62, 45).execute();
+        assertNull(pawnBoard.getPiece(52));
+        assertNotNull(pawnBoard.getPiece(62));
+        assertNotNull(knightBoard.getPiece(52));
+        assertNull(knightBoard.getPiece(62));
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//-------------------------------------------------- Test Game State ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void gameState() {
+        final Board initialBoard = CreateStandardBoard();
+        assertEquals(INITIAL_STATE, initialBoard.getGameState());
+
+        // A two-tile Pawn advance sets the En Passant file and starts the half-move clock over
+        final Board pawnBoard = makeMoves(initialBoard, 52, 36);
+        assertEquals(4, EnPassantFile(pawnBoard.getGameState()));
+        assertEquals(pawnBoard.getPiece(36), pawnBoard.getEnPassantPawn());
+        assertEquals(0, pawnBoard.getHalfMoveClock());
+        assertEquals(1, pawnBoard.getFullMoveNumber());
+
+        // Knights going back and forth only advance the clocks, so the position is the same as the initial one
+        final Board knightsBoard = makeMoves(initialBoard, 62, 45, 6, 21, 45, 62, 21, 6);
+        assertEquals(initialBoard, knightsBoard);
+        assertEquals(4, knightsBoard.getHalfMoveClock());
+        assertEquals(3, knightsBoard.getFullMoveNumber());
+        assertNull(knightsBoard.getEnPassantPawn());
+
+        // Moving the King drops both of White's castles
+        final Board kingBoard = makeMoves(pawnBoard, 6, 21, 60, 52);
+        assertEquals(BLACK_KING_SIDE | BLACK_QUEEN_SIDE, kingBoard.getCastlingRights());
+        assertEquals(ALL_CASTLING_RIGHTS, pawnBoard.getCastlingRights());
+        assertFalse(kingBoard.isFiftyMoveDraw());
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//------------------------------------------------------ Test FEN ------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void fen() {
+        // Every reference position should be written back the way it was read
+        for (final PerftPosition perftPosition : PerftPosition.values()) {
+            assertEquals(perftPosition.getFen(), perftPosition.createBoard().toFen());
+        }
+        final Board initialBoard = CreateStandardBoard();
+        assertEquals(initialBoard, Board.FromFen(PerftPosition.INITIAL.getFen()));
+        assertEquals(PerftPosition.INITIAL.getFen(), initialBoard.toFen());
+
+        // The En Passant tile and move clocks follow the moves
+        final Board pawnBoard = makeMoves(initialBoard, 52, 36, 6, 21);
+        assertEquals("rnbqkb1r/pppppppp/5n2/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 1 2", pawnBoard.toFen());
+        assertEquals(pawnBoard, Board.FromFen(pawnBoard.toFen()));
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+                     makeMoves(initialBoard, 52, 36).toFen());
+
+        // Castles whose King or Rook is missing are dropped, and the move clocks may be left out
+        final Board castleBoard = Board.FromFen("4k3/8/8/8/8/8/8/4K2R w KQkq -");
+        assertEquals("4k3/8/8/8/8/8/8/4K2R w K - 0 1", castleBoard.toFen());
+        assertTrue(castleBoard.getPiece(63).isFirstMove());
+        assertThrows(RuntimeException.class, () -> Board.FromFen("8/8/8 w - - 0 1"));
+    }
+
+    /**
+     * Makes moves one after another, failing if any of them cannot be made.
+     *
+     * @param board the board to start from
+     * @param tiles the current and destination position of every move
+     * @return the board after the moves
+     */
+    private static Board makeMoves(final Board board, final int... tiles) {
+        Board currentBoard = board;
+        for (int i = 0; i < tiles.length; i += 2) {
+            final MoveTransition transition = currentBoard.getCurrentPlayer()
+                                                          .makeMove(CreateMove(currentBoard, tiles[i], tiles[i + 1]));
+            assertTrue(transition.getMoveStatus().isDone());
+            currentBoard = transition.getTransitionBoard();
+        }
+        return currentBoard;
     }
 
     /**
@@ -0,0 +1,57 @@
+package com.chess.tests;
+
+import com.chess.engine.board.Position;
+import com.chess.engine.moves.misc.MoveList;
+import com.chess.engine.perft.PerftPosition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEvaluation {
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------- Test Incremental Scores -----------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void incrementalScores() {
+        // Every kind of move (captures, castles, En Passant, promotions) should keep the scores up to date
+        for (final PerftPosition perftPosition : new PerftPosition[] { PerftPosition.KIWIPETE,
+                                                                       PerftPosition.PROMOTIONS,
+                                                                       PerftPosition.EN_PASSANT_CHECKED }) {
+            final Position position = perftPosition.createPosition();
+            final int materialScore = position.getMaterialScore();
+            final int positionalScore = position.getPositionalScore();
+
+            determineScores(position, 3);
+
+            // Unmaking every move should restore the scores
+            assertEquals(materialScore, position.getMaterialScore());
+            assertEquals(positionalScore, position.getPositionalScore());
+        }
+    }
+
+    /**
+     * Determines whether the incrementally kept scores match the scores of a freshly built position
+     * after every move in the tree.
+     *
+     * @param position where the moves are made
+     * @param depth    how many plies deep to check
+     */
+    private void determineScores(final Position position, final int depth) {
+        final Position freshPosition = new Position(position.toBoard());
+        assertEquals(freshPosition.getMaterialScore(), position.getMaterialScore());
+        assertEquals(freshPosition.getPositionalScore(), position.getPositionalScore());
+        if (depth == 0) {
+            return;
+        }
+        final MoveList moves = new MoveList();
+        position.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            determineScores(position, depth - 1);
+            position.unmakeMove();
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,64 @@
+package com.chess.tests;
+
+import com.chess.engine.archive.ArchivedGame;
+import com.chess.engine.archive.GameArchive;
+import com.chess.engine.archive.GameArchiveWriter;
+import com.chess.engine.board.Board;
+import com.chess.engine.moves.Move;
+import com.chess.engine.pgn.ImportedGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGameArchive {
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------- Test Writing and Reading ----------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void archive(@TempDir final Path directory) throws IOException {
+        final Path pgnPath = TestPgn.writeDatabase(directory, 100);
+        final Path archivePath = directory.resolve("database.mfa");
+
+        // Import the PGN file straight into an archive
+        final List<ImportedGame> importedGames;
+        try (final GameArchiveWriter writer = new GameArchiveWriter(archivePath)) {
+            importedGames = TestPgn.importDatabase(pgnPath, writer);
+            assertEquals(300, writer.getGameCount());
+        }
+        assertTrue(Files.size(archivePath) < Files.size(pgnPath));
+
+        // Any game can be opened and decoded back into the same moves and positions
+        final GameArchive archive = new GameArchive(archivePath);
+        assertEquals(300, archive.getGameCount());
+        for (final int id : new int[] {299, 0, 1, 2, 150, 151, 152}) {
+            final ImportedGame importedGame = importedGames.get(id);
+            final ArchivedGame archivedGame = archive.getGame(id);
+            assertEquals(importedGame.getTags(), archivedGame.getTags());
+            assertEquals(importedGame.getResult(), archivedGame.getResult());
+            assertEquals(importedGame.getPlyCount(), archivedGame.getPlyCount());
+
+            final List<Move> moves = new ArrayList<>();
+            final Board board = archivedGame.replay(moves);
+            assertEquals(importedGame.getPlyCount(), moves.size());
+            for (int ply = 0; ply < moves.size(); ply++) {
+                final Board moveBoard = moves.get(ply).getBoard();
+                assertEquals(importedGame.getPositionKey(ply), moveBoard.getZobristKey());
+                assertEquals(importedGame.getLegalMoveIndex(ply),
+                             moveBoard.getCurrentPlayer().getLegalMoveIndex(moves.get(ply)));
+            }
+            assertEquals(importedGame.getPositionKey(moves.size()), board.getZobristKey());
+        }
+        assertThrows(RuntimeException.class, () -> archive.getGame(300));
+        assertThrows(RuntimeException.class, () -> new GameArchive(pgnPath));
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,81 @@
+package com.chess.tests;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.misc.MoveTransition;
+import com.chess.engine.pieces.Piece;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.chess.engine.board.MagicBitBoards.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMagicBitBoards {
+//----------------------------------------------------------------------------------------------------------------------
+//------------------------------------------------ Test Random Occupancies ---------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void randomOccupancies() {
+        // The table lookups should match walking the rays on sparse and dense random boards
+        final SplittableRandom random = new SplittableRandom(13);
+        for (int i = 0; i < 100_000; i++) {
+            final long occupancy = i % 2 == 0 ? random.nextLong() & random.nextLong() : random.nextLong();
+            final int tilePosition = random.nextInt(64);
+            assertEquals(RookRayAttacks(tilePosition, occupancy), RookAttacks(tilePosition, occupancy));
+            assertEquals(BishopRayAttacks(tilePosition, occupancy), BishopAttacks(tilePosition, occupancy));
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Test Random Games ------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void randomGames() {
+        // Every sliding piece's moves should reach exactly the tiles its rays reach in positions from random games
+        final SplittableRandom random = new SplittableRandom(7);
+        for (int game = 0; game < 50; game++) {
+            Board board = Board.CreateStandardBoard();
+            for (int ply = 0; ply < 80; ply++) {
+                checkSlidingMoves(board);
+                final List<Board> nextBoards = new ArrayList<>();
+                for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+                    final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+                    if (transition.getMoveStatus().isDone()) {
+                        nextBoards.add(transition.getTransitionBoard());
+                    }
+                }
+                if (nextBoards.isEmpty()) {
+                    break;
+                }
+                board = nextBoards.get(random.nextInt(nextBoards.size()));
+            }
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    private static void checkSlidingMoves(final Board board) {
+        for (final Piece piece : board.getPlayerActivePieces(board.getCurrentPlayer().getAlliance())) {
+            final int position = piece.getPiecePosition();
+            final long occupancy = board.getOccupancy();
+            final long rayAttacks = switch (piece.getPieceType()) {
+                case BISHOP -> BishopRayAttacks(position, occupancy);
+                case ROOK -> RookRayAttacks(position, occupancy);
+                case QUEEN -> BishopRayAttacks(position, occupancy) | RookRayAttacks(position, occupancy);
+                default -> -1L;
+            };
+            if (rayAttacks == -1L) {
+                continue;
+            }
+            long destinations = 0L;
+            for (final Move move : piece.calculateLegalMoves(board)) {
+                destinations |= 1L << move.getDestinationPosition();
+            }
+            assertEquals(rayAttacks & ~board.getAllianceOccupancy(piece.getPieceAlliance()),
+                         destinations,
+                         board.toString());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.chess.tests;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.misc.MoveList;
+import com.chess.engine.moves.misc.MoveTransition;
+import com.chess.engine.perft.PerftPosition;
+import org.junit.jupiter.api.Test;
+
+import static com.chess.engine.moves.Move.MoveFactory.CreateMove;
+import static com.chess.engine.moves.misc.PackedMove.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPackedMove {
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Test Encoding ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void encoding() {
+        // Every legal Move of a board should encode to a move the Position generates, pieces included
+        for (final PerftPosition perftPosition : PerftPosition.values()) {
+            checkEncoding(perftPosition.createBoard(), 2);
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Test Move List --------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void moveList() {
+        final MoveList moves = new MoveList();
+        final int quiet = Encode(52, 44, QUIET, 0, NO_PIECE);
+        final int attack = Encode(52, 43, ATTACK, 0, 6);
+        moves.add(quiet);
+        moves.add(attack);
+        assertEquals(NO_PIECE, AttackedPiece(quiet));
+        assertEquals(6, AttackedPiece(attack));
+        assertEquals(Encode(52, 43, ATTACK), BaseMove(attack));
+        // The best scored move is picked first
+        moves.setScore(0, 0);
+        moves.setScore(1, 10);
+        assertEquals(attack, moves.pickBest(0));
+        assertEquals(quiet, moves.pickBest(1));
+        moves.retainAttacks();
+        assertEquals(1, moves.size());
+        assertTrue(moves.contains(attack));
+        moves.clear();
+        assertTrue(moves.isEmpty());
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    private static void checkEncoding(final Board board, final int depth) {
+        final MoveList moves = new MoveList();
+        new Position(board).generateLegalMoves(moves);
+        int legalMoves = 0;
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone()) {
+                continue;
+            }
+            legalMoves++;
+            final int packedMove = move.encode();
+            assertTrue(moves.contains(packedMove), ToString(packedMove) + "\n" + board);
+            assertEquals(move.getMovedPiece().getPieceType(), MovedPieceType(packedMove));
+            // Decoding should give the same Move back
+            final Move decodedMove = CreateMove(board, packedMove);
+            assertEquals(move, decodedMove, ToString(packedMove) + "\n" + board);
+            assertEquals(packedMove, decodedMove.encode());
+            if (depth > 1) {
+                checkEncoding(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+        assertEquals(legalMoves, moves.size(), board.toString());
+    }
+}
@@ -0,0 +1,38 @@
+package com.chess.tests;
+
+import com.chess.engine.perft.PerftPosition;
+import org.junit.jupiter.api.Test;
+
+import static com.chess.engine.perft.Perft.CountNodes;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPerft {
+//----------------------------------------------------------------------------------------------------------------------
+//------------------------------------------------ Test Position Perft -------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void positionPerft() {
+        // The Position move generator should match every known node count
+        for (final PerftPosition perftPosition : PerftPosition.values()) {
+            assertEquals(perftPosition.getNodes(),
+                         CountNodes(perftPosition.createPosition(), perftPosition.getDepth()),
+                         perftPosition.toString());
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//-------------------------------------------------- Test Board Perft --------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void boardPerft() {
+        // The Board/Move generator is slower, so it is compared with the Position move generator two plies shallower
+        for (final PerftPosition perftPosition : PerftPosition.values()) {
+            final int depth = perftPosition.getDepth() - 2;
+            assertEquals(CountNodes(perftPosition.createPosition(), depth),
+                         CountNodes(perftPosition.createBoard(), depth),
+                         perftPosition.toString());
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,238 @@
+package com.chess.tests;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.pawn.PawnPromotion;
+import com.chess.engine.pgn.GameSink;
+import com.chess.engine.pgn.ImportedGame;
+import com.chess.engine.pgn.PgnGame;
+import com.chess.engine.pgn.PgnImporter;
+import com.chess.engine.pgn.PgnReader;
+import com.chess.engine.pgn.PgnReplayer;
+import com.chess.engine.pgn.PgnUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.chess.engine.moves.Move.MoveFactory.CreateMove;
+import static com.chess.engine.pieces.Piece.PieceType.QUEEN;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPgn {
+    static final String PGN =
+            "[Event \"Paris\"]\n" +
+            "[White \"Paul Morphy\"]\n" +
+            "[Black \"Duke Karl / Count Isouard\"]\n" +
+            "[Result \"1-0\"]\n\n" +
+            "1. e4 e5 2. Nf3 d6 3. d4 Bg4 4. dxe5 Bxf3 5. Qxf3 dxe5 6. Bc4 Nf6 7. Qb3 Qe7\n" +
+            "8. Nc3 c6 9. Bg5 b5 10. Nxb5 cxb5 11. Bxb5+ Nbd7 12. O-O-O Rd8 13. Rxd7 Rxd7\n" +
+            "14. Rd1 Qe6 15. Bxd7+ Nxd7 16. Qb8+ Nxb8 17.Rd8# 1-0\n\n" +
+            "[Event \"Annotated\"]\n\n" +
+            "; A line comment\n" +
+            "1. e4 d5 2. e5 (2. exd5 Qxd5 (2... Nf6) {nested}) f5 $1 {En Passant} 3. exf6 g6 4. fxe7 Bg7\n" +
+            "5. exd8=Q+ Kxd8 *\n\n" +
+            "[Event \"Set up\"]\n" +
+            "[FEN \"4k3/8/8/8/8/8/8/4K2R w K - 0 1\"]\n\n" +
+            "1. 0-0 Kd7\n";
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Test Reading ----------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void reading() throws IOException {
+        // A tiny buffer makes tokens and tags straddle the refills
+        final PgnReader reader = new PgnReader(Channels.newChannel(
+                new ByteArrayInputStream(PGN.getBytes(StandardCharsets.UTF_8))), 7);
+
+        final PgnGame opera = reader.nextGame();
+        assertEquals("Duke Karl / Count Isouard", opera.getTag("Black"));
+        assertEquals("1-0", opera.getResult());
+        assertEquals(33, opera.getMoves().size());
+        assertEquals("Nbd7", opera.getMoves().get(21));
+        assertEquals("Rd8#", opera.getMoves().get(32));
+
+        // Comments, variations and NAGs are skipped
+        final PgnGame annotated = reader.nextGame();
+        assertEquals(List.of("e4", "d5", "e5", "f5", "exf6", "g6", "fxe7", "Bg7", "exd8=Q+", "Kxd8"),
+                     annotated.getMoves());
+        assertEquals(PgnGame.UNKNOWN_RESULT, annotated.getResult());
+
+        // The last game has no result
+        final PgnGame setUp = reader.nextGame();
+        assertEquals(List.of("0-0", "Kd7"), setUp.getMoves());
+        assertNull(reader.nextGame());
+        assertEquals(PGN.length(), reader.getBytesRead());
+
+        // Reading from memory gives the same games
+        final PgnReader memoryReader = new PgnReader(ByteBuffer.wrap(PGN.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(opera.getMoves(), memoryReader.nextGame().getMoves());
+        assertEquals(annotated.getMoves(), memoryReader.nextGame().getMoves());
+        assertEquals(setUp.getMoves(), memoryReader.nextGame().getMoves());
+        assertNull(memoryReader.nextGame());
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Test Replaying --------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void replaying() throws IOException {
+        final PgnReader reader = new PgnReader(ByteBuffer.wrap(PGN.getBytes(StandardCharsets.UTF_8)));
+
+        // The Opera game ends in checkmate
+        final List<Move> moves = new ArrayList<>();
+        final Board opera = PgnUtils.ReplayGame(reader.nextGame(), moves);
+        assertEquals(33, moves.size());
+        assertTrue(moves.get(22).isCastlingMove());
+        assertTrue(opera.getCurrentPlayer().isInCheckmate());
+
+        // En Passant, promotion and a capture of the promoted Queen
+        moves.clear();
+        final Board annotated = PgnUtils.ReplayGame(reader.nextGame(), moves);
+        assertTrue(moves.get(4).isAttack());
+        assertEquals(QUEEN, ((PawnPromotion) moves.get(8)).getPromotionType());
+        assertTrue(moves.get(9).isAttack());
+        assertEquals(0, annotated.getHalfMoveClock());
+        assertEquals(6, annotated.getFullMoveNumber());
+
+        // The FEN tag sets up the start
+        final Board setUp = PgnUtils.ReplayGame(reader.nextGame(), null);
+        assertEquals("8/3k4/8/8/8/8/8/5RK1 w - - 2 2", setUp.toFen());
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Test Resolving --------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void resolving() throws IOException {
+        final Board board = Board.CreateStandardBoard();
+        assertEquals(CreateMove(board, 62, 45), PgnUtils.ResolveSan(board, "Nf3"));
+        assertThrows(RuntimeException.class, () -> PgnUtils.ResolveSan(board, "Nf4"));
+        assertThrows(RuntimeException.class, () -> PgnUtils.ResolveSan(board, "O-O"));
+        assertThrows(RuntimeException.class, () -> PgnUtils.ResolveSan(board, "Zz9"));
+
+        // Every game is replayed and counted
+        final PgnReplayer replayer = new PgnReplayer()
+                .replayAll(new PgnReader(ByteBuffer.wrap(PGN.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(3, replayer.getGames());
+        assertEquals(45, replayer.getMoves());
+        assertEquals(0, replayer.getFailedGames());
+        assertTrue(replayer.getMovesPerSecond() > 0);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//---------------------------------------------------- Test Importing --------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void importing(@TempDir final Path directory) throws IOException {
+        // Number every copy of the games so the order can be checked
+        final Path path = writeDatabase(directory, 200);
+
+        // Tiny chunks on several workers still give the games in file order
+        final List<String> events = new ArrayList<>();
+        final List<ImportedGame> importedGames = new ArrayList<>();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final PgnReplayer statistics = new PgnImporter(pool, 1 << 10).importFile(path, importedGame -> {
+            events.add(importedGame.getTag("Event"));
+            importedGames.add(importedGame);
+        });
+        pool.shutdown();
+
+        final List<String> expectedEvents = new ArrayList<>();
+        try (final PgnReader reader = PgnReader.Open(path)) {
+            for (PgnGame game = reader.nextGame(); game != null; game = reader.nextGame()) {
+                expectedEvents.add(game.getTag("Event"));
+            }
+        }
+        assertEquals(600, events.size());
+        assertEquals(expectedEvents, events);
+        assertEquals(600, statistics.getGames());
+        assertEquals(200 * 45, statistics.getMoves());
+        assertEquals(Files.size(path), statistics.getBytes());
+        assertTrue(statistics.getResolvingNanos() > 0 && statistics.getBoardNanos() > 0);
+
+        // The moves are kept as legal move indices and the keys follow the positions
+        final ImportedGame opera = importedGames.get(0);
+        final Board standardBoard = Board.CreateStandardBoard();
+        final List<Move> moves = new ArrayList<>();
+        final Board finalBoard;
+        try (final PgnReader reader = PgnReader.Open(path)) {
+            finalBoard = PgnUtils.ReplayGame(reader.nextGame(), moves);
+        }
+        assertEquals("1-0", opera.getResult());
+        assertEquals(33, opera.getPlyCount());
+        assertEquals(standardBoard.getCurrentPlayer().getLegalMoveIndex(moves.get(0)), opera.getLegalMoveIndex(0));
+        assertEquals(standardBoard.getCurrentPlayer().getLegalMoves().size(), opera.getLegalMoveCount(0));
+        for (int ply = 0; ply < moves.size(); ply++) {
+            final Board board = moves.get(ply).getBoard();
+            assertEquals(board.getCurrentPlayer().getLegalMove(opera.getLegalMoveIndex(ply)), moves.get(ply));
+            assertEquals(board.getZobristKey(), opera.getPositionKey(ply));
+        }
+        assertEquals(34, opera.getPositionCount());
+        assertEquals(standardBoard.getZobristKey(), opera.getPositionKey(0));
+        assertEquals(finalBoard.getZobristKey(), opera.getPositionKey(33));
+    }
+
+    @Test
+    public void importingInBoundedChunks(@TempDir final Path directory) throws IOException {
+        final Path path = writeDatabase(directory, 200);
+
+        // About a hundred tiny chunks, but games reach the sink while only a few chunks per worker are in flight
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final PgnImporter importer = new PgnImporter(pool, 1 << 10);
+        final int[] maxChunksInFlight = new int[1];
+        final PgnReplayer statistics = importer.importFile(path, importedGame ->
+                maxChunksInFlight[0] = Math.max(maxChunksInFlight[0], importer.getChunksInFlight()));
+        pool.shutdown();
+
+        assertEquals(600, statistics.getGames());
+        assertEquals(4 * 2, importer.getMaxChunksInFlight());
+        assertEquals(importer.getMaxChunksInFlight(), maxChunksInFlight[0]);
+        assertEquals(0, importer.getChunksInFlight());
+    }
+
+    /**
+     * Writes a PGN database of numbered copies of the games in PGN (so the order of the games can be checked).
+     *
+     * @param directory where the database is written
+     * @param copies    how many copies of the games the database holds
+     * @return the database's path
+     * @throws IOException if the database cannot be written
+     */
+    static Path writeDatabase(final Path directory, final int copies) throws IOException {
+        final StringBuilder database = new StringBuilder();
+        for (int i = 0; i < copies; i++) {
+            database.append(PGN.replace("[Event \"", "[Event \"" + i + " ")).append('\n');
+        }
+        final Path path = directory.resolve("database.pgn");
+        Files.writeString(path, database, StandardCharsets.UTF_8);
+
+        return path;
+    }
+
+    /**
+     * Imports a PGN database on the common pool.
+     *
+     * @param path the database
+     * @param sink where every imported game goes as well
+     * @return the imported games in file order
+     * @throws IOException if the database cannot be read
+     */
+    static List<ImportedGame> importDatabase(final Path path, final GameSink sink) throws IOException {
+        final List<ImportedGame> importedGames = new ArrayList<>();
+        new PgnImporter().importFile(path, importedGame -> {
+            sink.accept(importedGame);
+            importedGames.add(importedGame);
+        });
+
+        return importedGames;
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+}
@@ -1,12 +1,18 @@
 package com.chess.tests;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.pawn.PawnPromotion;
+import com.chess.engine.perft.PerftPosition;
 import com.chess.engine.players.BlackPlayer;
 import com.chess.engine.players.WhitePlayer;
 import org.junit.jupiter.api.Test;
 
 import static com.chess.engine.pieces.Alliance.BLACK;
+import static com.chess.engine.moves.Move.MoveFactory.CreateMove;
+import static com.chess.engine.moves.Move.NULL_MOVE;
 import static com.chess.engine.pieces.Alliance.WHITE;
+import static com.chess.engine.pieces.Piece.PieceType.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TestPlayer {
@@ -43,6 +49,41 @@ public class TestPlayer {
         assertEquals(20, blackPlayer.getLegalMoves().size());
     }
 //----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Test Move Index --------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void moveIndex() {
+        final Board board = PerftPosition.PROMOTIONS.createBoard();
+
+        // Every legal move should be found by its tiles
+        for (final Move move : board.getAllLegalMoves()) {
+            assertTrue(board.getCurrentPlayer().isMoveLegal(move) ||
+                       board.getCurrentPlayer().getOpponent().isMoveLegal(move), move.toString());
+        }
+        assertEquals(NULL_MOVE, CreateMove(board, 52, 20));
+        assertEquals(NULL_MOVE, CreateMove(board, -1, 65));
+
+        // Black's b2 Pawn can promote on b1 or by taking the Rook on a1, the promotion type tells them apart
+        assertEquals(QUEEN, ((PawnPromotion) CreateMove(board, 49, 57)).getPromotionType());
+        assertEquals(KNIGHT, ((PawnPromotion) CreateMove(board, 49, 57, KNIGHT)).getPromotionType());
+        final Move rookPromotion = CreateMove(board, 49, 56, ROOK);
+        assertEquals(ROOK, ((PawnPromotion) rookPromotion).getPromotionType());
+        assertTrue(rookPromotion.isAttack());
+        assertTrue(board.getBlackPlayer().isMoveLegal(rookPromotion));
+        assertFalse(board.getWhitePlayer().isMoveLegal(rookPromotion));
+        assertFalse(board.getBlackPlayer().isMoveLegal(NULL_MOVE));
+
+        // Every move is found where it is in the legal moves, and the castles come after the pieces' moves
+        final Board kiwipete = PerftPosition.KIWIPETE.createBoard();
+        final WhitePlayer whitePlayer = kiwipete.getWhitePlayer();
+        for (int i = 0; i < whitePlayer.getLegalMoves().size(); i++) {
+            assertEquals(i, whitePlayer.getLegalMoveIndex(whitePlayer.getLegalMove(i)));
+        }
+        assertTrue(CreateMove(kiwipete, 60, 62).isCastlingMove());
+        assertTrue(CreateMove(kiwipete, 60, 58).isCastlingMove());
+        assertFalse(CreateMove(kiwipete, 60, 61).isCastlingMove());
+    }
+//----------------------------------------------------------------------------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
 //----------------------------------------------------------------------------------------------------------------------
 }
@@ -0,0 +1,82 @@
+package com.chess.tests;
+
+import com.chess.engine.archive.PositionIndex;
+import com.chess.engine.archive.PositionIndexWriter;
+import com.chess.engine.archive.PositionStatistics;
+import com.chess.engine.board.Board;
+import com.chess.engine.pgn.ImportedGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPositionIndex {
+//----------------------------------------------------------------------------------------------------------------------
+//-------------------------------------------------- Test Position Index -----------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void positionIndex(@TempDir final Path directory) throws IOException {
+        final Path pgnPath = TestPgn.writeDatabase(directory, 100);
+        final Path indexPath = directory.resolve("database.mfi");
+        final Path sortedIndexPath = directory.resolve("sorted.mfi");
+
+        // Tiny runs force an external merge of many runs, which must give the same index as a single run
+        final List<ImportedGame> importedGames;
+        try (final PositionIndexWriter writer = new PositionIndexWriter(indexPath, 500);
+             final PositionIndexWriter sortedWriter = new PositionIndexWriter(sortedIndexPath)) {
+            importedGames = TestPgn.importDatabase(pgnPath, importedGame -> {
+                writer.accept(importedGame);
+                sortedWriter.accept(importedGame);
+            });
+        }
+        assertArrayEquals(Files.readAllBytes(sortedIndexPath), Files.readAllBytes(indexPath));
+        try (final Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+
+        final PositionIndex index = new PositionIndex(indexPath);
+        assertEquals(300, index.getGameCount());
+        final Set<Long> keys = new HashSet<>();
+        for (final ImportedGame importedGame : importedGames) {
+            for (int ply = 0; ply < importedGame.getPositionCount(); ply++) {
+                keys.add(importedGame.getPositionKey(ply));
+            }
+        }
+        assertEquals(keys.size(), index.getPositionCount());
+
+        // The Opera game and the annotated game start from the standard board
+        final PositionStatistics start = index.getStatistics(Board.CreateStandardBoard());
+        assertEquals(200, start.getGames());
+        assertEquals(100, start.getWhiteWins());
+        assertEquals(0, start.getDraws());
+        assertEquals(0, start.getBlackWins());
+        assertEquals("Seen in 200 games, results 100/0/0", start.toString());
+
+        // Only the Opera games reach its final position, at the last ply
+        final ImportedGame opera = importedGames.get(0);
+        final PositionStatistics mate = index.getStatistics(opera.getPositionKey(33));
+        assertEquals(100, mate.getGames());
+        final long[] postings = index.getPostings(mate, 10);
+        assertEquals(10, postings.length);
+        for (int i = 0; i < postings.length; i++) {
+            assertEquals(3 * i, PositionIndex.GameId(postings[i]));
+            assertEquals(33, PositionIndex.Ply(postings[i]));
+        }
+
+        // A position no game reached
+        final Board unseen = Board.FromFen("4k3/8/8/8/8/8/8/R3K3 w Q - 0 1");
+        assertSame(PositionStatistics.UNSEEN, index.getStatistics(unseen));
+        assertEquals(0, index.getPostings(PositionStatistics.UNSEEN, 10).length);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+}
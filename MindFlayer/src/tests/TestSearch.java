@@ -0,0 +1,45 @@
+package com.chess.tests;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+import com.chess.engine.search.AlphaBetaSearch;
+import com.chess.engine.search.SearchResult;
+import org.junit.jupiter.api.Test;
+
+import static com.chess.engine.moves.misc.PackedMove.ToString;
+import static com.chess.engine.pieces.Alliance.BLACK;
+import static com.chess.engine.pieces.Alliance.WHITE;
+import static com.chess.engine.pieces.Piece.CreatePiece;
+import static com.chess.engine.pieces.Piece.PieceType.*;
+import static com.chess.engine.search.AlphaBetaSearch.MATE_SCORE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSearch {
+//----------------------------------------------------------------------------------------------------------------------
+//-------------------------------------------------- Test Mate In One --------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void backRankMate() {
+        // Black's King is stuck behind its own Pawns, so the Rook mates on the back rank
+        final Board board = new Board.Builder()
+                .setPiece(CreatePiece(KING, BLACK, 6, false))
+                .setPiece(CreatePiece(PAWN, BLACK, 13, true))
+                .setPiece(CreatePiece(PAWN, BLACK, 14, true))
+                .setPiece(CreatePiece(PAWN, BLACK, 15, true))
+                .setPiece(CreatePiece(ROOK, WHITE, 56, false))
+                .setPiece(CreatePiece(KING, WHITE, 62, false))
+                .setMoveMaker(WHITE)
+                .build();
+        final Position position = new Position(board);
+        final SearchResult result = new AlphaBetaSearch(4, 0).search(position);
+
+        assertEquals("a1a8", ToString(result.getBestMove()));
+        assertEquals(MATE_SCORE - 1, result.getScore());
+        assertEquals("a1a8", ToString(result.getBestMove(board).encode()));
+        // The search should leave the position as it found it
+        assertEquals(0, position.getPly());
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,102 @@
+package com.chess.tests;
+
+import com.chess.engine.perft.PerftPosition;
+import com.chess.engine.search.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.chess.engine.moves.misc.PackedMove.*;
+import static com.chess.engine.perft.Perft.CountNodes;
+import static com.chess.engine.search.TranspositionTable.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTranspositionTable {
+//----------------------------------------------------------------------------------------------------------------------
+//------------------------------------------------- Test Store And Probe -----------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void storeAndProbe() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final int move = Encode(52, 36, PAWN_JUMP);
+        assertEquals(NO_ENTRY, table.probe(42L));
+
+        table.store(42L, 7, LOWER_BOUND, -1234, move);
+        final long entry = table.probe(42L);
+        assertEquals(7, EntryDepth(entry));
+        assertEquals(LOWER_BOUND, EntryBound(entry));
+        assertEquals(-1234, EntryScore(entry));
+        assertEquals(move, EntryMove(entry));
+        // Storing the same position without a move keeps the old move
+        table.store(42L, 8, UPPER_BOUND, 55, NO_MOVE);
+        assertEquals(move, EntryMove(table.probe(42L)));
+
+        table.storeNodes(43L, 5, 4_865_609L);
+        assertEquals(4_865_609L, table.probeNodes(43L, 5));
+        assertEquals(-1L, table.probeNodes(43L, 4));
+
+        // Only the first probe missed (a count of the wrong depth is still found in the table)
+        assertEquals(80.0, table.getHitRate(), 1e-9);
+        table.clear();
+        assertEquals(NO_ENTRY, table.probe(42L));
+        assertEquals(0.0, table.getFillPercentage(), 1e-9);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//-------------------------------------------------- Test Shared Table -------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void sharedTable() throws Exception {
+        // Threads writing the same small table at once should never read back an entry of another position
+        final TranspositionTable table = new TranspositionTable(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            final long seed = thread;
+            futures.add(executor.submit(() -> {
+                final SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 1_000_000; i++) {
+                    final long key = random.nextLong();
+                    table.store(key, (int) key & 0x3F, EXACT, (int) (key >>> 32), NO_MOVE);
+                    final long entry = table.probe(random.nextBoolean() ? key : random.nextLong());
+                    if (entry != NO_ENTRY) {
+                        assertEquals(EntryDepth(entry) & 0x3F, EntryDepth(entry));
+                    }
+                    final long ownEntry = table.probe(key);
+                    if (ownEntry != NO_ENTRY) {
+                        assertEquals((int) key & 0x3F, EntryDepth(ownEntry));
+                        assertEquals((int) (key >>> 32), EntryScore(ownEntry));
+                    }
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(table.getFillPercentage() > 99.0);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//-------------------------------------------------- Test Hashed Perft -------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void hashedPerft() {
+        // A small table forces replacements, which must not change any count
+        final TranspositionTable table = new TranspositionTable(1);
+        for (final PerftPosition perftPosition : PerftPosition.values()) {
+            table.clear();
+            assertEquals(perftPosition.getNodes(),
+                         CountNodes(perftPosition.createPosition(), perftPosition.getDepth(), table),
+                         perftPosition.toString());
+            assertEquals(CountNodes(perftPosition.createPosition(), 2),
+                         CountNodes(perftPosition.createBoard(), 2, table),
+                         perftPosition.toString());
+        }
+    }
+}
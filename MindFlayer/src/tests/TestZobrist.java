@@ -0,0 +1,101 @@
+package com.chess.tests;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+import com.chess.engine.moves.Move;
+import com.chess.engine.moves.misc.MoveList;
+import com.chess.engine.moves.misc.MoveTransition;
+import com.chess.engine.perft.PerftPosition;
+import org.junit.jupiter.api.Test;
+
+import static com.chess.engine.board.BoardUtils.GetPositionIntAtPosition;
+import static com.chess.engine.board.Zobrist.CalculateKey;
+import static com.chess.engine.moves.Move.MoveFactory.CreateMove;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestZobrist {
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Test Board Keys --------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void boardKeys() {
+        // Every move should update the key to what hashing the new board from scratch gives
+        for (final PerftPosition perftPosition : PerftPosition.values()) {
+            checkBoardKeys(perftPosition.createBoard(), 2);
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//------------------------------------------------- Test Position Keys -------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void positionKeys() {
+        // Making and unmaking moves should keep the key equal to the key of the matching board
+        for (final PerftPosition perftPosition : PerftPosition.values()) {
+            final Position position = perftPosition.createPosition();
+            final long rootKey = position.getZobristKey();
+            checkPositionKeys(position, 3);
+            assertEquals(rootKey, position.getZobristKey(), perftPosition.toString());
+        }
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//------------------------------------------------- Test Transpositions ------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    @Test
+    public void transpositions() {
+        final Board initialBoard = Board.CreateStandardBoard();
+        // Both Knights going out and back should reach the initial position again
+        final Board knightsBack = play(initialBoard, "g1", "f3", "g8", "f6", "f3", "g1", "f6", "g8");
+        assertEquals(initialBoard.getZobristKey(), knightsBack.getZobristKey());
+        assertEquals(initialBoard, knightsBack);
+        assertEquals(initialBoard.hashCode(), knightsBack.hashCode());
+        // The same moves in another order should reach the same position
+        final Board first = play(initialBoard, "e2", "e3", "e7", "e6", "d2", "d3");
+        final Board second = play(initialBoard, "d2", "d3", "e7", "e6", "e2", "e3");
+        assertEquals(first, second);
+        // White's King going out and back loses its castling rights
+        final Board kingBack = play(first, "d8", "e7", "e1", "d2", "e7", "d8", "d2", "e1");
+        assertNotEquals(first.getZobristKey(), kingBack.getZobristKey());
+        assertNotEquals(first, kingBack);
+    }
+//----------------------------------------------------------------------------------------------------------------------
+//--------------------------------------------------- Helper Methods ---------------------------------------------------
+//----------------------------------------------------------------------------------------------------------------------
+    private static void checkBoardKeys(final Board board, final int depth) {
+        assertEquals(CalculateKey(board), board.getZobristKey(), board.toString());
+        assertEquals(board.getZobristKey(), new Position(board).getZobristKey(), board.toString());
+        if (depth == 0) {
+            return;
+        }
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                checkBoardKeys(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+    }
+
+    private static void checkPositionKeys(final Position position, final int depth) {
+        assertEquals(position.toBoard().getZobristKey(), position.getZobristKey());
+        if (depth == 0) {
+            return;
+        }
+        final MoveList moves = new MoveList();
+        position.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            checkPositionKeys(position, depth - 1);
+            position.unmakeMove();
+        }
+    }
+
+    private static Board play(Board board, final String... tiles) {
+        for (int i = 0; i < tiles.length; i += 2) {
+            final Move move = CreateMove(board, GetPositionIntAtPosition(tiles[i]), GetPositionIntAtPosition(tiles[i + 1]));
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            assertTrue(transition.getMoveStatus().isDone(), tiles[i] + tiles[i + 1]);
+            board = transition.getTransitionBoard();
+        }
+
+        return board;
+    }
+}